@@ -2,12 +2,30 @@ package com.lol.lol;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+import java.util.Map;
+
+@EnableScheduling
 @SpringBootApplication
 public class LolApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(LolApplication.class, args);
+		SpringApplication application = new SpringApplication(LolApplication.class);
+		// application.properties는 저장소에 올리지 않으므로 운영 지표 노출 기본값은 여기서 지정
+		// 지표/상태 엔드포인트는 서비스 포트가 아닌 별도 관리 포트에서, 로컬(수집기/사이드카)에서만 접근
+		application.setDefaultProperties(Map.of(
+				"management.server.port", "8081",
+				"management.server.address", "127.0.0.1",
+				"management.endpoints.web.exposure.include", "health,metrics,prometheus",
+				"management.metrics.distribution.percentiles-histogram.http.client.requests", "true",
+				"management.metrics.distribution.percentiles-histogram.http.server.requests", "true",
+				"server.tomcat.mbeanregistry.enabled", "true",
+				// @Scheduled 작업이 기본 스케줄러 스레드 하나를 나눠 쓰면 긴 갱신(슬롯 영상 등) 뒤에
+				// 1초 주기 작업(매치 참가자 반영)까지 밀리므로 여러 스레드로 돌림
+				"spring.task.scheduling.pool.size", "4"
+		));
+		application.run(args);
 	}
 
 }
@@ -0,0 +1,189 @@
+package com.lol.lol.admission;
+
+import com.lol.lol.service.PersonalizedContentValidator;
+import com.lol.lol.service.RiotNegativeCache;
+import com.lol.lol.service.SearchResultCache;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 🚦 전적 검색 / 개인화 API 입장 제어
+ * 새로 외부 API를 여러 번 불러야 하는 요청은 동시에 maxInFlight개까지만 처리
+ * - 자리가 없으면 최대 maxQueue개까지 maxWaitMs 동안 순서대로 대기 (대기 중인 요청이 있으면 새 요청도 그 뒤로)
+ * - 대기열도 차 있거나 기다려도 자리가 안 나면 바로 "혼잡" 응답 (503 + Retry-After)
+ * - 캐시로 바로 처리되는 요청(최근 검색한 Riot ID, 최근 404였던 Riot ID, 현재 ETag와 같은 재검증)은 대기 없이 통과
+ * - SSE 스트림은 핸들러가 작업만 넘기고 바로 반환하므로 여기서 제어하지 않음 → 컨트롤러의 동시 스트림 한도로 제한
+ * → 과부하 때 모두가 느려지는 대신, 대부분은 정상 속도로 처리하고 일부만 빠르게 거절
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final Set<String> GUARDED_PATHS = Set.of(
+            "/result", "/api/content/personalized");
+    private static final String PERSONALIZED_PATH = "/api/content/personalized";
+    private static final String BUSY_VIEW_PATH = "/busy";
+
+    private final SearchResultCache searchResultCache;
+    private final RiotNegativeCache riotNegativeCache;
+    private final PersonalizedContentValidator personalizedValidator;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final int maxInFlight;
+    private final int maxQueue;
+    private final long maxWaitMs;
+    private final long retryAfterSeconds;
+
+    public AdmissionControlFilter(SearchResultCache searchResultCache,
+                                  RiotNegativeCache riotNegativeCache,
+                                  PersonalizedContentValidator personalizedValidator,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${admission.max-in-flight:32}") int maxInFlight,
+                                  @Value("${admission.max-queue:64}") int maxQueue,
+                                  @Value("${admission.max-wait-ms:2000}") long maxWaitMs,
+                                  @Value("${admission.retry-after-seconds:5}") long retryAfterSeconds) {
+        this.searchResultCache = searchResultCache;
+        this.riotNegativeCache = riotNegativeCache;
+        this.personalizedValidator = personalizedValidator;
+        this.meterRegistry = meterRegistry;
+        this.permits = new Semaphore(maxInFlight, true);
+        this.maxInFlight = maxInFlight;
+        this.maxQueue = maxQueue;
+        this.maxWaitMs = maxWaitMs;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        Gauge.builder("admission.in_flight", this, filter -> filter.maxInFlight - filter.permits.availablePermits())
+                .description("입장 제어를 통과해 처리 중인 요청 수")
+                .register(meterRegistry);
+        Gauge.builder("admission.queued", queued, AtomicInteger::get)
+                .description("입장 대기 중인 요청 수")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !GUARDED_PATHS.contains(request.getRequestURI());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String endpoint = request.getRequestURI();
+
+        if (isWarm(request)) {
+            count(endpoint, "bypassed");
+            chain.doFilter(request, response);
+            return;
+        }
+
+        if (!tryAcquireNow() && !awaitPermit(endpoint)) {
+            count(endpoint, "shed");
+            log.warn("🚦 요청 혼잡으로 거절: {} (처리 중 {}, 대기 {})",
+                    endpoint, maxInFlight - permits.availablePermits(), queued.get());
+            rejectBusy(request, response);
+            return;
+        }
+
+        count(endpoint, "admitted");
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * 기다리지 않고 자리 확인 (tryAcquire()는 공정성을 무시하고 대기 중인 요청을 앞지르므로 시간 지정 버전 사용)
+     */
+    private boolean tryAcquireNow() {
+        try {
+            return permits.tryAcquire(0, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * 대기열에 자리가 있으면 최대 maxWaitMs 동안 대기
+     */
+    private boolean awaitPermit(String endpoint) {
+        if (queued.incrementAndGet() > maxQueue) {
+            queued.decrementAndGet();
+            return false;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            queued.decrementAndGet();
+            sample.stop(meterRegistry.timer("admission.queue.wait", "endpoint", endpoint));
+        }
+    }
+
+    /**
+     * 외부 호출 없이 처리될 요청인지
+     * (최근 검색 결과나 "없는 Riot ID"가 캐시에 있음 / If-None-Match가 지금의 ETag와 같아 304로 끝남)
+     */
+    private boolean isWarm(HttpServletRequest request) {
+        if ("/result".equals(request.getRequestURI())) {
+            String gameName = request.getParameter("gameName");
+            String tagLine = request.getParameter("tagLine");
+            return searchResultCache.contains(gameName, tagLine)
+                    || riotNegativeCache.containsUnknownAccount(gameName, tagLine);
+        }
+        if (PERSONALIZED_PATH.equals(request.getRequestURI())) {
+            return personalizedValidator.isCurrent(request.getParameter("playerName"),
+                    request.getHeaders(HttpHeaders.IF_NONE_MATCH));
+        }
+        return false;
+    }
+
+    private void rejectBusy(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+
+        if (request.getRequestURI().startsWith("/api/")) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.getWriter().write("{\"error\":true,\"busy\":true,"
+                    + "\"message\":\"요청이 많아 잠시 후 다시 시도해주세요.\","
+                    + "\"retryAfterSeconds\":" + retryAfterSeconds + "}");
+            return;
+        }
+
+        request.getRequestDispatcher(BUSY_VIEW_PATH).forward(request, response);
+    }
+
+    private void count(String endpoint, String result) {
+        meterRegistry.counter("admission.requests", "endpoint", endpoint, "result", result).increment();
+    }
+}
@@ -0,0 +1,33 @@
+package com.lol.lol.cache;
+
+import java.util.Enumeration;
+
+/**
+ * 🏷️ If-None-Match 비교 (약한 비교: W/ 여부 무시, "*"는 일치)
+ * 컨트롤러의 304 판단과 입장 제어의 "재검증이면 통과" 판단이 같은 규칙을 쓰도록 한 곳에 둠
+ */
+public final class EntityTags {
+
+    private EntityTags() {
+    }
+
+    public static boolean matches(Enumeration<String> ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        String opaque = opaqueTag(etag);
+        while (ifNoneMatch.hasMoreElements()) {
+            for (String candidate : ifNoneMatch.nextElement().split(",")) {
+                String tag = candidate.strip();
+                if ("*".equals(tag) || opaqueTag(tag).equals(opaque)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String opaqueTag(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
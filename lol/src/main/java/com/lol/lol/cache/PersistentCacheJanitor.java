@@ -0,0 +1,32 @@
+package com.lol.lol.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 🧹 디스크 캐시 주기 정리
+ * 만료 파일은 같은 키를 다시 읽을 때만 지워지므로, 보존 기간이 지난 파일과 상한 초과분을 주기적으로 삭제
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PersistentCacheJanitor {
+
+    private final MeterRegistry meterRegistry;
+
+    @Scheduled(initialDelayString = "${cache.sweep.initial-delay-ms:60000}",
+            fixedDelayString = "${cache.sweep.interval-ms:3600000}")
+    public void sweepAll() {
+        for (PersistentTtlCache<?> cache : PersistentTtlCache.instances()) {
+            try {
+                int deleted = cache.sweep();
+                meterRegistry.counter("cache.sweep.deleted", "cache", cache.getName()).increment(deleted);
+            } catch (Exception e) {
+                log.warn("[{}] 캐시 정리 실패", cache.getName(), e);
+            }
+        }
+    }
+}
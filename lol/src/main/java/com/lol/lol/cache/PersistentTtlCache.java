@@ -0,0 +1,434 @@
+package com.lol.lol.cache;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * 💾 메모리 + 디스크 2단 TTL 캐시
+ * - 메모리 미스 시 디스크에서 복원 (재시작 후에도 유지)
+ * - 같은 키의 동시 미스는 한 번만 로드 (single-flight)
+ * - 로더가 예외를 던지면 아무것도 저장하지 않음
+ * - staleRetention 동안은 만료된 값도 getStale()로 꺼낼 수 있음 (업스트림 장애/쿼터 소진 대비)
+ * - 메모리는 최근 사용 순(LRU)으로 maxMemoryEntries개까지만 유지
+ * - 디스크 파일의 수정 시각 = 만료 시각 → 주기 정리(sweep)에서 파일을 열지 않고 만료분 삭제, maxDiskEntries개 초과분도 정리
+ *   (수정 시각을 만료 시각으로 쓰기 전 형식의 파일은 생성 시 한 번만 열어 보정)
+ */
+@Slf4j
+public class PersistentTtlCache<V> {
+
+    // 디스크 상한 기본값: 메모리 상한의 20배
+    private static final int DISK_ENTRIES_PER_MEMORY_ENTRY = 20;
+    // 이 파일이 있으면 디렉토리의 모든 캐시 파일 수정 시각이 만료 시각임 (예전 형식 보정 완료 표시)
+    private static final String EXPIRY_MARKER = ".expiry-mtime";
+    // 저장 도중 중단되어 남은 임시 파일은 이만큼 지나면 정리 (저장 중인 파일은 건드리지 않음)
+    private static final long TEMP_FILE_MAX_AGE_MILLIS = Duration.ofHours(1).toMillis();
+
+    private final String name;
+    private final Path directory;
+    private final ObjectMapper objectMapper;
+    private final JavaType entryType;
+    private final int maxMemoryEntries;
+    private final Duration staleRetention;
+    private final int maxDiskEntries;
+
+    // 접근 순서 LinkedHashMap: 조회/저장/제거 모두 O(1), 넘치면 가장 오래 안 쓴 항목부터 제거 (디스크에는 남음)
+    private final Map<String, Entry<V>> memory;
+    private final Map<String, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    // 주기 정리 대상 (PersistentCacheJanitor가 순회)
+    private static final Set<PersistentTtlCache<?>> INSTANCES = ConcurrentHashMap.newKeySet();
+
+    public PersistentTtlCache(String name, Path directory, ObjectMapper objectMapper,
+                              JavaType valueType, int maxMemoryEntries) {
+        this(name, directory, objectMapper, valueType, maxMemoryEntries, Duration.ZERO);
+    }
+
+    public PersistentTtlCache(String name, Path directory, ObjectMapper objectMapper,
+                              JavaType valueType, int maxMemoryEntries, Duration staleRetention) {
+        this(name, directory, objectMapper, valueType, maxMemoryEntries, staleRetention,
+                maxMemoryEntries * DISK_ENTRIES_PER_MEMORY_ENTRY);
+    }
+
+    public PersistentTtlCache(String name, Path directory, ObjectMapper objectMapper,
+                              JavaType valueType, int maxMemoryEntries, Duration staleRetention,
+                              int maxDiskEntries) {
+        this.name = name;
+        this.directory = directory;
+        this.objectMapper = objectMapper;
+        this.entryType = objectMapper.getTypeFactory().constructParametricType(Entry.class, valueType);
+        this.maxMemoryEntries = maxMemoryEntries;
+        this.staleRetention = staleRetention;
+        this.maxDiskEntries = maxDiskEntries;
+        this.memory = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+                return size() > PersistentTtlCache.this.maxMemoryEntries;
+            }
+        };
+        INSTANCES.add(this);
+
+        try {
+            Files.createDirectories(directory);
+            migrateLegacyFiles();
+        } catch (IOException e) {
+            log.warn("[{}] 캐시 디렉토리 생성 실패, 메모리 캐시만 사용: {}", name, directory, e);
+        }
+    }
+
+    /**
+     * 🎯 캐시 조회, 없으면 로드 후 저장
+     */
+    public V get(String key, Duration ttl, Supplier<V> loader) {
+        Optional<V> cached = getIfPresent(key);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            log.debug("[{}] 진행 중인 로드 대기: {}", name, key);
+            return await(existing);
+        }
+
+        try {
+            V value = loader.get();
+            if (value != null) {
+                put(key, value, ttl);
+            }
+            mine.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    /**
+     * 🔍 만료되지 않은 값만 조회 (메모리 → 디스크)
+     */
+    public Optional<V> getIfPresent(String key) {
+        long now = System.currentTimeMillis();
+
+        Entry<V> entry = memoryGet(key);
+        if (entry != null) {
+            if (!entry.isExpired(now)) {
+                return Optional.of(entry.value());
+            }
+            memoryRemove(key);
+        }
+
+        Entry<V> stored = readFromDisk(key);
+        if (stored == null) {
+            return Optional.empty();
+        }
+        if (stored.isExpired(now)) {
+            deleteIfBeyondRetention(key, stored, now);
+            return Optional.empty();
+        }
+
+        putInMemory(key, stored);
+        return Optional.of(stored.value());
+    }
+
+    /**
+     * 🕰️ 만료됐더라도 보존 기간 안이면 반환 (신선한 값이 있으면 그것을 반환)
+     * 메모리에서는 만료 시 빠지므로 디스크 사본을 확인
+     */
+    public Optional<V> getStale(String key) {
+        long now = System.currentTimeMillis();
+
+        Entry<V> entry = memoryGet(key);
+        if (entry == null) {
+            entry = readFromDisk(key);
+        }
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (now >= entry.expiresAt() + staleRetention.toMillis()) {
+            memoryRemove(key);
+            deleteFromDisk(key);
+            return Optional.empty();
+        }
+        return Optional.of(entry.value());
+    }
+
+    public void put(String key, V value, Duration ttl) {
+        Entry<V> entry = new Entry<>(value, System.currentTimeMillis() + ttl.toMillis());
+        putInMemory(key, entry);
+        writeToDisk(key, entry);
+    }
+
+    /**
+     * 📚 디스크에 저장된 만료 전 값 전체 (주기적 통계/색인 재구성용, 요청 경로에서 사용 금지)
+     */
+    public List<V> values() {
+        long now = System.currentTimeMillis();
+        List<V> values = new ArrayList<>();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> file.getFileName().toString().endsWith(".json"))
+                    .forEach(file -> {
+                        String fileName = file.getFileName().toString();
+                        Entry<V> entry = readFromDisk(fileName.substring(0, fileName.length() - ".json".length()));
+                        if (entry != null && !entry.isExpired(now)) {
+                            values.add(entry.value());
+                        }
+                    });
+        } catch (IOException e) {
+            log.warn("[{}] 캐시 디렉토리 조회 실패: {}", name, directory, e);
+        }
+        return values;
+    }
+
+    public void invalidate(String key) {
+        memoryRemove(key);
+        deleteFromDisk(key);
+    }
+
+    /**
+     * 🧹 디스크 정리: 보존 기간까지 지난 파일 삭제 후, maxDiskEntries를 넘으면 가장 먼저 만료될 파일부터 삭제
+     * 파일 수정 시각(= 만료 시각)만 보므로 파일을 열지 않음, 오래된 임시 파일(*.tmp)도 함께 삭제
+     *
+     * @return 삭제한 파일 수
+     */
+    public int sweep() {
+        long now = System.currentTimeMillis();
+        long retentionMillis = staleRetention.toMillis();
+        List<Map.Entry<Path, Long>> live = new ArrayList<>();
+        int deleted = 0;
+
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String fileName = file.getFileName().toString();
+                if (fileName.endsWith(".tmp")) {
+                    if (now - expiresAtOf(file) >= TEMP_FILE_MAX_AGE_MILLIS && deleteQuietly(file)) {
+                        deleted++;
+                    }
+                    continue;
+                }
+                if (!fileName.endsWith(".json")) {
+                    continue;
+                }
+                String key = fileName.substring(0, fileName.length() - ".json".length());
+                long expiresAt = expiresAtOf(file);
+                if (now >= expiresAt + retentionMillis) {
+                    memoryRemove(key);
+                    deleteFromDisk(key);
+                    deleted++;
+                } else {
+                    live.add(Map.entry(file, expiresAt));
+                }
+            }
+        } catch (IOException e) {
+            log.warn("[{}] 캐시 디렉토리 정리 실패: {}", name, directory, e);
+            return deleted;
+        }
+
+        if (live.size() > maxDiskEntries) {
+            live.sort(Map.Entry.comparingByValue());
+            for (Map.Entry<Path, Long> overflow : live.subList(0, live.size() - maxDiskEntries)) {
+                String fileName = overflow.getKey().getFileName().toString();
+                String key = fileName.substring(0, fileName.length() - ".json".length());
+                memoryRemove(key);
+                deleteFromDisk(key);
+                deleted++;
+            }
+        }
+
+        if (deleted > 0) {
+            log.info("[{}] 캐시 파일 {}개 정리 (남은 파일 {}개)", name, deleted, Math.min(live.size(), maxDiskEntries));
+        }
+        return deleted;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * 생성된 모든 캐시 (주기 정리용)
+     */
+    public static Set<PersistentTtlCache<?>> instances() {
+        return Collections.unmodifiableSet(INSTANCES);
+    }
+
+    /**
+     * 🔑 여러 구성요소를 SHA-256 키로 변환 (파일명으로도 안전)
+     */
+    public static String hashKey(String... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (String part : parts) {
+                digest.update(part.getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 미지원 환경", e);
+        }
+    }
+
+    // ===== 내부 구현 =====
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw e;
+        }
+    }
+
+    private Entry<V> memoryGet(String key) {
+        synchronized (memory) {
+            return memory.get(key);
+        }
+    }
+
+    private void memoryRemove(String key) {
+        synchronized (memory) {
+            memory.remove(key);
+        }
+    }
+
+    private void putInMemory(String key, Entry<V> entry) {
+        synchronized (memory) {
+            memory.put(key, entry);
+        }
+    }
+
+    private void deleteIfBeyondRetention(String key, Entry<V> entry, long now) {
+        if (now >= entry.expiresAt() + staleRetention.toMillis()) {
+            deleteFromDisk(key);
+        }
+    }
+
+    private Path fileFor(String key) {
+        return directory.resolve(key + ".json");
+    }
+
+    private Entry<V> readFromDisk(String key) {
+        Path file = fileFor(key);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(file.toFile(), entryType);
+        } catch (IOException e) {
+            log.warn("[{}] 손상된 캐시 파일 삭제: {}", name, file);
+            deleteFromDisk(key);
+            return null;
+        }
+    }
+
+    private void writeToDisk(String key, Entry<V> entry) {
+        Path file = fileFor(key);
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(directory, key, ".tmp");
+            objectMapper.writeValue(temp.toFile(), entry);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            temp = null;
+            markExpiry(file, entry.expiresAt());
+        } catch (IOException e) {
+            log.warn("[{}] 캐시 파일 저장 실패: {}", name, file, e);
+        } finally {
+            if (temp != null) {
+                deleteQuietly(temp);
+            }
+        }
+    }
+
+    /**
+     * 수정 시각을 만료 시각으로 쓰기 전에 저장된 파일을 한 번만 열어 수정 시각 보정 (보정 후 표시 파일 생성)
+     */
+    private void migrateLegacyFiles() throws IOException {
+        Path marker = directory.resolve(EXPIRY_MARKER);
+        if (Files.exists(marker)) {
+            return;
+        }
+
+        int migrated = 0;
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String fileName = file.getFileName().toString();
+                if (!fileName.endsWith(".json")) {
+                    continue;
+                }
+                Entry<V> entry = readFromDisk(fileName.substring(0, fileName.length() - ".json".length()));
+                if (entry != null) {
+                    markExpiry(file, entry.expiresAt());
+                    migrated++;
+                }
+            }
+        }
+        Files.createFile(marker);
+        if (migrated > 0) {
+            log.info("[{}] 예전 형식 캐시 파일 {}개 만료 시각 보정", name, migrated);
+        }
+    }
+
+    private void markExpiry(Path file, long expiresAt) {
+        try {
+            Files.setLastModifiedTime(file, FileTime.fromMillis(expiresAt));
+        } catch (IOException e) {
+            log.debug("[{}] 캐시 파일 만료 시각 기록 실패: {}", name, file);
+        }
+    }
+
+    private static long expiresAtOf(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private void deleteFromDisk(String key) {
+        deleteQuietly(fileFor(key));
+    }
+
+    private boolean deleteQuietly(Path file) {
+        try {
+            return Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("[{}] 캐시 파일 삭제 실패: {}", name, file);
+            return false;
+        }
+    }
+
+    record Entry<V>(V value, long expiresAt) {
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
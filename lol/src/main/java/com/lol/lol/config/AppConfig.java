@@ -0,0 +1,38 @@
+package com.lol.lol.config;
+
+import com.lol.lol.deadline.DeadlineAwareRequestFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+
+@Configuration
+public class AppConfig {
+
+    // 빌더로 만들어야 http.client.requests 지표(UpstreamObservationConvention)가 붙음
+    // 요청 팩토리는 호출마다 남은 요청 예산으로 타임아웃을 정함 (DeadlineAwareRequestFactory)
+    @Bean
+    public RestTemplate restTemplate(RestTemplateBuilder builder,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${upstream.timeout.connect-ms:2000}") long connectTimeoutMs,
+                                     @Value("${upstream.timeout.max-ms:10000}") long maxTimeoutMs,
+                                     @Value("${upstream.timeout.min-ms:50}") long minTimeoutMs){
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        SimpleAsyncTaskExecutor bodyExecutor = new SimpleAsyncTaskExecutor("http-body-");
+        bodyExecutor.setVirtualThreads(true);
+
+        return builder
+                .requestFactory(() -> new DeadlineAwareRequestFactory(httpClient, bodyExecutor,
+                        Duration.ofMillis(maxTimeoutMs), Duration.ofMillis(minTimeoutMs), meterRegistry))
+                .build();
+    }
+}
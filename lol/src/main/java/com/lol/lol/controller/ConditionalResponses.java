@@ -0,0 +1,76 @@
+package com.lol.lol.controller;
+
+import com.lol.lol.cache.EntityTags;
+import com.lol.lol.cache.PersistentTtlCache;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HexFormat;
+
+/**
+ * 🏷️ ETag / If-None-Match 처리 공통 유틸 (API 컨트롤러용)
+ * - 강한 ETag: 실제로 보낼 응답 바이트의 해시 (바이트 단위로 같은 응답에만)
+ * - 약한 ETag: 응답을 결정하는 값들의 해시 (생성 시각 등 일부 바이트가 달라도 같은 내용)
+ * ETag는 정상 응답에만 붙임 → 폴백/오류 응답은 no-store로 보내고 재검증 대상이 되지 않게 함
+ * (WebRequest.checkNotModified는 200에도 ETag를 남기므로 쓰지 않음)
+ */
+final class ConditionalResponses {
+
+    // 폴백/오류 응답: 브라우저/프록시에 남기지 않음 (다음 요청에서 다시 생성 시도)
+    static final CacheControl NO_STORE = CacheControl.noStore();
+
+    private ConditionalResponses() {
+    }
+
+    /**
+     * 응답 바이트로 강한 ETag 생성 (따옴표 포함)
+     */
+    static String strongEtag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest).substring(0, 32) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 미지원 환경", e);
+        }
+    }
+
+    /**
+     * 매번 달라지는 필드를 뺀 내용 바이트로 약한 ETag 생성
+     */
+    static String weakEtag(byte[] content) {
+        return "W/" + strongEtag(content);
+    }
+
+    /**
+     * 응답을 결정하는 값들로 약한 ETag 생성 (W/ + 따옴표 포함)
+     */
+    static String weakEtag(Object... parts) {
+        String[] values = new String[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = String.valueOf(parts[i]);
+        }
+        return "W/\"" + PersistentTtlCache.hashKey(values).substring(0, 32) + "\"";
+    }
+
+    /**
+     * If-None-Match에 etag가 들어 있는지 (비교 규칙은 EntityTags)
+     */
+    static boolean matches(WebRequest request, String etag) {
+        String[] headers = request.getHeaderValues(HttpHeaders.IF_NONE_MATCH);
+        return headers != null && EntityTags.matches(Collections.enumeration(Arrays.asList(headers)), etag);
+    }
+
+    static <T> ResponseEntity<T> notModified(String etag, CacheControl cacheControl) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(cacheControl)
+                .build();
+    }
+}
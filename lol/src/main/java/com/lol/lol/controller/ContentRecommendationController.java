@@ -1,22 +1,49 @@
 package com.lol.lol.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lol.lol.deadline.Deadline;
+import com.lol.lol.deadline.DeadlineContext;
 import com.lol.lol.dto.LeagueDto;
 import com.lol.lol.dto.MatchDto;
 import com.lol.lol.dto.SummonerDto;
+import com.lol.lol.metrics.PipelineMetrics;
 import com.lol.lol.service.EmotionBasedRecommendationService;
+import com.lol.lol.service.EmotionBasedRecommendationService.PlayerEmotionState;
 import com.lol.lol.service.EmotionBasedRecommendationService.SmartVideoRecommendation;
+import com.lol.lol.service.PersonalizedContentValidator;
 import com.lol.lol.service.SummonerService;
+import com.lol.lol.tracing.TraceContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * 🎯 감정 기반 개인화 콘텐츠 API 컨트롤러
@@ -31,6 +58,32 @@ public class ContentRecommendationController {
 
     private final EmotionBasedRecommendationService emotionBasedService;
     private final SummonerService summonerService;
+    private final PersonalizedContentValidator personalizedValidator;
+    private final PipelineMetrics pipelineMetrics;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${content.stream.timeout-ms:60000}")
+    private long streamTimeoutMs;
+
+    // SSE 응답 생성은 요청 스레드를 붙잡지 않도록 가상 스레드에서 진행
+    private final ExecutorService streamExecutor = DeadlineContext.propagating(
+            TraceContext.propagating(Executors.newVirtualThreadPerTaskExecutor()));
+    private final AtomicInteger activeStreams = new AtomicInteger();
+
+    // 동시에 열 수 있는 스트림 수 (스트림 하나가 Gemini/YouTube 호출을 여러 번 함)
+    @Value("${content.stream.max-concurrent:16}")
+    private int maxConcurrentStreams;
+
+    @Value("${content.stream.retry-after-seconds:5}")
+    private long streamRetryAfterSeconds;
+
+    private Semaphore streamPermits;
+
+    @PostConstruct
+    void registerStreamMetrics() {
+        streamPermits = new Semaphore(maxConcurrentStreams);
+        meterRegistry.gauge("content.stream.active", activeStreams);
+    }
 
     /**
      * 🤖 AI 기반 감정 분석 개인화 콘텐츠 추천 API
@@ -38,10 +91,17 @@ public class ContentRecommendationController {
      */
     @GetMapping("/personalized")
     public ResponseEntity<Map<String, Object>> getPersonalizedContent(
-            @RequestParam String playerName) {
+            @RequestParam String playerName,
+            WebRequest webRequest) {
         try {
             log.info("🤖 감정 기반 개인화 콘텐츠 요청: {}", playerName);
 
+            CacheControl cacheControl = CacheControl.maxAge(personalizedValidator.freshness()).cachePrivate();
+            String etag = personalizedValidator.currentEtag(playerName);
+            if (ConditionalResponses.matches(webRequest, etag)) {
+                return ConditionalResponses.notModified(etag, cacheControl);
+            }
+
             // 테스트용 간단한 설정
             SummonerDto summoner = new SummonerDto();
             List<MatchDto> matches = new ArrayList<>();
@@ -63,7 +123,7 @@ public class ContentRecommendationController {
             response.put("emotionAnalysis", createEmotionAnalysis(matches, playerName));
 
             log.info("✅ 감정 기반 추천 완료: {} ({} 개 영상)", playerName, videoRecommendations.size());
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(response);
 
         } catch (Exception e) {
             log.error("❌ 개인화 콘텐츠 생성 실패: " + playerName, e);
@@ -71,6 +131,137 @@ public class ContentRecommendationController {
         }
     }
 
+    /**
+     * 🌊 개인화 콘텐츠 추천 SSE 스트림
+     * 이벤트 순서: emotion (감정 분석 + 메시지) → video (카드 1개씩, 준비되는 대로) → complete
+     * 영상이 하나도 나오지 않으면 폴백 영상을 video 이벤트로 보낸 뒤 complete
+     */
+    @GetMapping(value = "/personalized/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamPersonalizedContent(@RequestParam String playerName) {
+        log.info("🌊 감정 기반 개인화 콘텐츠 스트림 요청: {}", playerName);
+
+        // 동시 스트림이 꽉 차면 503 → 클라이언트는 일반 요청(/personalized, 입장 제어 대상)으로 전환
+        if (!streamPermits.tryAcquire()) {
+            meterRegistry.counter("content.stream.rejected").increment();
+            log.warn("🚦 동시 스트림 한도 초과로 거절: {} (열린 스트림 {})", playerName, activeStreams.get());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(streamRetryAfterSeconds))
+                    .build();
+        }
+
+        SseEmitter emitter = new SseEmitter(streamTimeoutMs);
+        AtomicBoolean cancelled = new AtomicBoolean();
+        AtomicBoolean permitReleased = new AtomicBoolean();
+        AtomicReference<Future<?>> worker = new AtomicReference<>();
+        Runnable releasePermit = () -> {
+            if (permitReleased.compareAndSet(false, true)) {
+                streamPermits.release();
+            }
+        };
+
+        // 연결 끊김/시간 초과/완료 시 작업 중단 (다음 send 실패까지 Gemini/YouTube 작업이 이어지지 않도록)
+        // 시작 전에 취소되면 작업의 finally가 돌지 않으므로 여기서도 자리를 반납 (한 번만)
+        Runnable cancel = () -> {
+            if (cancelled.compareAndSet(false, true)) {
+                Future<?> task = worker.get();
+                if (task != null && task.cancel(true)) {
+                    releasePermit.run();
+                }
+            }
+        };
+        emitter.onTimeout(cancel);
+        emitter.onError(error -> cancel.run());
+        emitter.onCompletion(cancel);
+
+        // 스트림은 응답을 돌려준 뒤에도 이어지므로 요청 예산 대신 스트림 제한 시간을 마감으로 씀
+        Deadline streamDeadline = Deadline.after(Duration.ofMillis(streamTimeoutMs));
+        try {
+            worker.set(streamExecutor.submit(() -> {
+                activeStreams.incrementAndGet();
+                try (DeadlineContext.Scope ignored = DeadlineContext.open(streamDeadline)) {
+                    streamRecommendations(emitter, playerName, cancelled);
+                } finally {
+                    activeStreams.decrementAndGet();
+                    releasePermit.run();
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            releasePermit.run();
+            throw e;
+        }
+        // 제출 전에 이미 끊긴 경우
+        if (cancelled.get() && worker.get().cancel(true)) {
+            releasePermit.run();
+        }
+
+        return ResponseEntity.ok(emitter);
+    }
+
+    private void streamRecommendations(SseEmitter emitter, String playerName, AtomicBoolean cancelled) {
+        // 테스트용 간단한 설정 (/personalized와 동일)
+        SummonerDto summoner = new SummonerDto();
+        List<MatchDto> matches = new ArrayList<>();
+        AtomicInteger sentCount = new AtomicInteger();
+        boolean aiGenerated = true;
+
+        try {
+            emotionBasedService.streamEmotionBasedRecommendations(summoner, matches, playerName,
+                    emotionState -> sendEvent(emitter, "emotion", Map.of(
+                            "emotionAnalysis", createEmotionAnalysis(emotionState),
+                            "personalizedMessage", generatePersonalizedMessage(matches, playerName))),
+                    recommendation -> {
+                        if (cancelled.get()) {
+                            throw new CancellationException("스트림 종료됨");
+                        }
+                        sendEvent(emitter, "video", toVideoContent(recommendation));
+                        sentCount.incrementAndGet();
+                    });
+        } catch (Exception e) {
+            if (cancelled.get()) {
+                log.debug("개인화 콘텐츠 스트림 중단 (연결 종료/시간 초과): {}", playerName);
+                return;
+            }
+            log.error("❌ 개인화 콘텐츠 스트림 실패: " + playerName, e);
+        }
+        if (cancelled.get()) {
+            return;
+        }
+
+        try {
+            if (sentCount.get() == 0) {
+                aiGenerated = false;
+                pipelineMetrics.fallback("content-stream", "no_videos");
+                for (Map<String, Object> video : createFallbackVideos()) {
+                    sendEvent(emitter, "video", video);
+                    sentCount.incrementAndGet();
+                }
+            }
+            sendEvent(emitter, "complete", Map.of(
+                    "totalCount", sentCount.get(),
+                    "isAIGenerated", aiGenerated,
+                    "isFallback", !aiGenerated));
+            emitter.complete();
+            log.info("✅ 감정 기반 추천 스트림 완료: {} ({} 개 영상)", playerName, sentCount.get());
+        } catch (Exception e) {
+            // 클라이언트가 먼저 연결을 끊은 경우
+            log.debug("개인화 콘텐츠 스트림 종료 실패: {}", playerName);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void sendEvent(SseEmitter emitter, String name, Object data) {
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data, MediaType.APPLICATION_JSON));
+        } catch (IOException e) {
+            throw new UncheckedIOException("SSE 전송 실패: " + name, e);
+        }
+    }
+
+    @PreDestroy
+    void shutdownStreamExecutor() {
+        streamExecutor.shutdownNow();
+    }
+
     /**
      * 💬 개인화 메시지 생성
      */
@@ -108,6 +299,19 @@ public class ContentRecommendationController {
         return analysis;
     }
 
+    /**
+     * 📊 실제 감정 분석 결과로 응답 형태 생성 (스트림용)
+     */
+    private Map<String, Object> createEmotionAnalysis(PlayerEmotionState emotionState) {
+        Map<String, Object> analysis = new HashMap<>();
+        analysis.put("emotionType", emotionState.getEmotionType().name());
+        analysis.put("description", emotionState.getEmotionType().getDisplayName());
+        analysis.put("winRate", emotionState.getWinRate());
+        analysis.put("averageKDA", emotionState.getAverageKDA());
+        analysis.put("currentStreak", emotionState.getCurrentStreak());
+        return analysis;
+    }
+
     /**
      * 🎬 SmartVideoRecommendation을 프론트엔드 형태로 변환
      */
@@ -115,22 +319,26 @@ public class ContentRecommendationController {
         List<Map<String, Object>> videoContents = new ArrayList<>();
 
         for (SmartVideoRecommendation rec : recommendations) {
-            Map<String, Object> video = new HashMap<>();
-            video.put("title", rec.getTitle());
-            video.put("description", rec.getDescription());
-            video.put("url", rec.getVideoUrl());
-            video.put("thumbnailUrl", rec.getThumbnailUrl());
-            video.put("channelTitle", rec.getChannelTitle());
-            video.put("category", rec.getCategory());
-            video.put("relevanceScore", rec.getRelevanceScore());
-            video.put("personalizedReason", rec.getPersonalizedReason());
-            video.put("emotionMatch", rec.getEmotionMatch());
-            videoContents.add(video);
+            videoContents.add(toVideoContent(rec));
         }
 
         return videoContents;
     }
 
+    private Map<String, Object> toVideoContent(SmartVideoRecommendation rec) {
+        Map<String, Object> video = new HashMap<>();
+        video.put("title", rec.getTitle());
+        video.put("description", rec.getDescription());
+        video.put("url", rec.getVideoUrl());
+        video.put("thumbnailUrl", rec.getThumbnailUrl());
+        video.put("channelTitle", rec.getChannelTitle());
+        video.put("category", rec.getCategory());
+        video.put("relevanceScore", rec.getRelevanceScore());
+        video.put("personalizedReason", rec.getPersonalizedReason());
+        video.put("emotionMatch", rec.getEmotionMatch());
+        return video;
+    }
+
     /**
      * ❌ 에러 응답 생성
      */
@@ -151,6 +359,21 @@ public class ContentRecommendationController {
      * 🛡️ 폴백 응답 생성 (서비스 실패 시)
      */
     private ResponseEntity<Map<String, Object>> createFallbackResponse(String playerName) {
+        List<Map<String, Object>> fallbackVideos = createFallbackVideos();
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("videoContents", fallbackVideos);
+        response.put("minigames", new ArrayList<>());
+        response.put("personalizedMessage", playerName + "님을 위한 기본 추천 콘텐츠를 준비했어요!");
+        response.put("totalCount", fallbackVideos.size());
+        response.put("isAIGenerated", false);
+        response.put("isFallback", true);
+
+        // 폴백은 브라우저에 남기지 않음 (다음 요청에서 다시 생성 시도)
+        return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(response);
+    }
+
+    private List<Map<String, Object>> createFallbackVideos() {
         List<Map<String, Object>> fallbackVideos = new ArrayList<>();
 
         // 기본 폴백 영상들
@@ -176,15 +399,7 @@ public class ContentRecommendationController {
         video2.put("personalizedReason", "랭크 게임 향상을 위한 콘텐츠");
         fallbackVideos.add(video2);
 
-        Map<String, Object> response = new HashMap<>();
-        response.put("videoContents", fallbackVideos);
-        response.put("minigames", new ArrayList<>());
-        response.put("personalizedMessage", playerName + "님을 위한 기본 추천 콘텐츠를 준비했어요!");
-        response.put("totalCount", fallbackVideos.size());
-        response.put("isAIGenerated", false);
-        response.put("isFallback", true);
-
-        return ResponseEntity.ok(response);
+        return fallbackVideos;
     }
 
     /**
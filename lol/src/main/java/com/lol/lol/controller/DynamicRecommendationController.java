@@ -1,17 +1,28 @@
 package com.lol.lol.controller;
 
 import com.lol.lol.dto.*;
+import com.lol.lol.service.AnonymousRecommendationPayloadCache;
+import com.lol.lol.service.DynamicChampionDataService;
 import com.lol.lol.service.DynamicRecommendationEngine;
+import com.lol.lol.service.PlayerDataVersionRegistry;
+import com.lol.lol.service.RecommendationStatsService;
 import com.lol.lol.service.SummonerService;
 import com.lol.lol.dto.MatchDto;
 import com.lol.lol.service.ChampionRecommendationService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -29,26 +40,45 @@ public class DynamicRecommendationController {
     private final DynamicRecommendationEngine recommendationEngine;
     private final ChampionRecommendationService championRecommendationService;
     private final SummonerService summonerService;
+    private final AnonymousRecommendationPayloadCache payloadCache;
+    private final DynamicChampionDataService championDataService;
+    private final PlayerDataVersionRegistry playerDataVersions;
+    private final RecommendationStatsService statsService;
+    private final ObjectMapper objectMapper;
+
+    // 익명 응답은 메타 스냅샷이 바뀌기 전까지 모두 같으므로 공유 캐시 허용
+    private static final CacheControl ANONYMOUS_CACHE = CacheControl.maxAge(Duration.ofMinutes(5)).cachePublic();
+    private static final CacheControl PLAYER_CACHE = CacheControl.maxAge(Duration.ofMinutes(1)).cachePrivate();
+    // PUUID 응답은 매번 재검증 (최근 매치 ID만 확인 후 304)
+    private static final CacheControl PUUID_CACHE = CacheControl.noCache().cachePrivate();
+    private static final CacheControl STATS_CACHE = CacheControl.maxAge(Duration.ofSeconds(10)).cachePublic();
 
     /**
      * 🌌 Cards Galaxy 전용 API - 간단한 JSON 응답
      * personal.html에서 JavaScript로 호출
+     * 플레이어 이름이 없으면 메타 버전별로 미리 직렬화된 응답을 그대로 씀
      */
     @GetMapping("/galaxy")
-    public ResponseEntity<Map<String, Object>> getGalaxyRecommendations(
+    public ResponseEntity<?> getGalaxyRecommendations(
             @RequestParam(required = false) String playerName,
             @RequestParam(required = false) String role,
-            @RequestParam(defaultValue = "12") int count) {
+            @RequestParam(defaultValue = "12") int count,
+            WebRequest webRequest) {
 
         try {
             log.info("🌌 Cards Galaxy API 호출 - 플레이어: {}, 라인: {}, 개수: {}",
                     playerName, role, count);
 
+            if (isAnonymous(playerName)) {
+                AnonymousRecommendationPayloadCache.RenderedPayload payload = payloadCache.getOrRender("galaxy", role, count, () ->
+                        championRecommendationService.generateSimpleRecommendationsForGalaxy(null, role, count));
+                return anonymousResponse(payload, webRequest);
+            }
+
             // ChampionRecommendationService를 통한 추천 생성
             Map<String, Object> galaxyResponse = championRecommendationService
                     .generateSimpleRecommendationsForGalaxy(playerName, role, count);
-
-            return ResponseEntity.ok(galaxyResponse);
+            return playerResponse(playerName, galaxyResponse, webRequest);
 
         } catch (Exception e) {
             log.error("Cards Galaxy API 오류", e);
@@ -62,12 +92,18 @@ public class DynamicRecommendationController {
      * Cards Galaxy 프론트엔드에서 상세 정보 요청 시 사용
      */
     @GetMapping("/player/{playerName}")
-    @Cacheable(value = "user_recommendations_v2", key = "#playerName", unless = "#result == null")
+    @Cacheable(value = "user_recommendations_v2", key = "#playerName", unless = "#result == null || #result.statusCode.value() != 200")
     public ResponseEntity<ChampionRecommendationResult> getRecommendationsByPlayerName(
-            @PathVariable String playerName) {
+            @PathVariable String playerName,
+            WebRequest webRequest) {
         try {
             log.info("=== 동적 추천 API 호출: {} ===", playerName);
 
+            String etag = etagFor("player", playerName);
+            if (ConditionalResponses.matches(webRequest, etag)) {
+                return ConditionalResponses.notModified(etag, PLAYER_CACHE);
+            }
+
             // 플레이어 이름으로 최근 매치 데이터 조회 (기존 서비스 활용)
             List<MatchDto> recentMatches = getPlayerRecentMatches(playerName);
             log.info("매치 데이터 조회 완료: {} 개", recentMatches.size());
@@ -80,8 +116,9 @@ public class DynamicRecommendationController {
             log.info("추천 생성 완료: {} 개 챔피언, {} 개 라인",
                     result.getRecommendations().size(),
                     result.getRecommendationsByRole().size());
+            statsService.record(playerName, result.getRecommendations());
 
-            return ResponseEntity.ok(result);
+            return resultResponse(result, etag, PLAYER_CACHE);
 
         } catch (Exception e) {
             log.error("추천 API 오류: " + playerName, e);
@@ -94,14 +131,24 @@ public class DynamicRecommendationController {
      * 📱 PUUID로 추천 조회 (기존 시스템과 호환)
      */
     @GetMapping("/puuid/{puuid}")
-    @Cacheable(value = "user_recommendations_v2", key = "#puuid", unless = "#result == null")
+    @Cacheable(value = "user_recommendations_v2", key = "#puuid", unless = "#result == null || #result.statusCode.value() != 200")
     public ResponseEntity<ChampionRecommendationResult> getRecommendationsByPuuid(
-            @PathVariable String puuid) {
+            @PathVariable String puuid,
+            WebRequest webRequest) {
         try {
             log.info("=== PUUID 기반 추천 API 호출: {} ===", puuid);
 
+            // 최근 매치 ID만 먼저 조회해 데이터 버전 확인 (바뀐 게 없으면 상세 조회 없이 304)
+            List<String> matchIds = getMatchIdsFromSummonerService(puuid);
+            playerDataVersions.recordMatchIds(List.of(puuid), matchIds);
+
+            String etag = etagFor("puuid", puuid);
+            if (ConditionalResponses.matches(webRequest, etag)) {
+                return ConditionalResponses.notModified(etag, PUUID_CACHE);
+            }
+
             // PUUID로 최근 매치 데이터 조회
-            List<MatchDto> recentMatches = getMatchesFromSummonerService(puuid);
+            List<MatchDto> recentMatches = getMatchDetailsFromSummonerService(puuid, matchIds);
 
             // 플레이어 이름 추출 (첫 번째 매치에서)
             String playerName = extractPlayerName(recentMatches, puuid);
@@ -110,8 +157,9 @@ public class DynamicRecommendationController {
             ChampionRecommendationResult result = recommendationEngine.generateRecommendations(
                     playerName, recentMatches
             );
+            statsService.record(puuid, result.getRecommendations());
 
-            return ResponseEntity.ok(result);
+            return resultResponse(result, etag, PUUID_CACHE);
 
         } catch (Exception e) {
             log.error("PUUID 추천 API 오류: " + puuid, e);
@@ -122,43 +170,32 @@ public class DynamicRecommendationController {
 
     /**
      * 📊 라인별 추천 API
+     * 플레이어 이름이 없으면 메타 버전별로 미리 직렬화된 응답을 그대로 씀
      */
     @GetMapping("/role/{role}")
-    public ResponseEntity<Map<String, Object>> getRecommendationsByRole(
+    public ResponseEntity<?> getRecommendationsByRole(
             @PathVariable String role,
             @RequestParam(required = false) String playerName,
-            @RequestParam(defaultValue = "6") int count) {
+            @RequestParam(defaultValue = "6") int count,
+            WebRequest webRequest) {
 
         try {
             log.info("라인별 추천 API 호출 - 라인: {}, 플레이어: {}", role, playerName);
 
-            ChampionRecommendationResult fullResult;
-
-            if (playerName != null && !playerName.trim().isEmpty()) {
-                // 플레이어별 맞춤 추천
-                List<MatchDto> matches = getPlayerRecentMatches(playerName);
-                fullResult = recommendationEngine.generateRecommendations(playerName, matches);
-            } else {
+            if (isAnonymous(playerName)) {
                 // 일반 추천 (메타 기반)
-                fullResult = recommendationEngine.generateRecommendations("DefaultPlayer", List.of());
+                String normalizedRole = role.toUpperCase();
+                AnonymousRecommendationPayloadCache.RenderedPayload payload = payloadCache.getOrRender("role", normalizedRole, count, () ->
+                        buildRoleResponse(normalizedRole,
+                                recommendationEngine.generateRecommendations("DefaultPlayer", List.of()), count));
+                return anonymousResponse(payload, webRequest);
             }
 
-            // 라인별 필터링
-            List<ChampionRecommendation> roleFiltered = fullResult.getRecommendations().stream()
-                    .filter(rec -> role.equalsIgnoreCase(rec.getPrimaryRole()))
-                    .limit(count)
-                    .collect(Collectors.toList());
-
-            Map<String, Object> response = new HashMap<>();
-            response.put("role", role.toUpperCase());
-            response.put("champions", roleFiltered.stream()
-                    .map(this::convertToSimpleChampion)
-                    .collect(Collectors.toList()));
-            response.put("totalCount", roleFiltered.size());
-            response.put("message", String.format("%s 라인 추천 챔피언 %d개를 찾았습니다!",
-                    getRoleKorean(role), roleFiltered.size()));
-
-            return ResponseEntity.ok(response);
+            // 플레이어별 맞춤 추천
+            List<MatchDto> matches = getPlayerRecentMatches(playerName);
+            ChampionRecommendationResult fullResult = recommendationEngine.generateRecommendations(playerName, matches);
+            Map<String, Object> roleResponse = buildRoleResponse(role, fullResult, count);
+            return playerResponse(playerName, roleResponse, webRequest);
 
         } catch (Exception e) {
             log.error("라인별 추천 API 오류", e);
@@ -166,6 +203,24 @@ public class DynamicRecommendationController {
         }
     }
 
+    private Map<String, Object> buildRoleResponse(String role, ChampionRecommendationResult fullResult, int count) {
+        // 라인별 필터링
+        List<ChampionRecommendation> roleFiltered = fullResult.getRecommendations().stream()
+                .filter(rec -> role.equalsIgnoreCase(rec.getPrimaryRole()))
+                .limit(count)
+                .collect(Collectors.toList());
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("role", role.toUpperCase());
+        response.put("champions", roleFiltered.stream()
+                .map(this::convertToSimpleChampion)
+                .collect(Collectors.toList()));
+        response.put("totalCount", roleFiltered.size());
+        response.put("message", String.format("%s 라인 추천 챔피언 %d개를 찾았습니다!",
+                getRoleKorean(role), roleFiltered.size()));
+        return response;
+    }
+
     /**
      * 🔄 피드백 수집 API
      */
@@ -210,7 +265,7 @@ public class DynamicRecommendationController {
                     .aiEngineStatus("ACTIVE")
                     .build();
 
-            return ResponseEntity.ok(health);
+            return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(health);
 
         } catch (Exception e) {
             log.error("시스템 상태 확인 오류", e);
@@ -229,35 +284,30 @@ public class DynamicRecommendationController {
 
     /**
      * 🔍 추천 통계 API
+     * timeRange: 30m, 1h, 24h 형식 (없거나 잘못된 값이면 보관 중인 전체 구간)
      */
     @GetMapping("/stats")
     public ResponseEntity<Map<String, Object>> getRecommendationStats(
             @RequestParam(required = false) String timeRange) {
 
         try {
+            RecommendationStatsService.StatsSnapshot snapshot = statsService.snapshot(parseTimeRange(timeRange));
             Map<String, Object> stats = new HashMap<>();
 
-            // 시뮬레이션 통계 데이터
-            stats.put("totalRecommendations", 15420);
-            stats.put("activeUsers", 3280);
-            stats.put("avgConfidenceScore", 0.847);
-            stats.put("topRecommendedChampions", Arrays.asList(
-                    Map.of("name", "Jinx", "count", 892),
-                    Map.of("name", "Yasuo", "count", 756),
-                    Map.of("name", "Thresh", "count", 683),
-                    Map.of("name", "Lee Sin", "count", 621),
-                    Map.of("name", "Ahri", "count", 598)
-            ));
-            stats.put("roleDistribution", Map.of(
-                    "ADC", 20.5,
-                    "MID", 19.8,
-                    "SUPPORT", 18.2,
-                    "JUNGLE", 21.1,
-                    "TOP", 20.4
-            ));
+            stats.put("totalRecommendations", snapshot.requests());
+            stats.put("activeUsers", snapshot.activeUsers());
+            stats.put("avgConfidenceScore", snapshot.avgConfidence());
+            stats.put("topRecommendedChampions", snapshot.topChampions().stream()
+                    .map(champion -> Map.of("name", champion.name(), "count", champion.count()))
+                    .collect(Collectors.toList()));
+            stats.put("roleDistribution", snapshot.roleDistribution());
+            stats.put("recommendedChampions", snapshot.recommendedChampions());
+            stats.put("windowMinutes", snapshot.window().toMinutes());
+            stats.put("allTimeRecommendations", snapshot.allTimeRequests());
+            stats.put("collectingSince", snapshot.collectingSince());
             stats.put("lastUpdated", LocalDateTime.now());
 
-            return ResponseEntity.ok(stats);
+            return ResponseEntity.ok().cacheControl(STATS_CACHE).body(stats);
 
         } catch (Exception e) {
             log.error("통계 API 오류", e);
@@ -267,6 +317,114 @@ public class DynamicRecommendationController {
 
     // ===== 유틸리티 메서드들 =====
 
+    private boolean isAnonymous(String playerName) {
+        return playerName == null || playerName.trim().isEmpty();
+    }
+
+    /**
+     * 활성 사용자 집계용 키 (플레이어 이름, 없으면 클라이언트 주소)
+     */
+    private String statsUserKey(String playerName, WebRequest webRequest) {
+        if (!isAnonymous(playerName)) {
+            return playerName;
+        }
+        return webRequest instanceof ServletWebRequest servletRequest
+                ? servletRequest.getRequest().getRemoteAddr()
+                : null;
+    }
+
+    private Duration parseTimeRange(String timeRange) {
+        Duration max = statsService.maxWindow();
+        if (timeRange == null || !timeRange.strip().matches("\\d{1,4}[mhd]")) {
+            return max;
+        }
+        String value = timeRange.strip();
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        Duration requested = switch (value.charAt(value.length() - 1)) {
+            case 'm' -> Duration.ofMinutes(amount);
+            case 'h' -> Duration.ofHours(amount);
+            default -> Duration.ofDays(amount);
+        };
+        return requested.compareTo(max) > 0 ? max : requested;
+    }
+
+    /**
+     * 익명 응답: 미리 직렬화된 바이트 그대로, ETag는 그 바이트의 해시 (강한 ETag)
+     * 폴백(챔피언 없음/실패)은 ETag 없이 no-store
+     */
+    private ResponseEntity<?> anonymousResponse(AnonymousRecommendationPayloadCache.RenderedPayload payload,
+                                                WebRequest webRequest) {
+        if (payload.fallback()) {
+            return jsonBytes(payload.body(), ConditionalResponses.NO_STORE, null);
+        }
+        String etag = ConditionalResponses.strongEtag(payload.body());
+        if (ConditionalResponses.matches(webRequest, etag)) {
+            return ConditionalResponses.notModified(etag, ANONYMOUS_CACHE);
+        }
+        statsService.record(statsUserKey(null, webRequest), payload.champions());
+        return jsonBytes(payload.body(), ANONYMOUS_CACHE, etag);
+    }
+
+    /**
+     * 플레이어 응답: 생성 시각(timestamp)이 매번 달라 바이트가 고정되지 않으므로
+     * timestamp를 뺀 내용으로 약한 ETag 생성, 폴백은 ETag 없이 no-store
+     */
+    private ResponseEntity<?> playerResponse(String playerName, Map<String, Object> response, WebRequest webRequest)
+            throws JsonProcessingException {
+        if (AnonymousRecommendationPayloadCache.isFallback(response)) {
+            return ResponseEntity.ok().cacheControl(ConditionalResponses.NO_STORE).body(response);
+        }
+        Map<String, Object> content = new HashMap<>(response);
+        content.remove("timestamp");
+        String etag = ConditionalResponses.weakEtag(objectMapper.writeValueAsBytes(content));
+        if (ConditionalResponses.matches(webRequest, etag)) {
+            return ConditionalResponses.notModified(etag, PLAYER_CACHE);
+        }
+        statsService.recordRendered(statsUserKey(playerName, webRequest), response);
+        return ResponseEntity.ok().eTag(etag).cacheControl(PLAYER_CACHE).body(response);
+    }
+
+    /**
+     * 추천 결과 응답: 추천이 하나도 없으면(폴백) 재검증 대상이 되지 않게 ETag 없이 no-store
+     */
+    private ResponseEntity<ChampionRecommendationResult> resultResponse(ChampionRecommendationResult result,
+                                                                        String etag, CacheControl cacheControl) {
+        if (result.getRecommendations() == null || result.getRecommendations().isEmpty()) {
+            return ResponseEntity.ok().cacheControl(ConditionalResponses.NO_STORE).body(result);
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(cacheControl).body(result);
+    }
+
+    /**
+     * 미리 직렬화된 JSON을 변환 없이 그대로 응답
+     */
+    private ResponseEntity<byte[]> jsonBytes(byte[] payload, CacheControl cacheControl, String etag) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .contentLength(payload.length)
+                .cacheControl(cacheControl);
+        if (etag != null) {
+            builder.eTag(etag);
+        }
+        return builder.body(payload);
+    }
+
+    /**
+     * 🏷️ 응답을 결정하는 값들로 ETag 생성 (/player, /puuid: 본문을 만들기 전에 비교)
+     * 메타 스냅샷 버전 + 플레이어 데이터 버전이 같으면 같은 내용으로 봄
+     * 본문의 생성 시각(generatedAt)은 매번 다르므로 약한 ETag
+     */
+    private String etagFor(String endpoint, String playerName, Object... params) {
+        String playerKey = isAnonymous(playerName) ? "" : playerName.strip();
+        return ConditionalResponses.weakEtag(
+                endpoint,
+                playerKey,
+                Arrays.toString(params),
+                championDataService.getMetaSnapshot().version(),
+                playerDataVersions.currentVersion(playerKey)
+        );
+    }
+
     /**
      * 플레이어 이름으로 최근 매치 조회
      * 기존 SummonerService와 연동
@@ -284,12 +442,23 @@ public class DynamicRecommendationController {
         }
     }
 
+    /**
+     * SummonerService를 통한 최근 매치 ID 조회
+     */
+    private List<String> getMatchIdsFromSummonerService(String puuid) {
+        try {
+            return summonerService.getMatchHistory(puuid);
+        } catch (Exception e) {
+            log.error("SummonerService 매치 ID 조회 실패: " + puuid, e);
+            return List.of();
+        }
+    }
+
     /**
      * SummonerService를 통한 매치 조회
      */
-    private List<MatchDto> getMatchesFromSummonerService(String puuid) {
+    private List<MatchDto> getMatchDetailsFromSummonerService(String puuid, List<String> matchIds) {
         try {
-            List<String> matchIds = summonerService.getMatchHistory(puuid);
             return matchIds.stream()
                     .map(summonerService::getMatchDetails)
                     .filter(match -> match != null)
@@ -0,0 +1,56 @@
+package com.lol.lol.controller;
+
+import com.lol.lol.tracing.TraceStore;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+
+/**
+ * 🔭 최근 요청 중 가장 느린 트레이스 조회 (구간 트리)
+ * 예: /internal/traces?limit=5&name=/result
+ * 요청 경로/플레이어 이름이 그대로 담기므로 로컬(같은 호스트)에서 직접 온 요청에만 응답
+ * 원격이거나 프록시를 거친 요청(X-Forwarded-For)에는 엔드포인트가 없는 것처럼 404
+ */
+@RestController
+@RequestMapping("/internal/traces")
+@RequiredArgsConstructor
+public class InternalTraceController {
+
+    private static final int MAX_LIMIT = 50;
+
+    private final TraceStore traceStore;
+
+    @GetMapping
+    public ResponseEntity<List<TraceStore.TraceView>> slowestTraces(
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(required = false) String name,
+            HttpServletRequest request) {
+        if (!isLocal(request)) {
+            return ResponseEntity.notFound().build();
+        }
+        int boundedLimit = Math.max(1, Math.min(limit, MAX_LIMIT));
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noStore())
+                .body(traceStore.slowest(boundedLimit, name));
+    }
+
+    private boolean isLocal(HttpServletRequest request) {
+        if (request.getHeader("X-Forwarded-For") != null || request.getHeader("Forwarded") != null) {
+            return false;
+        }
+        try {
+            return InetAddress.getByName(request.getRemoteAddr()).isLoopbackAddress();
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.lol.lol.controller;
+
+import com.lol.lol.service.RiotIdSearchIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 🔤 Riot ID 자동완성 API
+ * 검색창(intro.html)에서 키 입력마다 호출, 메모리 색인만 조회하므로 외부 호출 없음
+ */
+@RestController
+@RequestMapping("/api/riot-id")
+@RequiredArgsConstructor
+public class RiotIdSuggestController {
+
+    private static final int MAX_QUERY_LENGTH = 64;
+    private static final int MAX_LIMIT = 20;
+
+    private final RiotIdSearchIndex riotIdSearchIndex;
+
+    @GetMapping("/suggest")
+    public ResponseEntity<Map<String, Object>> suggest(@RequestParam(defaultValue = "") String q,
+                                                       @RequestParam(defaultValue = "8") int limit) {
+        String query = q.length() > MAX_QUERY_LENGTH ? q.substring(0, MAX_QUERY_LENGTH) : q;
+        List<RiotIdSearchIndex.Suggestion> suggestions =
+                riotIdSearchIndex.suggest(query, Math.max(1, Math.min(limit, MAX_LIMIT)));
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("query", query);
+        response.put("suggestions", suggestions);
+
+        // 같은 검색어는 잠깐 브라우저 캐시 사용 (지웠다 다시 치는 경우)
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(Duration.ofSeconds(30)).cachePrivate())
+                .body(response);
+    }
+}
@@ -2,32 +2,58 @@ package com.lol.lol.controller;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lol.lol.deadline.DeadlineContext;
 import com.lol.lol.dto.AccountrDto;
 import com.lol.lol.dto.LeagueDto;
 import com.lol.lol.dto.MatchDto;
+import com.lol.lol.dto.PlayerSnapshot;
+import com.lol.lol.dto.RiotIdentity;
 import com.lol.lol.dto.SummonerDto;
+import com.lol.lol.service.PlayerDataVersionRegistry;
+import com.lol.lol.service.RiotDataStore;
+import com.lol.lol.service.RiotIdentityDirectory;
+import com.lol.lol.service.RiotNegativeCache;
+import com.lol.lol.service.SearchResultCache;
 import com.lol.lol.service.SummonerService;
 import lombok.RequiredArgsConstructor;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
 
 import java.io.UnsupportedEncodingException;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
+@Slf4j
 @RequiredArgsConstructor
 @Controller
 public class SearchController {
 
     private final SummonerService SummonerService;
     private final ObjectMapper ObjectMapper;
-    private String API_KEY ="RGAPI-5c52c789-49d2-4d3e-bd4b-3723033caef3";
+    private final PlayerDataVersionRegistry playerDataVersions;
+    private final SearchResultCache searchResultCache;
+    private final RiotDataStore riotDataStore;
+    private final RiotIdentityDirectory riotIdentityDirectory;
+    private final RiotNegativeCache riotNegativeCache;
+
+    private static final DateTimeFormatter DATA_AS_OF_FORMAT =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm").withZone(ZoneId.of("Asia/Seoul"));
 
 //    public SearchController(SummonerService SummonerService){
 //        this.SummonerService = SummonerService;
@@ -36,11 +62,10 @@ public class SearchController {
     @GetMapping("/")
     String home(Model model){
         try {
-            System.out.println("=== 인트로 페이지 접근 ===");
+            log.debug("인트로 페이지 접근");
             return "intro"; // templates/intro.html
         } catch (Exception e) {
-            System.out.println("❌ 인트로 페이지 오류: " + e.getMessage());
-            e.printStackTrace();
+            log.error("❌ 인트로 페이지 오류", e);
             return "error";
         }
     }
@@ -54,11 +79,10 @@ public class SearchController {
     @GetMapping("/search")
     String search(Model model){
         try {
-            System.out.println("=== 전적검색 페이지 접근 ===");
+            log.debug("전적검색 페이지 접근");
             return "home"; // 전적검색 폼 페이지 (home.html)
         } catch (Exception e) {
-            System.out.println("❌ 전적검색 페이지 오류: " + e.getMessage());
-            e.printStackTrace();
+            log.error("❌ 전적검색 페이지 오류", e);
             return "error";
         }
     }
@@ -66,71 +90,52 @@ public class SearchController {
     @PostMapping("/result")
     public String searchName(String gameName, String tagLine, Model model) throws UnsupportedEncodingException, JsonProcessingException {
 
-        System.out.println("======= 입력값 확인 =======");
-        System.out.println("gameName: " + gameName);
-        System.out.println("tagLine: " + tagLine);
-        System.out.println("==========================");
-        System.out.println("gameName: " + gameName + " tagLine: " + tagLine);
+        log.info("전적 검색 요청 - gameName: {}, tagLine: {}", gameName, tagLine);
 
-        // 최신 버전 가져오기
-        String latestVersion = SummonerService.getLatestVersion();
-        System.out.println("ㅋㅋㅋ: " + latestVersion);
-        model.addAttribute("version", latestVersion);
-
-        //소환사이름과 태그 검색
-        String result = SummonerService.getAccountUrl(gameName, tagLine);
-
-        // 입력된 값들을 디코딩 (디코딩이 필요한 경우에만)
-        String decodedGameName = URLDecoder.decode(gameName, StandardCharsets.UTF_8.toString());
-        String decodedTagLine = URLDecoder.decode(tagLine, StandardCharsets.UTF_8.toString());
-
-        // 디코딩된 값을 모델에 추가
-        model.addAttribute("gameName", decodedGameName);
-        model.addAttribute("tagLine", decodedTagLine);
-        model.addAttribute("result", result);
-
-        AccountrDto accountrDto = ObjectMapper.readValue(result, AccountrDto.class);
-        model.addAttribute("apiResult", accountrDto);
-
-        //puuid 가져오기
-        String puuid = accountrDto.getPuuid();
-        System.out.println("puuid: " + puuid);
-        String SummonerResult = SummonerService.getSummoner(puuid);
-        SummonerDto summonerDto = ObjectMapper.readValue(SummonerResult, SummonerDto.class);
-        model.addAttribute("userdata", summonerDto);
-        model.addAttribute("SummonerResult", SummonerResult);
-
-        //티어, 승/패 가져오기
-        String id = summonerDto.getId();
-        System.out.println("id: " + id);
-        List<LeagueDto> leagueDtoList = SummonerService.getLeaguePoint(id);
-        // 디버깅용 로그 출력
-        System.out.println("LeagueDtoList size: " + leagueDtoList.size());
-        // 모델에 추가
-        model.addAttribute("LeagueList", leagueDtoList);
-
-        String puuid2 = summonerDto.getPuuid();
-        System.out.println("puuid2: " + puuid2);
-        String puuid1 = new ObjectMapper().readTree(result).get("puuid").asText();
-        System.out.println("puuid1: "+ puuid1);
-
-        List<String> matchIdList = SummonerService.getMatches(puuid);
-        model.addAttribute("matchid", matchIdList);
-
-        List<String> matchIds = SummonerService.getMatchHistory(puuid);
-        List<MatchDto> matchDataList = new ArrayList<>();
+        // 최근에 같은 Riot ID를 검색했다면 외부 호출 없이 바로 렌더링
+        Optional<Map<String, Object>> cached = searchResultCache.get(gameName, tagLine);
+        if (cached.isPresent()) {
+            model.addAllAttributes(cached.get());
+            return "result";
+        }
 
-        for (String matchId : matchIds) {
-            System.out.println("매치 ID: " + matchId);
-            MatchDto matchData = SummonerService.getMatchDetails(matchId);
+        // Riot 장애/한도 초과 중이면 실시간 조회 없이 마지막으로 저장된 데이터로 표시
+        if (riotDataStore.isRiotDegraded()) {
+            Optional<PlayerSnapshot> stored = riotDataStore.findPlayer(gameName, tagLine);
+            if (stored.isPresent()) {
+                riotDataStore.recordStaleServe("circuit_open");
+                log.warn("⚠️ Riot API 장애 모드, {} 기준 저장 데이터로 표시: {}#{}",
+                        stored.get().getFetchedAt(), gameName, tagLine);
+                renderSnapshot(stored.get(), true, model);
+                return "result";
+            }
+        }
 
-            if (matchData != null) {
-                matchDataList.add(matchData);
+        PlayerSnapshot snapshot;
+        try {
+            snapshot = fetchLiveSnapshot(gameName, tagLine);
+        } catch (RestClientException e) {
+            Optional<PlayerSnapshot> stored = isRiotOutage(e)
+                    ? riotDataStore.findPlayer(gameName, tagLine)
+                    : Optional.empty();
+            if (stored.isEmpty()) {
+                throw e;
             }
+            riotDataStore.recordStaleServe("live_failed");
+            log.warn("⚠️ Riot 조회 실패, {} 기준 저장 데이터로 표시: {}#{} ({})",
+                    stored.get().getFetchedAt(), gameName, tagLine, e.getMessage());
+            renderSnapshot(stored.get(), true, model);
+            return "result";
         }
 
-        // 최적화: 리스트 한 번에 추가
-        model.addAttribute("matchDataList", matchDataList);
+        riotDataStore.savePlayer(snapshot);
+        playerDataVersions.recordMatchIds(
+                List.of(snapshot.getPuuid(), snapshot.getGameName(), snapshot.getGameName() + "#" + snapshot.getTagLine()),
+                snapshot.getMatchIds());
+
+        if (renderSnapshot(snapshot, false, model)) {
+            searchResultCache.put(gameName, tagLine, model.asMap());
+        }
 
 //        List<PlayerKDA> matchKDAList = new ArrayList<>();
 
@@ -161,15 +166,130 @@ public class SearchController {
         return "result";
     }
 
+    /**
+     * 🔎 Riot에서 계정 → 소환사 → 리그 → 매치 ID 순으로 조회
+     * 식별 디렉토리에서 puuid/소환사 ID를 알고 있으면 계정·소환사 조회는 건너뜀
+     */
+    private PlayerSnapshot fetchLiveSnapshot(String gameName, String tagLine)
+            throws UnsupportedEncodingException, JsonProcessingException {
+        AccountrDto account;
+        SummonerDto summoner;
+        Optional<RiotIdentity> known = riotIdentityDirectory.resolve(gameName, tagLine);
+
+        if (known.isPresent()) {
+            account = known.get().toAccountDto();
+            summoner = known.get().toSummonerDto();
+            log.debug("식별 디렉토리 적중, 계정/소환사 조회 생략: {}", account.getPuuid());
+        } else {
+            //소환사이름과 태그 검색
+            account = ObjectMapper.readValue(SummonerService.getAccountUrl(gameName, tagLine), AccountrDto.class);
+
+            //puuid 가져오기
+            log.debug("puuid: {}", account.getPuuid());
+            summoner = ObjectMapper.readValue(SummonerService.getSummoner(account.getPuuid()), SummonerDto.class);
+            riotIdentityDirectory.record(account, summoner);
+        }
+        String puuid = account.getPuuid();
+
+        //티어, 승/패 가져오기 (최근에 언랭크였으면 생략)
+        List<LeagueDto> leagues;
+        if (riotNegativeCache.isUnranked(gameName, tagLine)) {
+            leagues = List.of();
+        } else {
+            leagues = SummonerService.getLeaguePoint(summoner.getId());
+            log.debug("리그 정보 {}건 - summonerId: {}", leagues.size(), summoner.getId());
+            if (leagues.isEmpty()) {
+                riotNegativeCache.recordUnranked(gameName, tagLine);
+            }
+        }
+
+        // 입력된 값들을 디코딩 (디코딩이 필요한 경우에만)
+        return PlayerSnapshot.builder()
+                .gameName(URLDecoder.decode(gameName, StandardCharsets.UTF_8))
+                .tagLine(URLDecoder.decode(tagLine, StandardCharsets.UTF_8))
+                .puuid(puuid)
+                .accountJson(ObjectMapper.writeValueAsString(account))
+                .summonerJson(ObjectMapper.writeValueAsString(summoner))
+                .leagues(leagues)
+                .matchIds(SummonerService.getMatches(puuid))
+                .fetchedAt(Instant.now())
+                .build();
+    }
+
+    /**
+     * 🖼️ 스냅샷으로 검색 화면 모델 구성, 매치를 하나도 빠짐없이 채웠으면 true
+     * stale이면 매치 상세도 로컬 저장소에서만 꺼내고 "○○ 기준" 표시를 붙임
+     */
+    private boolean renderSnapshot(PlayerSnapshot snapshot, boolean stale, Model model) throws JsonProcessingException {
+        // 최신 버전 가져오기
+        String latestVersion = SummonerService.getLatestVersion();
+        log.debug("최신 버전: {}", latestVersion);
+        model.addAttribute("version", latestVersion);
+
+        model.addAttribute("gameName", snapshot.getGameName());
+        model.addAttribute("tagLine", snapshot.getTagLine());
+        model.addAttribute("result", snapshot.getAccountJson());
+        model.addAttribute("apiResult", ObjectMapper.readValue(snapshot.getAccountJson(), AccountrDto.class));
+        model.addAttribute("userdata", ObjectMapper.readValue(snapshot.getSummonerJson(), SummonerDto.class));
+        model.addAttribute("SummonerResult", snapshot.getSummonerJson());
+        model.addAttribute("LeagueList", snapshot.getLeagues());
+        model.addAttribute("matchid", snapshot.getMatchIds());
+
+        List<MatchDto> matchDataList = new ArrayList<>();
+        boolean complete = true;
+
+        for (String matchId : snapshot.getMatchIds()) {
+            // 요청 예산을 다 썼으면 남은 매치는 건너뛰고 받은 만큼만 보여줌
+            if (DeadlineContext.isExpired()) {
+                log.warn("⏳ 요청 예산 소진, 매치 {}/{}건만 표시", matchDataList.size(), snapshot.getMatchIds().size());
+                complete = false;
+                break;
+            }
+            log.debug("매치 ID: {}", matchId);
+            MatchDto matchData = stale
+                    ? riotDataStore.findMatch(matchId).orElse(null)
+                    : SummonerService.getMatchDetails(matchId);
+
+            if (matchData != null) {
+                matchDataList.add(matchData);
+            } else {
+                // 거절/실패로 빠진 매치가 있으면 부분 결과 → 검색 결과 캐시에 넣지 않음
+                complete = false;
+            }
+        }
+
+        // 최적화: 리스트 한 번에 추가
+        model.addAttribute("matchDataList", matchDataList);
+
+        if (stale) {
+            model.addAttribute("dataAsOf", DATA_AS_OF_FORMAT.format(snapshot.getFetchedAt()));
+        }
+        return complete;
+    }
+
+    private boolean isRiotOutage(RestClientException e) {
+        // 4xx는 요청 자체의 문제(없는 Riot ID 등)라 저장 데이터로 덮지 않음, 429(한도 초과)만 예외
+        return !(e instanceof HttpClientErrorException clientError)
+                || clientError.getStatusCode().value() == 429;
+    }
+
+    /**
+     * 🚦 혼잡 안내 페이지 (입장 제어 필터가 포워드)
+     */
+    @RequestMapping("/busy")
+    public String busy(Model model, HttpServletResponse response) {
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        model.addAttribute("error", "지금 검색 요청이 많아요. 잠시 후 다시 시도해주세요.");
+        return "error";
+    }
+
     // 개인화 페이지 라우팅 추가
     @GetMapping("/personal")
     public String personalPage(@RequestParam String gameName,
                                @RequestParam String tagLine,
                                Model model) {
         try {
-            System.out.println("======= 개인화 페이지 접근 =======");
-            System.out.println("gameName: " + gameName);
-            System.out.println("tagLine: " + tagLine);
+            log.info("개인화 페이지 접근 - gameName: {}, tagLine: {}", gameName, tagLine);
 
             // 기본 데이터만 모델에 추가
             model.addAttribute("gameName", gameName);
@@ -178,8 +298,7 @@ public class SearchController {
             return "personal"; // personal.html로 이동
 
         } catch (Exception e) {
-            System.out.println("개인화 페이지 오류: " + e.getMessage());
-            e.printStackTrace();
+            log.error("개인화 페이지 오류", e);
             return "redirect:/"; // 오류시 홈으로
         }
     }
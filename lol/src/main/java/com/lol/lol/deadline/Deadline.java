@@ -0,0 +1,35 @@
+package com.lol.lol.deadline;
+
+import java.time.Duration;
+
+/**
+ * ⏳ 요청 전체에 주어진 시간 예산의 마감 시각 (System.nanoTime 기준)
+ */
+public record Deadline(long expiresAtNanos) {
+
+    public static Deadline after(Duration budget) {
+        return new Deadline(System.nanoTime() + budget.toNanos());
+    }
+
+    public long remainingNanos() {
+        return Math.max(0, expiresAtNanos - System.nanoTime());
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(remainingNanos());
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() == 0;
+    }
+
+    /**
+     * 둘 중 먼저 끝나는 마감 (하위 작업이 자기 예산을 가질 때)
+     */
+    public Deadline earlierOf(Deadline other) {
+        if (other == null) {
+            return this;
+        }
+        return expiresAtNanos - other.expiresAtNanos <= 0 ? this : other;
+    }
+}
@@ -0,0 +1,56 @@
+package com.lol.lol.deadline;
+
+import com.lol.lol.metrics.UpstreamObservationConvention;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+
+/**
+ * ⏳ 호출마다 남은 요청 예산으로 타임아웃을 정하는 요청 팩토리
+ * - 타임아웃 = min(남은 예산, 최대 타임아웃), 마감이 없으면 최대 타임아웃
+ * - 남은 예산이 최소 타임아웃보다 적으면 호출하지 않고 DeadlineExceededException (빨리 실패 → 대체 응답)
+ * JDK HttpClient는 그대로 공유하고 요청마다 타임아웃만 다르게 설정
+ * 격벽 대기가 끝난 뒤 요청을 만들 때 검사하므로 대기 중에 예산이 끝난 경우도 걸러짐
+ */
+@Slf4j
+public class DeadlineAwareRequestFactory implements ClientHttpRequestFactory {
+
+    private final HttpClient httpClient;
+    private final Executor executor;
+    private final Duration maxTimeout;
+    private final Duration minTimeout;
+    private final MeterRegistry meterRegistry;
+
+    public DeadlineAwareRequestFactory(HttpClient httpClient, Executor executor,
+                                       Duration maxTimeout, Duration minTimeout, MeterRegistry meterRegistry) {
+        this.httpClient = httpClient;
+        this.executor = executor;
+        this.maxTimeout = maxTimeout;
+        this.minTimeout = minTimeout;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) throws IOException {
+        Duration timeout = DeadlineContext.remainingOr(maxTimeout);
+        if (timeout.compareTo(minTimeout) < 0) {
+            String upstream = UpstreamObservationConvention.upstreamOf(uri);
+            meterRegistry.counter("upstream.deadline.exceeded", "upstream", upstream).increment();
+            log.warn("⏳ 요청 예산 소진으로 {} 호출 생략", upstream);
+            throw new DeadlineExceededException(upstream);
+        }
+
+        JdkClientHttpRequestFactory delegate = new JdkClientHttpRequestFactory(httpClient, executor);
+        delegate.setReadTimeout(timeout);
+        return delegate.createRequest(uri, httpMethod);
+    }
+}
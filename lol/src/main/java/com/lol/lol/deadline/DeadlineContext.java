@@ -0,0 +1,124 @@
+package com.lol.lol.deadline;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ⏳ 현재 스레드의 요청 마감 시각
+ * TraceContext와 같이 ScopedValue(Java 23에서는 preview) 방식으로 씀: 열고 → 실행 → 이전 값 복원
+ * 다른 스레드로 넘어갈 때는 wrap()/propagating()으로 제출 시점의 마감을 명시적으로 넘김
+ * 마감이 없으면(스케줄러 등) 외부 호출은 기본 최대 타임아웃만 적용
+ */
+public final class DeadlineContext {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private DeadlineContext() {
+    }
+
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    public static boolean isExpired() {
+        Deadline deadline = CURRENT.get();
+        return deadline != null && deadline.isExpired();
+    }
+
+    /**
+     * 남은 예산 (마감이 없으면 fallback)
+     */
+    public static Duration remainingOr(Duration fallback) {
+        Deadline deadline = CURRENT.get();
+        if (deadline == null) {
+            return fallback;
+        }
+        Duration remaining = deadline.remaining();
+        return remaining.compareTo(fallback) < 0 ? remaining : fallback;
+    }
+
+    /**
+     * 마감을 현재 스레드에 연결, 반환된 Scope를 닫으면 이전 마감으로 복원
+     */
+    public static Scope open(Deadline deadline) {
+        Deadline previous = CURRENT.get();
+        CURRENT.set(deadline);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    /**
+     * 제출 시점의 마감을 작업 실행 스레드로 넘기는 Runnable
+     */
+    public static Runnable wrap(Runnable task) {
+        Deadline captured = CURRENT.get();
+        if (captured == null) {
+            return task;
+        }
+        return () -> {
+            try (Scope ignored = open(captured)) {
+                task.run();
+            }
+        };
+    }
+
+    /**
+     * 모든 작업에 현재 마감을 넘기는 ExecutorService
+     */
+    public static ExecutorService propagating(ExecutorService delegate) {
+        return new PropagatingExecutorService(delegate);
+    }
+
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static final class PropagatingExecutorService extends AbstractExecutorService {
+
+        private final ExecutorService delegate;
+
+        private PropagatingExecutorService(ExecutorService delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            delegate.execute(wrap(command));
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.lol.lol.deadline;
+
+import com.lol.lol.upstream.UpstreamRejectedException;
+
+/**
+ * ⏳ 요청 예산을 다 써서 외부 호출을 시작하지 않음
+ */
+public class DeadlineExceededException extends UpstreamRejectedException {
+
+    public DeadlineExceededException(String target) {
+        super("요청 시간 예산 초과로 외부 호출 생략: " + target);
+    }
+}
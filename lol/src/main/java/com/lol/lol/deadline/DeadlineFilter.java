@@ -0,0 +1,48 @@
+package com.lol.lol.deadline;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * ⏳ 요청이 들어오면 전체 시간 예산(마감)을 정해 요청 스레드에 연결
+ * 입장 대기 시간도 예산에 포함되도록 입장 제어 필터보다 먼저 실행
+ * SSE 스트림은 응답을 돌려준 뒤 별도 스레드에서 진행되므로 컨트롤러가 스트림 제한 시간으로 직접 엶
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 15)
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    private final Duration requestBudget;
+
+    public DeadlineFilter(@Value("${request.deadline.default-ms:10000}") long requestBudgetMs) {
+        this.requestBudget = Duration.ofMillis(requestBudgetMs);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return path.startsWith("/actuator")
+                || path.startsWith("/css/")
+                || path.startsWith("/js/")
+                || path.startsWith("/images/")
+                || path.equals("/favicon.ico");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try (DeadlineContext.Scope ignored = DeadlineContext.open(Deadline.after(requestBudget))) {
+            chain.doFilter(request, response);
+        }
+    }
+}
@@ -261,6 +261,30 @@ public class ParticipantDto {
         this.puuid = puuid;
     }
 
+    public String getSummonerId() {
+        return summonerId;
+    }
+
+    public void setSummonerId(String summonerId) {
+        this.summonerId = summonerId;
+    }
+
+    public int getProfileIcon() {
+        return profileIcon;
+    }
+
+    public void setProfileIcon(int profileIcon) {
+        this.profileIcon = profileIcon;
+    }
+
+    public int getSummonerLevel() {
+        return summonerLevel;
+    }
+
+    public void setSummonerLevel(int summonerLevel) {
+        this.summonerLevel = summonerLevel;
+    }
+
     public int getTeamId() {
         return teamId;
     }
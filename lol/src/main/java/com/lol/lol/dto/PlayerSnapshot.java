@@ -0,0 +1,29 @@
+package com.lol.lol.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 📦 전적 검색에 쓰인 Riot 데이터의 마지막 스냅샷 (Riot 장애 시 이 값으로 화면 구성)
+ * 계정/소환사는 Riot 응답 JSON 그대로, 매치 상세는 matchId로 따로 저장 (여러 플레이어가 공유)
+ * 파일로 저장되므로 기본 생성자 필요
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlayerSnapshot {
+    private String gameName;
+    private String tagLine;
+    private String puuid;
+    private String accountJson;
+    private String summonerJson;
+    private List<LeagueDto> leagues;
+    private List<String> matchIds;
+    private Instant fetchedAt;
+}
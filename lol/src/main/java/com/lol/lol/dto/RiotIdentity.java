@@ -0,0 +1,43 @@
+package com.lol.lol.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 🪪 한 플레이어의 식별 정보 (Riot ID ↔ puuid ↔ 소환사 ID)
+ * puuid는 바뀌지 않고 Riot ID만 가끔 바뀜 → observedAt(그 이름을 확인한 시각, epoch ms)이 더 최근일 때만 이름 갱신
+ * 파일로 저장되므로 기본 생성자 필요
+ * 디렉토리에 들어간 인스턴스는 여러 스레드가 잠금 없이 읽으므로 고치지 않음 → 바꿀 때는 toBuilder()로 사본을 만들어 저장
+ */
+@Data
+@Builder(toBuilder = true)
+@NoArgsConstructor
+@AllArgsConstructor
+public class RiotIdentity {
+    private String puuid;
+    private String summonerId;
+    private String gameName;
+    private String tagLine;
+    private int profileIconId;
+    private Long summonerLevel;
+    private long observedAt;
+
+    public AccountrDto toAccountDto() {
+        AccountrDto account = new AccountrDto();
+        account.setPuuid(puuid);
+        account.setGameName(gameName);
+        account.setTagLine(tagLine);
+        return account;
+    }
+
+    public SummonerDto toSummonerDto() {
+        SummonerDto summoner = new SummonerDto();
+        summoner.setId(summonerId);
+        summoner.setPuuid(puuid);
+        summoner.setProfileIconId(profileIconId);
+        summoner.setSummonerLevel(summonerLevel);
+        return summoner;
+    }
+}
@@ -16,6 +16,20 @@ import java.util.Map;
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
+    /**
+     * 🔍 없는 Riot ID (오타 등 흔한 입력이라 스택 트레이스 없이 한 줄만 기록)
+     */
+    @ExceptionHandler(RiotIdNotFoundException.class)
+    public ModelAndView handleRiotIdNotFoundException(RiotIdNotFoundException e) {
+        log.info("Riot ID 없음: {}", e.getRiotId());
+
+        ModelAndView mav = new ModelAndView("error");
+        mav.setStatus(HttpStatus.NOT_FOUND);
+        mav.addObject("error", "'" + e.getRiotId() + "' 소환사를 찾을 수 없어요. 게임 이름과 태그를 확인해주세요.");
+
+        return mav;
+    }
+
     /**
      * 🚨 AI API 관련 예외 처리
      */
@@ -0,0 +1,24 @@
+package com.lol.lol.exception;
+
+/**
+ * 🔍 Riot에 없는 Riot ID (계정 API 404 또는 최근에 404였던 Riot ID)
+ * 오타/없는 이름은 흔한 입력이라 장애가 아님 → 스택 트레이스를 만들지 않음
+ */
+public class RiotIdNotFoundException extends RuntimeException {
+
+    private final String riotId;
+
+    public RiotIdNotFoundException(String gameName, String tagLine) {
+        super("Riot ID를 찾을 수 없음: " + gameName + "#" + tagLine);
+        this.riotId = gameName + "#" + tagLine;
+    }
+
+    public String getRiotId() {
+        return riotId;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
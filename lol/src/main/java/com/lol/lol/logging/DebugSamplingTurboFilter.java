@@ -0,0 +1,46 @@
+package com.lol.lol.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 🎲 반복되는 DEBUG/TRACE 로그 샘플링
+ * 같은 메시지 템플릿(로그 호출 위치)마다 sampleRate 건 중 1건만 통과
+ * - 템플릿 문자열의 hashCode(리터럴이라 캐시됨)로 고정 크기 카운터 배열을 나눠 씀 → 할당 없음
+ * - INFO 이상, 해당 레벨이 꺼진 로거, isDebugEnabled() 같은 확인 호출은 건드리지 않음
+ * - loggerPrefix로 시작하는 로거만 대상 (기본: 애플리케이션 패키지)
+ */
+public class DebugSamplingTurboFilter extends TurboFilter {
+
+    private static final int SLOTS = 1024;
+
+    private final AtomicLongArray counters = new AtomicLongArray(SLOTS);
+    private int sampleRate = 10;
+    private String loggerPrefix = "com.lol.lol";
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (format == null || level == null || level.isGreaterOrEqual(Level.INFO) || sampleRate <= 1) {
+            return FilterReply.NEUTRAL;
+        }
+        if (!level.isGreaterOrEqual(logger.getEffectiveLevel()) || !logger.getName().startsWith(loggerPrefix)) {
+            return FilterReply.NEUTRAL;
+        }
+
+        long seen = counters.getAndIncrement(format.hashCode() & (SLOTS - 1));
+        return seen % sampleRate == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    public void setSampleRate(int sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+}
@@ -0,0 +1,42 @@
+package com.lol.lol.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.logging.structured.StructuredLogFormatter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 📋 JSON 한 줄 로그 형식 (json 프로필)
+ * timestamp, level, thread, logger, message, mdc, exception 필드
+ * 메시지와 예외는 SecretRedactor로 API 키를 가린 뒤 기록
+ */
+public class RedactingJsonFormatter implements StructuredLogFormatter<ILoggingEvent> {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Override
+    public String format(ILoggingEvent event) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("timestamp", event.getInstant().toString());
+        json.put("level", event.getLevel().toString());
+        json.put("thread", event.getThreadName());
+        json.put("logger", event.getLoggerName());
+        json.put("message", SecretRedactor.redact(event.getFormattedMessage()));
+        if (!event.getMDCPropertyMap().isEmpty()) {
+            json.put("mdc", event.getMDCPropertyMap());
+        }
+        if (event.getThrowableProxy() != null) {
+            json.put("exception", SecretRedactor.redact(ThrowableProxyUtil.asString(event.getThrowableProxy())));
+        }
+
+        try {
+            return MAPPER.writeValueAsString(json) + "\n";
+        } catch (JsonProcessingException e) {
+            return "{\"level\":\"ERROR\",\"message\":\"로그 직렬화 실패\"}\n";
+        }
+    }
+}
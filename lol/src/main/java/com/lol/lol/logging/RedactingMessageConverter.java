@@ -0,0 +1,16 @@
+package com.lol.lol.logging;
+
+import ch.qos.logback.classic.pattern.ClassicConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * 🔒 %redactedMessage - API 키를 가린 로그 메시지
+ * 비동기 appender 뒤에서 실행되므로 정규식 비용은 요청 스레드가 아닌 로그 작업 스레드가 부담
+ */
+public class RedactingMessageConverter extends ClassicConverter {
+
+    @Override
+    public String convert(ILoggingEvent event) {
+        return SecretRedactor.redact(event.getFormattedMessage());
+    }
+}
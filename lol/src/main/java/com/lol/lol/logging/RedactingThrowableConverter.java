@@ -0,0 +1,18 @@
+package com.lol.lol.logging;
+
+import ch.qos.logback.classic.pattern.ExtendedThrowableProxyConverter;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+
+/**
+ * 🔒 %redactedEx - API 키를 가린 예외 스택 트레이스
+ * RestTemplate 예외 메시지에는 요청 URL(쿼리의 api_key 포함)이 그대로 들어감
+ * 앞에 줄바꿈을 붙여 메시지와 구분 (Spring Boot 기본 %wEx와 같은 모양)
+ */
+public class RedactingThrowableConverter extends ExtendedThrowableProxyConverter {
+
+    @Override
+    protected String throwableProxyToString(IThrowableProxy throwableProxy) {
+        String stackTrace = super.throwableProxyToString(throwableProxy);
+        return System.lineSeparator() + SecretRedactor.redact(stackTrace);
+    }
+}
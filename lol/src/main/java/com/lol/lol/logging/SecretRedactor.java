@@ -0,0 +1,58 @@
+package com.lol.lol.logging;
+
+import java.util.regex.Pattern;
+
+/**
+ * 🔒 로그 문자열에서 API 키 가리기
+ * - 쿼리 파라미터: api_key=, key=, token= 값
+ * - 키 자체: Riot(RGAPI-...), Google(AIza...)
+ * - 헤더: X-Riot-Token
+ * 키가 들어 있을 만한 문자열이 없으면 정규식 없이 그대로 반환 (대부분의 로그, 대소문자 무시로 확인)
+ */
+public final class SecretRedactor {
+
+    private static final String MASK = "***";
+
+    private static final Pattern QUERY_SECRET = Pattern.compile(
+            "(?i)([?&](?:api_key|apikey|key|token|access_token)=)[^&\\s\"'<>]+");
+    private static final Pattern RIOT_KEY = Pattern.compile("(?i)RGAPI-[0-9a-f-]{8,}");
+    private static final Pattern GOOGLE_KEY = Pattern.compile("AIza[0-9A-Za-z_\\-]{20,}");
+    private static final Pattern RIOT_TOKEN_HEADER = Pattern.compile("(?i)(X-Riot-Token[\"']?\\s*[:=]\\s*[\"']?)[^\\s\"',\\]}]+");
+
+    // 빠른 확인용 후보 문자열 (정규식이 잡는 것을 모두 포함해야 함)
+    private static final String[] NEEDLES = {"key=", "token=", "rgapi-", "aiza", "riot-token"};
+
+    private SecretRedactor() {
+    }
+
+    public static String redact(String text) {
+        if (text == null || !mayContainSecret(text)) {
+            return text;
+        }
+        String redacted = QUERY_SECRET.matcher(text).replaceAll("$1" + MASK);
+        redacted = RIOT_KEY.matcher(redacted).replaceAll("RGAPI-" + MASK);
+        redacted = GOOGLE_KEY.matcher(redacted).replaceAll("AIza" + MASK);
+        return RIOT_TOKEN_HEADER.matcher(redacted).replaceAll("$1" + MASK);
+    }
+
+    /**
+     * 대소문자 무시하고 후보 문자열이 있는지 (API_KEY=, X-RIOT-TOKEN 등도 정규식까지 가도록)
+     */
+    private static boolean mayContainSecret(String text) {
+        for (String needle : NEEDLES) {
+            if (containsIgnoreCase(text, needle)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean containsIgnoreCase(String text, String needle) {
+        for (int i = 0, last = text.length() - needle.length(); i <= last; i++) {
+            if (text.regionMatches(true, i, needle, 0, needle.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,50 @@
+package com.lol.lol.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * ⏱️ 추천/분석 파이프라인 단계별 지표
+ * - pipeline.stage: 단계별 소요 시간 (히스토그램 포함 → Prometheus에서 분위수 계산)
+ * - pipeline.fallback: 폴백으로 빠진 횟수 (어느 컴포넌트가 왜)
+ */
+@Component
+@RequiredArgsConstructor
+public class PipelineMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * 단계 하나를 실행하며 시간 측정 (예외가 나도 기록, 예외는 그대로 전파)
+     */
+    public <T> T timeStage(String pipeline, String stage, Supplier<T> work) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String result = "success";
+        try {
+            return work.get();
+        } catch (RuntimeException e) {
+            result = "error";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("pipeline.stage")
+                    .tag("pipeline", pipeline)
+                    .tag("stage", stage)
+                    .tag("result", result)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    public void fallback(String component, String reason) {
+        Counter.builder("pipeline.fallback")
+                .tag("component", component)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,114 @@
+package com.lol.lol.metrics;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.http.client.observation.ClientRequestObservationContext;
+import org.springframework.http.client.observation.DefaultClientRequestObservationConvention;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 🌐 외부 API 호출 지표 태그 규칙 (http.client.requests)
+ * 서비스들이 URL을 문자열로 이어 붙여 호출하므로 기본 규칙은 puuid, 매치 ID, API 키가 든 전체 URL을 uri 태그로 씀
+ * → 알려진 경로는 템플릿으로, 나머지는 식별자처럼 보이는 경로 조각을 {id}로 바꾸고 쿼리는 버림
+ * → upstream 태그(riot-account, riot-match, gemini, youtube, weather ...) 추가
+ */
+@Component
+public class UpstreamObservationConvention extends DefaultClientRequestObservationConvention {
+
+    private static final List<PathTemplate> KNOWN_PATHS = List.of(
+            new PathTemplate("/riot/account/v1/accounts/by-riot-id/[^/]+/[^/]+", "/riot/account/v1/accounts/by-riot-id/{gameName}/{tagLine}"),
+            new PathTemplate("/riot/account/v1/accounts/by-puuid/[^/]+", "/riot/account/v1/accounts/by-puuid/{puuid}"),
+            new PathTemplate("/lol/match/v5/matches/by-puuid/[^/]+/ids", "/lol/match/v5/matches/by-puuid/{puuid}/ids"),
+            new PathTemplate("/lol/match/v5/matches/[^/]+", "/lol/match/v5/matches/{matchId}"),
+            new PathTemplate("/lol/summoner/v4/summoners/by-puuid/[^/]+", "/lol/summoner/v4/summoners/by-puuid/{puuid}"),
+            new PathTemplate("/lol/league/v4/entries/by-summoner/[^/]+", "/lol/league/v4/entries/by-summoner/{summonerId}"),
+            new PathTemplate("/lol/league/v4/entries/by-puuid/[^/]+", "/lol/league/v4/entries/by-puuid/{puuid}"),
+            new PathTemplate("/cdn/[^/]+/data/[^/]+/([^/]+)", "/cdn/{version}/data/{locale}/$1")
+    );
+
+    // 소문자/숫자/하이픈/콜론/점으로만 된 짧은 조각은 고정 경로로 봄 (v5, matches, gemini-pro:generateContent ...)
+    private static final Pattern LITERAL_SEGMENT = Pattern.compile("[a-z][a-zA-Z0-9.:-]{0,40}");
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ClientRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context).and(upstream(context));
+    }
+
+    @Override
+    protected KeyValue uri(ClientRequestObservationContext context) {
+        URI requestUri = requestUriOf(context);
+        if (requestUri == null || requestUri.getRawPath() == null) {
+            return KeyValue.of("uri", "none");
+        }
+        return KeyValue.of("uri", normalizePath(requestUri.getRawPath()));
+    }
+
+    /**
+     * http.url(트레이싱용)에서도 쿼리(API 키 포함)는 제거
+     */
+    @Override
+    protected KeyValue requestUri(ClientRequestObservationContext context) {
+        URI requestUri = requestUriOf(context);
+        if (requestUri == null) {
+            return super.requestUri(context);
+        }
+        return KeyValue.of("http.url", requestUri.getScheme() + "://" + requestUri.getRawAuthority()
+                + normalizePath(requestUri.getRawPath() == null ? "" : requestUri.getRawPath()));
+    }
+
+    protected KeyValue upstream(ClientRequestObservationContext context) {
+        URI requestUri = requestUriOf(context);
+        return KeyValue.of("upstream", requestUri == null ? "unknown" : upstreamOf(requestUri));
+    }
+
+    public static String upstreamOf(URI uri) {
+        String host = uri.getHost() == null ? "" : uri.getHost();
+        String path = uri.getRawPath() == null ? "" : uri.getRawPath();
+
+        if (host.endsWith("api.riotgames.com")) {
+            if (path.startsWith("/riot/account")) return "riot-account";
+            if (path.startsWith("/lol/match")) return "riot-match";
+            if (path.startsWith("/lol/summoner")) return "riot-summoner";
+            if (path.startsWith("/lol/league")) return "riot-league";
+            return "riot";
+        }
+        if (host.equals("ddragon.leagueoflegends.com")) return "ddragon";
+        if (host.equals("generativelanguage.googleapis.com")) return "gemini";
+        if (host.equals("www.googleapis.com") && path.startsWith("/youtube")) return "youtube";
+        if (host.contains("weather")) return "weather";
+        return "other";
+    }
+
+    public static String normalizePath(String path) {
+        for (PathTemplate template : KNOWN_PATHS) {
+            Matcher matcher = template.pattern().matcher(path);
+            if (matcher.matches()) {
+                return matcher.replaceFirst(template.replacement());
+            }
+        }
+
+        StringBuilder normalized = new StringBuilder();
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            normalized.append('/').append(LITERAL_SEGMENT.matcher(segment).matches() ? segment : "{id}");
+        }
+        return normalized.isEmpty() ? "/" : normalized.toString();
+    }
+
+    private URI requestUriOf(ClientRequestObservationContext context) {
+        return context.getCarrier() == null ? null : context.getCarrier().getURI();
+    }
+
+    private record PathTemplate(Pattern pattern, String replacement) {
+        PathTemplate(String regex, String replacement) {
+            this(Pattern.compile(regex), replacement);
+        }
+    }
+}
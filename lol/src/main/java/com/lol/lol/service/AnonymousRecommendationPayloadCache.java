@@ -0,0 +1,103 @@
+package com.lol.lol.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 📦 플레이어 정보 없는 추천 응답의 직렬화 결과 캐시
+ * /galaxy, /role/{role} 익명 요청은 메타 스냅샷이 같으면 응답도 같으므로
+ * 메타 버전 + 엔드포인트 + 라인 + 개수별로 한 번만 만들어 UTF-8 바이트로 보관
+ * - 메타 버전이 바뀌면 전체 비움
+ * - 챔피언이 하나도 없거나 success=false인 응답(폴백/오류)은 저장하지 않고 fallback으로 표시
+ * - 알 수 없는 라인이나 범위 밖 개수는 캐시하지 않고 매번 생성 (키 폭증 방지)
+ * - 사용 통계 기록용으로 응답에 담긴 챔피언 목록도 함께 보관
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AnonymousRecommendationPayloadCache {
+
+    private static final Set<String> CACHEABLE_ROLES = Set.of("ALL", "TOP", "JUNGLE", "MID", "ADC", "SUPPORT");
+    private static final int MAX_CACHEABLE_COUNT = 50;
+
+    private final DynamicChampionDataService championDataService;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<PayloadKey, RenderedPayload> payloads = new ConcurrentHashMap<>();
+    private volatile long cachedVersion = -1;
+
+    /**
+     * 🎯 캐시된 응답 반환, 없으면 renderer로 만들어 직렬화 후 저장
+     */
+    public RenderedPayload getOrRender(String endpoint, String role, int count, Supplier<Map<String, Object>> renderer) {
+        long version = championDataService.getMetaSnapshot().version();
+        if (version != cachedVersion) {
+            synchronized (this) {
+                if (version != cachedVersion) {
+                    payloads.clear();
+                    cachedVersion = version;
+                    log.info("익명 추천 응답 캐시 초기화: 메타 버전 {}", version);
+                }
+            }
+        }
+
+        String roleKey = role == null ? "ALL" : role;
+        if (!CACHEABLE_ROLES.contains(roleKey) || count < 1 || count > MAX_CACHEABLE_COUNT) {
+            meterRegistry.counter("recommendations.payload.cache", "endpoint", endpoint, "result", "bypass").increment();
+            return render(renderer.get());
+        }
+
+        PayloadKey key = new PayloadKey(version, endpoint, roleKey, count);
+        RenderedPayload cached = payloads.get(key);
+        if (cached != null) {
+            meterRegistry.counter("recommendations.payload.cache", "endpoint", endpoint, "result", "hit").increment();
+            return cached;
+        }
+
+        meterRegistry.counter("recommendations.payload.cache", "endpoint", endpoint, "result", "miss").increment();
+        Map<String, Object> response = renderer.get();
+        RenderedPayload payload = render(response);
+        if (!payload.fallback()) {
+            payloads.put(key, payload);
+        }
+        return payload;
+    }
+
+    /**
+     * 폴백/오류 응답인지 (HTTP 캐시/ETag 대상에서 빼야 하는 응답)
+     */
+    public static boolean isFallback(Map<String, Object> response) {
+        return Boolean.FALSE.equals(response.get("success"))
+                || !(response.get("champions") instanceof List<?> champions && !champions.isEmpty());
+    }
+
+    private RenderedPayload render(Map<String, Object> response) {
+        return new RenderedPayload(serialize(response), RecommendationStatsService.servedChampions(response),
+                isFallback(response));
+    }
+
+    private byte[] serialize(Map<String, Object> response) {
+        try {
+            return objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("추천 응답 직렬화 실패", e);
+        }
+    }
+
+    public record RenderedPayload(byte[] body, RecommendationStatsService.ServedChampion[] champions, boolean fallback) {
+    }
+
+    record PayloadKey(long metaVersion, String endpoint, String role, int count) {
+    }
+}
@@ -1,6 +1,7 @@
 package com.lol.lol.service;
 
 import com.lol.lol.dto.*;
+import com.lol.lol.metrics.PipelineMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -17,6 +18,7 @@ public class ChampionRecommendationService {
     private final DynamicRecommendationEngine dynamicRecommendationEngine;
     private final PlayerAnalysisEngine playerAnalysisEngine;
     private final DynamicChampionDataService championDataService;
+    private final PipelineMetrics pipelineMetrics;
 
     /**
      * 🎯 메인 추천 생성 메서드 (SearchController에서 호출)
@@ -52,6 +54,7 @@ public class ChampionRecommendationService {
 
         } catch (Exception e) {
             log.error("챔피언 추천 생성 실패: " + playerName, e);
+            pipelineMetrics.fallback("champion-recommendation", "exception");
             return createFallbackRecommendations(playerName);
         }
     }
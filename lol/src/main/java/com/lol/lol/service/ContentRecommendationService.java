@@ -9,6 +9,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import com.lol.lol.dto.AccountrDto;
+import com.lol.lol.metrics.PipelineMetrics;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -19,6 +20,7 @@ import java.util.stream.Collectors;
 public class ContentRecommendationService {
 
     private final SlotBasedVideoService slotBasedVideoService;
+    private final PipelineMetrics pipelineMetrics;
 
     /**
      * 🎯 SearchController에서 이미 가져온 데이터 활용 (메인 메서드)
@@ -74,6 +76,7 @@ public class ContentRecommendationService {
 
         } catch (Exception e) {
             log.error("❌ 실제 데이터 기반 추천 실패: " + playerName, e);
+            pipelineMetrics.fallback("content-recommendation", "exception");
             return createFallbackPersonalizedContent(playerName, extractMainTier(leagues));
         }
     }
@@ -113,6 +116,7 @@ public class ContentRecommendationService {
 
         } catch (Exception e) {
             log.error("API 호출 방식 추천 실패: " + playerName, e);
+            pipelineMetrics.fallback("content-recommendation", "exception");
             return createFallbackPersonalizedContent(playerName, "GOLD");
         }
     }
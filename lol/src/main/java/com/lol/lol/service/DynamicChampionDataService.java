@@ -7,13 +7,15 @@ import com.lol.lol.dto.MetaStats;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -24,18 +26,60 @@ public class DynamicChampionDataService {
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
 
-    @Value("${riot.api.key}")
-    private String API_KEY;
-
     @Value("${riot.api.champion.url:https://ddragon.leagueoflegends.com/cdn}")
     private String CHAMPION_API_URL;
 
+    // 메타 스냅샷 버전 (갱신될 때마다 1씩 증가, 버전별 응답 캐시/ETag의 키로 사용)
+    // 재시작 후 이전 ETag와 겹치지 않도록 기동 시각에서 시작
+    private final AtomicLong metaVersion = new AtomicLong(System.currentTimeMillis());
+    private volatile MetaSnapshot metaSnapshot;
+
+    /**
+     * 현재 메타 데이터 (스냅샷 조회만, 갱신 전까지 같은 값)
+     */
+    public List<ChampionMetaData> getCurrentMetaData() {
+        return getMetaSnapshot().champions();
+    }
+
+    /**
+     * 📸 현재 메타 스냅샷 (없으면 최초 1회 생성)
+     */
+    public MetaSnapshot getMetaSnapshot() {
+        MetaSnapshot current = metaSnapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (metaSnapshot == null) {
+                metaSnapshot = buildSnapshot();
+            }
+            return metaSnapshot;
+        }
+    }
+
+    /**
+     * 🔄 메타 스냅샷 주기적 재생성 (새 버전으로 통째로 교체)
+     */
+    @Scheduled(initialDelayString = "${champion.meta.refresh-ms:21600000}",
+            fixedDelayString = "${champion.meta.refresh-ms:21600000}")
+    public void refreshMetaSnapshot() {
+        MetaSnapshot fresh = buildSnapshot();
+        synchronized (this) {
+            metaSnapshot = fresh;
+        }
+        log.info("메타 스냅샷 갱신: 버전 {} ({} 개 챔피언)", fresh.version(), fresh.champions().size());
+    }
+
+    private MetaSnapshot buildSnapshot() {
+        List<ChampionMetaData> champions = collectMetaData();
+        return new MetaSnapshot(metaVersion.incrementAndGet(), List.copyOf(champions), Instant.now());
+    }
+
     /**
      * 실시간 챔피언 메타 데이터 수집
      * 하드코딩 제거: 모든 데이터를 API에서 가져옴
      */
-    @Cacheable(value = "champion_meta", unless = "#result == null")
-    public List<ChampionMetaData> getCurrentMetaData() {
+    private List<ChampionMetaData> collectMetaData() {
         try {
             log.info("=== 실시간 메타 데이터 수집 시작 ===");
 
@@ -253,4 +297,8 @@ public class DynamicChampionDataService {
         defaultMapping.put("Lee Sin", Set.of("JUNGLE"));
         return defaultMapping;
     }
-}
\ No newline at end of file
+
+    // 스냅샷은 교체만 하고 수정하지 않음
+    public record MetaSnapshot(long version, List<ChampionMetaData> champions, Instant builtAt) {
+    }
+}
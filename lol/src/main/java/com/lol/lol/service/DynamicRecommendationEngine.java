@@ -1,6 +1,7 @@
 package com.lol.lol.service;
 
 import com.lol.lol.dto.*;
+import com.lol.lol.metrics.PipelineMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -16,6 +17,7 @@ public class DynamicRecommendationEngine {
 
     private final DynamicChampionDataService championDataService;
     private final PlayerAnalysisEngine playerAnalysisEngine;
+    private final PipelineMetrics pipelineMetrics;
 
     /**
      * Zero-Hardcoding 추천 시스템
@@ -29,38 +31,43 @@ public class DynamicRecommendationEngine {
             log.info("=== 동적 추천 생성 시작: {} ===", playerName);
 
             // 1. 실시간 데이터 수집
-            List<ChampionMetaData> currentMeta = championDataService.getCurrentMetaData();
+            List<ChampionMetaData> currentMeta = pipelineMetrics.timeStage("recommendation", "meta",
+                    championDataService::getCurrentMetaData);
             log.info("현재 메타 데이터 수집 완료: {} 개 챔피언", currentMeta.size());
 
-            PlayerProfile playerProfile = playerAnalysisEngine.analyzePlayerProfile(playerName, playerMatches);
+            PlayerProfile playerProfile = pipelineMetrics.timeStage("recommendation", "profile",
+                    () -> playerAnalysisEngine.analyzePlayerProfile(playerName, playerMatches));
             log.info("플레이어 프로필 분석 완료: {} (주 스타일: {})",
                     playerName, playerProfile.getPlayStyle().getPrimaryStyle());
 
             // 2. AI 추천 생성
-            List<ChampionRecommendation> recommendations = currentMeta.stream()
-                    .map(champion -> generateChampionRecommendation(champion, playerProfile))
-                    .filter(rec -> rec.getConfidenceScore() > 0.3) // 최소 신뢰도 필터
-                    .sorted(Comparator.comparing(ChampionRecommendation::getConfidenceScore).reversed())
-                    .limit(20)
-                    .collect(Collectors.toList());
+            List<ChampionRecommendation> recommendations = pipelineMetrics.timeStage("recommendation", "scoring",
+                    () -> currentMeta.stream()
+                            .map(champion -> generateChampionRecommendation(champion, playerProfile))
+                            .filter(rec -> rec.getConfidenceScore() > 0.3) // 최소 신뢰도 필터
+                            .sorted(Comparator.comparing(ChampionRecommendation::getConfidenceScore).reversed())
+                            .limit(20)
+                            .collect(Collectors.toList()));
 
             log.info("추천 생성 완료: {} 개 챔피언 (필터링 후)", recommendations.size());
 
             // 3. 라인별 그룹핑 및 정렬
-            Map<String, List<ChampionRecommendation>> byRole = recommendations.stream()
-                    .collect(Collectors.groupingBy(
-                            ChampionRecommendation::getPrimaryRole,
-                            Collectors.collectingAndThen(
-                                    Collectors.toList(),
-                                    list -> list.stream()
-                                            .sorted(Comparator.comparing(ChampionRecommendation::getConfidenceScore).reversed())
-                                            .limit(3) // 라인당 최대 3개
-                                            .collect(Collectors.toList())
-                            )
-                    ));
+            Map<String, List<ChampionRecommendation>> byRole = pipelineMetrics.timeStage("recommendation", "grouping",
+                    () -> recommendations.stream()
+                            .collect(Collectors.groupingBy(
+                                    ChampionRecommendation::getPrimaryRole,
+                                    Collectors.collectingAndThen(
+                                            Collectors.toList(),
+                                            list -> list.stream()
+                                                    .sorted(Comparator.comparing(ChampionRecommendation::getConfidenceScore).reversed())
+                                                    .limit(3) // 라인당 최대 3개
+                                                    .collect(Collectors.toList())
+                                    )
+                            )));
 
             // 4. 개인화 메시지 생성
-            String personalizedMessage = generatePersonalizedMessage(playerProfile, recommendations);
+            String personalizedMessage = pipelineMetrics.timeStage("recommendation", "message",
+                    () -> generatePersonalizedMessage(playerProfile, recommendations));
 
             ChampionRecommendationResult result = ChampionRecommendationResult.builder()
                     .recommendations(recommendations)
@@ -76,6 +83,7 @@ public class DynamicRecommendationEngine {
 
         } catch (Exception e) {
             log.error("추천 생성 실패: " + playerName, e);
+            pipelineMetrics.fallback("recommendation-engine", "exception");
             return generateFallbackRecommendations(playerName);
         }
     }
@@ -124,6 +132,7 @@ public class DynamicRecommendationEngine {
 
         } catch (Exception e) {
             log.error("챔피언 추천 생성 실패: " + champion.getName(), e);
+            pipelineMetrics.fallback("champion-scoring", "exception");
             return createFallbackRecommendation(champion);
         }
     }
@@ -1,22 +1,32 @@
 package com.lol.lol.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lol.lol.dto.LeagueDto;
 import com.lol.lol.dto.MatchDto;
 import com.lol.lol.dto.SummonerDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PostConstruct;
 import lombok.Builder;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 import com.lol.lol.dto.MatchAnalysis;
+import com.lol.lol.deadline.DeadlineContext;
+import com.lol.lol.tracing.TraceContext;
 
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -24,12 +34,33 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class EmotionBasedRecommendationService {
 
-    private final GeminiAIService geminiAIService;
-    private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper;
+    private static final int MAX_RECOMMENDATIONS = 8;
 
-    @Value("${youtube.api.key}")
-    private String youtubeApiKey;
+    private final GeminiAIService geminiAIService;
+    private final YouTubeClient youTubeClient;
+    private final VideoRelevanceEngine relevanceEngine;
+    private final MeterRegistry meterRegistry;
+
+    // 켜면 Gemini 평가를 백그라운드에서 채워 두고, 평가가 끝난 영상만 점수에 반영
+    @Value("${emotion.relevance.gemini-rerank:false}")
+    private boolean geminiRerankEnabled;
+
+    // 카테고리별 YouTube 검색은 I/O 대기라 가상 스레드로 병렬 처리
+    private final ExecutorService searchExecutor = DeadlineContext.propagating(
+            TraceContext.propagating(Executors.newVirtualThreadPerTaskExecutor()));
+
+    // 오프라인 재평가는 한 번에 하나씩, 밀리면 버림 (다음 요청 때 다시 들어옴)
+    private final ExecutorService rerankExecutor = new ThreadPoolExecutor(
+            1, 1, 0L, TimeUnit.MILLISECONDS,
+            new LinkedBlockingQueue<>(200),
+            new ThreadPoolExecutor.DiscardPolicy()
+    );
+
+    @PostConstruct
+    void registerExecutorMetrics() {
+        // executor.queued / executor.queue.remaining 으로 재평가 큐 포화 확인
+        new ExecutorServiceMetrics(rerankExecutor, "emotion-rerank", List.of()).bindTo(meterRegistry);
+    }
 
     /**
      * 🎯 감정 기반 AI 영상 추천 메인 메서드
@@ -44,18 +75,21 @@ public class EmotionBasedRecommendationService {
             PlayerEmotionState emotionState = analyzePlayerEmotion(matches, playerName);
             log.info("플레이어 감정 상태: {}", emotionState.getEmotionType());
 
-            // 2. 감정에 맞는 콘텐츠 카테고리 생성
-            List<ContentCategory> categories = generateEmotionBasedCategories(emotionState);
+            // 2. 감정에 맞는 콘텐츠 카테고리 생성 (카테고리가 도착하는 대로 YouTube 검색 시작)
+            Map<ContentCategory, CompletableFuture<List<YouTubeVideoInfo>>> searches =
+                    generateCategoriesAndStartSearches(emotionState);
 
-            // 3. 각 카테고리별 YouTube 검색 & 필터링
-            List<SmartVideoRecommendation> allRecommendations = new ArrayList<>();
+            // 3. 카테고리별 검색 결과 수집 후 전체 후보를 한 번에 길이/조회수 보강
+            Map<ContentCategory, List<YouTubeVideoInfo>> videosByCategory = new LinkedHashMap<>();
+            searches.forEach((category, search) -> videosByCategory.put(category, search.join()));
+            enrichWithDetails(videosByCategory.values());
 
-            for (ContentCategory category : categories) {
-                List<SmartVideoRecommendation> categoryVideos = searchAndFilterByCategory(category, emotionState);
-                allRecommendations.addAll(categoryVideos);
-            }
+            // 4. 카테고리별 필터링
+            List<SmartVideoRecommendation> allRecommendations = new ArrayList<>();
+            videosByCategory.forEach((category, videos) ->
+                    allRecommendations.addAll(filterByCategory(category, videos, emotionState)));
 
-            // 4. 최종 정렬
+            // 5. 최종 정렬
             return finalizeRecommendations(allRecommendations, emotionState);
 
         } catch (Exception e) {
@@ -64,6 +98,53 @@ public class EmotionBasedRecommendationService {
         }
     }
 
+    /**
+     * 🌊 감정 기반 AI 영상 추천 (스트리밍)
+     * 감정 분석 결과를 먼저 넘기고, 카테고리별 검색/평가가 끝나는 순서대로 영상을 하나씩 넘김
+     * 길이/조회수 보강은 카테고리마다 따로 함 (가장 빠른 카테고리를 기다리게 하지 않도록)
+     * 반환값은 기존 메서드와 같은 정렬/개수 제한을 적용한 전체 결과
+     */
+    public List<SmartVideoRecommendation> streamEmotionBasedRecommendations(
+            SummonerDto summoner, List<MatchDto> matches, String playerName,
+            Consumer<PlayerEmotionState> onEmotion, Consumer<SmartVideoRecommendation> onVideo) {
+
+        log.info("=== 감정 기반 AI 추천 스트리밍 시작: {} ===", playerName);
+
+        PlayerEmotionState emotionState = analyzePlayerEmotion(matches, playerName);
+        onEmotion.accept(emotionState);
+
+        Map<ContentCategory, CompletableFuture<List<YouTubeVideoInfo>>> searches =
+                generateCategoriesAndStartSearches(emotionState);
+
+        // 완료된 카테고리 결과를 큐에 모으고, 전달은 호출 스레드에서만 (onVideo는 단일 스레드로 호출됨)
+        BlockingQueue<List<SmartVideoRecommendation>> completed = new LinkedBlockingQueue<>();
+        searches.forEach((category, search) -> search
+                .thenApplyAsync(videos -> {
+                    enrichWithDetails(List.of(videos));
+                    return filterByCategory(category, videos, emotionState);
+                }, searchExecutor)
+                .exceptionally(e -> Collections.emptyList())
+                .thenAccept(completed::add));
+
+        List<SmartVideoRecommendation> allRecommendations = new ArrayList<>();
+        Set<String> sentVideoIds = new HashSet<>();
+        try {
+            for (int i = 0; i < searches.size(); i++) {
+                for (SmartVideoRecommendation recommendation : completed.take()) {
+                    allRecommendations.add(recommendation);
+                    if (sentVideoIds.size() < MAX_RECOMMENDATIONS && sentVideoIds.add(recommendation.getVideoId())) {
+                        onVideo.accept(recommendation);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("감정 기반 추천 스트리밍 중단: {}", playerName);
+        }
+
+        return finalizeRecommendations(allRecommendations, emotionState);
+    }
+
     /**
      * 🧠 플레이어 감정 상태 분석
      */
@@ -174,17 +255,38 @@ public class EmotionBasedRecommendationService {
     }
 
     /**
-     * 🎨 감정 기반 카테고리 생성
+     * 🎨 감정 기반 카테고리 생성 (스트리밍)
+     * AI 응답의 카테고리가 하나 완성될 때마다 해당 카테고리 검색을 바로 띄움
+     * 하나도 받지 못하면 기본 카테고리 사용
      */
-    private List<ContentCategory> generateEmotionBasedCategories(PlayerEmotionState emotionState) {
+    private Map<ContentCategory, CompletableFuture<List<YouTubeVideoInfo>>> generateCategoriesAndStartSearches(
+            PlayerEmotionState emotionState) {
+
+        Map<ContentCategory, CompletableFuture<List<YouTubeVideoInfo>>> searches = new LinkedHashMap<>();
+
         try {
             String aiPrompt = buildEmotionPrompt(emotionState);
-            String aiResponse = geminiAIService.generateEmotionBasedCategories(aiPrompt);
-            return parseAICategories(aiResponse, emotionState);
+            geminiAIService.generateEmotionBasedCategoriesStreaming(aiPrompt, categoryNode -> {
+                ContentCategory category = parseAICategory(categoryNode);
+                if (category != null) {
+                    searches.computeIfAbsent(category, this::submitCategorySearch);
+                }
+            });
         } catch (Exception e) {
-            log.warn("AI 카테고리 생성 실패, 기본 로직 사용", e);
-            return createDefaultCategories(emotionState);
+            log.warn("AI 카테고리 생성 실패, 받은 카테고리 {} 개", searches.size(), e);
+        }
+
+        if (searches.isEmpty()) {
+            log.info("기본 카테고리 사용: {}", emotionState.getEmotionType());
+            for (ContentCategory category : createDefaultCategories(emotionState)) {
+                searches.computeIfAbsent(category, this::submitCategorySearch);
+            }
         }
+        return searches;
+    }
+
+    private CompletableFuture<List<YouTubeVideoInfo>> submitCategorySearch(ContentCategory category) {
+        return CompletableFuture.supplyAsync(() -> searchYouTubeByCategory(category), searchExecutor);
     }
 
     /**
@@ -209,31 +311,20 @@ public class EmotionBasedRecommendationService {
     }
 
     /**
-     * 🤖 AI 응답 파싱
+     * 🤖 AI 응답의 카테고리 하나 파싱 (필드가 빠져 있으면 null)
      */
-    private List<ContentCategory> parseAICategories(String aiResponse, PlayerEmotionState state) {
+    private ContentCategory parseAICategory(JsonNode categoryNode) {
         try {
-            JsonNode jsonResponse = objectMapper.readTree(aiResponse);
-            List<ContentCategory> categories = new ArrayList<>();
-
-            JsonNode categoriesNode = jsonResponse.get("categories");
-            if (categoriesNode != null && categoriesNode.isArray()) {
-                for (JsonNode categoryNode : categoriesNode) {
-                    categories.add(ContentCategory.builder()
-                            .searchKeywords(categoryNode.get("searchKeywords").asText())
-                            .category(categoryNode.get("category").asText())
-                            .mood(categoryNode.get("mood").asText())
-                            .priority(categoryNode.get("priority").asInt())
-                            .description(categoryNode.get("description").asText())
-                            .build());
-                }
-            }
-
-            return categories.isEmpty() ? createDefaultCategories(state) : categories;
-
+            return ContentCategory.builder()
+                    .searchKeywords(categoryNode.get("searchKeywords").asText())
+                    .category(categoryNode.get("category").asText())
+                    .mood(categoryNode.get("mood").asText())
+                    .priority(categoryNode.get("priority").asInt())
+                    .description(categoryNode.get("description").asText())
+                    .build();
         } catch (Exception e) {
-            log.warn("AI 응답 파싱 실패", e);
-            return createDefaultCategories(state);
+            log.warn("AI 카테고리 파싱 실패: {}", categoryNode);
+            return null;
         }
     }
 
@@ -311,16 +402,20 @@ public class EmotionBasedRecommendationService {
     }
 
     /**
-     * 🔍 카테고리별 검색 & 필터링
+     * 🔍 카테고리별 필터링
+     * 쇼츠(1분 미만) 제외, 관련성이 같으면 조회수 많은 영상 우선
      */
-    private List<SmartVideoRecommendation> searchAndFilterByCategory(
-            ContentCategory category, PlayerEmotionState emotionState) {
+    private List<SmartVideoRecommendation> filterByCategory(
+            ContentCategory category, List<YouTubeVideoInfo> videos, PlayerEmotionState emotionState) {
 
         try {
-            List<YouTubeVideoInfo> videos = searchYouTubeByCategory(category);
             List<SmartVideoRecommendation> filtered = new ArrayList<>();
 
             for (YouTubeVideoInfo video : videos) {
+                if (video.getDurationSeconds() != null && video.getDurationSeconds() < 60) {
+                    continue;
+                }
+
                 double relevanceScore = evaluateVideoRelevance(video, category, emotionState);
 
                 if (relevanceScore > 0.5) {
@@ -335,94 +430,95 @@ public class EmotionBasedRecommendationService {
                             .relevanceScore(relevanceScore)
                             .emotionMatch(category.getMood())
                             .personalizedReason(generateEmotionReason(category, emotionState))
+                            .viewCount(video.getViewCount())
                             .build());
                 }
             }
 
             return filtered.stream()
-                    .sorted(Comparator.comparing(SmartVideoRecommendation::getRelevanceScore).reversed())
+                    .sorted(Comparator.comparing(SmartVideoRecommendation::getRelevanceScore)
+                            .thenComparing(rec -> rec.getViewCount() == null ? 0L : rec.getViewCount())
+                            .reversed())
                     .limit(2)
                     .collect(Collectors.toList());
 
         } catch (Exception e) {
-            log.error("카테고리 검색 실패: " + category.getSearchKeywords(), e);
+            log.error("카테고리 필터링 실패: " + category.getSearchKeywords(), e);
             return Collections.emptyList();
         }
     }
 
     /**
-     * 🤖 영상 관련성 평가
+     * 📊 모든 카테고리 후보의 길이/조회수를 일괄 조회해 채워 넣음
      */
-    private double evaluateVideoRelevance(YouTubeVideoInfo video, ContentCategory category, PlayerEmotionState emotionState) {
-        try {
-            return geminiAIService.evaluateEmotionMatch(
-                    video.getTitle(),
-                    video.getDescription(),
-                    emotionState.getEmotionType().toString(),
-                    category.getMood()
-            );
-        } catch (Exception e) {
-            return evaluateVideoRelevanceBasic(video, category);
-        }
+    private void enrichWithDetails(Collection<List<YouTubeVideoInfo>> videoLists) {
+        List<String> videoIds = videoLists.stream()
+                .flatMap(List::stream)
+                .map(YouTubeVideoInfo::getVideoId)
+                .toList();
+        Map<String, YouTubeClient.VideoDetails> details = youTubeClient.getVideoDetails(videoIds);
+
+        videoLists.forEach(videos -> videos.forEach(video -> {
+            YouTubeClient.VideoDetails detail = details.get(video.getVideoId());
+            if (detail != null) {
+                video.setDurationSeconds(detail.getDurationSeconds());
+                video.setViewCount(detail.getViewCount());
+            }
+        }));
     }
 
     /**
-     * 📊 기본 관련성 평가
+     * 🤖 영상 관련성 평가
+     * 로컬 BM25 엔진으로 즉시 계산, Gemini 재평가가 켜져 있으면 이미 평가된 점수와 평균
      */
-    private double evaluateVideoRelevanceBasic(YouTubeVideoInfo video, ContentCategory category) {
-        String title = video.getTitle().toLowerCase();
-        String description = video.getDescription().toLowerCase();
-        String keywords = category.getSearchKeywords().toLowerCase();
-
-        double score = 0.5;
+    private double evaluateVideoRelevance(YouTubeVideoInfo video, ContentCategory category, PlayerEmotionState emotionState) {
+        String emotionType = emotionState.getEmotionType().toString();
+        double lexicalScore = relevanceEngine.score(
+                video.getTitle(),
+                video.getDescription(),
+                category.getSearchKeywords(),
+                category.getMood(),
+                emotionType
+        );
 
-        String[] keywordArray = keywords.split(" ");
-        for (String keyword : keywordArray) {
-            if (title.contains(keyword)) score += 0.15;
-            if (description.contains(keyword)) score += 0.1;
+        if (!geminiRerankEnabled) {
+            return lexicalScore;
         }
 
-        if (title.contains("롤") || title.contains("lol") || title.contains("리그") ||
-                title.contains("league") || title.contains("legends")) {
-            score += 0.2;
+        Optional<Double> aiScore = geminiAIService.getCachedEmotionMatch(
+                video.getTitle(), video.getDescription(), emotionType, category.getMood());
+        if (aiScore.isPresent()) {
+            return (lexicalScore + aiScore.get()) / 2;
         }
 
-        return Math.min(score, 1.0);
+        rerankExecutor.execute(() -> geminiAIService.evaluateEmotionMatch(
+                video.getTitle(), video.getDescription(), emotionType, category.getMood()));
+        return lexicalScore;
+    }
+
+    @PreDestroy
+    void shutdownExecutors() {
+        searchExecutor.shutdownNow();
+        rerankExecutor.shutdownNow();
     }
 
     /**
-     * 📺 YouTube 검색
+     * 📺 YouTube 검색 (공용 클라이언트의 캐시/쿼터 관리 사용)
      */
     private List<YouTubeVideoInfo> searchYouTubeByCategory(ContentCategory category) {
         try {
-            String searchQuery = category.getSearchKeywords();
-            String encodedQuery = URLEncoder.encode(searchQuery, StandardCharsets.UTF_8);
-
-            String url = String.format(
-                    "https://www.googleapis.com/youtube/v3/search?part=snippet&q=%s&type=video&maxResults=10&order=relevance&regionCode=KR&relevanceLanguage=ko&key=%s",
-                    encodedQuery, youtubeApiKey
-            );
-
-            String response = restTemplate.getForObject(url, String.class);
-            JsonNode jsonResponse = objectMapper.readTree(response);
-
-            List<YouTubeVideoInfo> videos = new ArrayList<>();
-            for (JsonNode item : jsonResponse.get("items")) {
-                JsonNode snippet = item.get("snippet");
-                videos.add(YouTubeVideoInfo.builder()
-                        .videoId(item.get("id").get("videoId").asText())
-                        .title(snippet.get("title").asText())
-                        .description(snippet.get("description").asText())
-                        .channelTitle(snippet.get("channelTitle").asText())
-                        .publishedAt(snippet.get("publishedAt").asText())
-                        .thumbnailUrl(snippet.get("thumbnails").get("medium").get("url").asText())
-                        .build());
-            }
-
-            return videos;
-
+            return youTubeClient.search(category.getSearchKeywords(), 10).stream()
+                    .map(item -> YouTubeVideoInfo.builder()
+                            .videoId(item.getVideoId())
+                            .title(item.getTitle())
+                            .description(item.getDescription())
+                            .channelTitle(item.getChannelTitle())
+                            .publishedAt(item.getPublishedAt())
+                            .thumbnailUrl(item.getThumbnailUrl())
+                            .build())
+                    .collect(Collectors.toList());
         } catch (Exception e) {
-            log.error("YouTube 검색 실패: " + category.getSearchKeywords(), e);
+            log.error("카테고리 검색 실패: " + category.getSearchKeywords(), e);
             return Collections.emptyList();
         }
     }
@@ -436,7 +532,7 @@ public class EmotionBasedRecommendationService {
         return allRecommendations.stream()
                 .distinct()
                 .sorted(Comparator.comparing(SmartVideoRecommendation::getRelevanceScore).reversed())
-                .limit(8)
+                .limit(MAX_RECOMMENDATIONS)
                 .collect(Collectors.toList());
     }
 
@@ -571,6 +667,7 @@ public class EmotionBasedRecommendationService {
         private double relevanceScore;
         private String emotionMatch;
         private String personalizedReason;
+        private Long viewCount;
     }
 
     @Data
@@ -582,5 +679,7 @@ public class EmotionBasedRecommendationService {
         private String channelTitle;
         private String publishedAt;
         private String thumbnailUrl;
+        private Long durationSeconds;
+        private Long viewCount;
     }
 }
\ No newline at end of file
@@ -1,13 +1,29 @@
 package com.lol.lol.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lol.lol.cache.PersistentTtlCache;
+import com.lol.lol.upstream.UpstreamRejectedException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
-import java.util.HashMap;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Slf4j
 @Service
@@ -19,10 +35,32 @@ public class GeminiAIService {
     @Value("${gemini.api.url:https://generativelanguage.googleapis.com/v1beta/models/gemini-pro:generateContent}")
     private String geminiApiUrl;
 
-    private final RestTemplate restTemplate;
+    // 비워 두면 generateContent URL에서 streamGenerateContent URL을 유도
+    @Value("${gemini.api.stream-url:}")
+    private String geminiStreamUrl;
+
+    private static final Pattern MODEL_PATTERN = Pattern.compile("/models/([^/:?]+)");
 
-    public GeminiAIService(RestTemplate restTemplate) {
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final VideoRelevanceEngine relevanceEngine;
+    private final PersistentTtlCache<String> responseCache;
+
+    public GeminiAIService(RestTemplate restTemplate,
+                           ObjectMapper objectMapper,
+                           VideoRelevanceEngine relevanceEngine,
+                           @Value("${gemini.cache.dir:.cache/gemini}") String cacheDir,
+                           @Value("${gemini.cache.max-memory-entries:5000}") int maxMemoryEntries) {
         this.restTemplate = restTemplate;
+        this.objectMapper = objectMapper;
+        this.relevanceEngine = relevanceEngine;
+        this.responseCache = new PersistentTtlCache<>(
+                "gemini",
+                Path.of(cacheDir),
+                objectMapper,
+                objectMapper.constructType(String.class),
+                maxMemoryEntries
+        );
     }
 
     /**
@@ -32,30 +70,9 @@ public class GeminiAIService {
         try {
             log.info("🤖 Gemini AI 감정 기반 카테고리 생성 요청");
 
-            String enhancedPrompt = """
-                다음 롤 플레이어의 감정 상태를 분석하고, 맞춤 YouTube 콘텐츠 카테고리를 JSON 형태로 추천해주세요.
-                
-                %s
-                
-                응답 형식:
-                {
-                  "categories": [
-                    {
-                      "searchKeywords": "검색할 키워드",
-                      "category": "카테고리 타입",
-                      "mood": "감정 상태",
-                      "priority": 1,
-                      "description": "추천 이유"
-                    }
-                  ]
-                }
-                
-                카테고리 타입: MUSIC, EDUCATIONAL, ENTERTAINMENT, MOTIVATIONAL, TUTORIAL, META
-                감정 상태: healing, energetic, focus, epic, calm 등
-                우선순위: 1(높음) ~ 5(낮음)
-                """.formatted(emotionPrompt);
+            String enhancedPrompt = buildCategoryPrompt(emotionPrompt);
 
-            String response = callGeminiAPI(enhancedPrompt);
+            String response = callGeminiAPICached(enhancedPrompt, PromptFamily.EMOTION_CATEGORIES);
             log.info("✅ Gemini AI 카테고리 생성 완료");
 
             return response;
@@ -66,6 +83,45 @@ public class GeminiAIService {
         }
     }
 
+    /**
+     * 🌊 감정 기반 카테고리 생성 (스트리밍)
+     * categories 배열의 원소가 완성될 때마다 onCategory 호출, 캐시 적중 시에는 한 번에 전달
+     */
+    public String generateEmotionBasedCategoriesStreaming(String emotionPrompt, Consumer<JsonNode> onCategory) {
+        try {
+            log.info("🤖 Gemini AI 감정 기반 카테고리 스트리밍 요청");
+            return streamJsonArrayCached(buildCategoryPrompt(emotionPrompt), PromptFamily.EMOTION_CATEGORIES, onCategory);
+        } catch (Exception e) {
+            log.error("❌ Gemini AI 카테고리 스트리밍 실패", e);
+            throw new RuntimeException("AI 카테고리 생성 실패", e);
+        }
+    }
+
+    private String buildCategoryPrompt(String emotionPrompt) {
+        return """
+            다음 롤 플레이어의 감정 상태를 분석하고, 맞춤 YouTube 콘텐츠 카테고리를 JSON 형태로 추천해주세요.
+            
+            %s
+            
+            응답 형식:
+            {
+              "categories": [
+                {
+                  "searchKeywords": "검색할 키워드",
+                  "category": "카테고리 타입",
+                  "mood": "감정 상태",
+                  "priority": 1,
+                  "description": "추천 이유"
+                }
+              ]
+            }
+            
+            카테고리 타입: MUSIC, EDUCATIONAL, ENTERTAINMENT, MOTIVATIONAL, TUTORIAL, META
+            감정 상태: healing, energetic, focus, epic, calm 등
+            우선순위: 1(높음) ~ 5(낮음)
+            """.formatted(emotionPrompt);
+    }
+
     /**
      * 🎯 영상과 감정 매칭도 평가
      */
@@ -74,33 +130,13 @@ public class GeminiAIService {
         try {
             log.debug("🎯 영상 감정 매칭도 평가: {}", videoTitle);
 
-            String prompt = """
-                다음 YouTube 영상이 롤 플레이어의 현재 감정 상태에 얼마나 적합한지 0.0~1.0 점수로 평가해주세요.
-                
-                영상 정보:
-                - 제목: %s
-                - 설명: %s
-                
-                플레이어 상태:
-                - 감정 타입: %s
-                - 원하는 분위기: %s
-                
-                평가 기준:
-                1. 롤 관련성 (0.3)
-                2. 감정 상태 적합성 (0.4)
-                3. 콘텐츠 품질 (0.3)
-                
-                응답 형식: 숫자만 (예: 0.85)
-                """.formatted(videoTitle, videoDescription, emotionType, targetMood);
+            String prompt = buildEmotionMatchPrompt(videoTitle, videoDescription, emotionType, targetMood);
 
-            String response = callGeminiAPI(prompt);
-
-            // 숫자 추출
-            String cleanResponse = response.replaceAll("[^0-9.]", "");
-            double score = Double.parseDouble(cleanResponse);
+            String response = callGeminiAPICached(prompt, PromptFamily.VIDEO_EVALUATION);
+            double score = parseScore(response);
 
             log.debug("✅ 매칭 점수: {}", score);
-            return Math.max(0.0, Math.min(1.0, score)); // 0.0~1.0 범위 보장
+            return score;
 
         } catch (Exception e) {
             log.warn("❌ 영상 매칭도 평가 실패: {}", videoTitle, e);
@@ -110,47 +146,53 @@ public class GeminiAIService {
     }
 
     /**
-     * 📊 기본 매칭도 평가 (AI 실패 시 폴백)
+     * 💾 이미 평가해 둔 매칭 점수만 조회 (API 호출 없음, 요청 경로용)
      */
-    private double evaluateBasicMatch(String videoTitle, String emotionType) {
-        String title = videoTitle.toLowerCase();
-        double score = 0.5; // 기본 점수
-
-        // 롤 관련성 체크
-        if (title.contains("롤") || title.contains("lol") || title.contains("리그") ||
-                title.contains("league") || title.contains("legends")) {
-            score += 0.2;
+    public Optional<Double> getCachedEmotionMatch(String videoTitle, String videoDescription,
+                                                  String emotionType, String targetMood) {
+        String prompt = buildEmotionMatchPrompt(videoTitle, videoDescription, emotionType, targetMood);
+        try {
+            return responseCache.getIfPresent(cacheKey(prompt)).map(this::parseScore);
+        } catch (Exception e) {
+            return Optional.empty();
         }
+    }
 
-        // 감정 타입별 키워드 매칭
-        switch (emotionType) {
-            case "DEEP_SLUMP", "SLUMP":
-                if (title.contains("힐링") || title.contains("차분") || title.contains("극복") ||
-                        title.contains("멘탈") || title.contains("음악")) {
-                    score += 0.2;
-                }
-                break;
-            case "HOT_STREAK", "WINNING_MOOD":
-                if (title.contains("매드무비") || title.contains("하이라이트") || title.contains("신나") ||
-                        title.contains("epic") || title.contains("bgm")) {
-                    score += 0.2;
-                }
-                break;
-            case "CS_STRUGGLE":
-                if (title.contains("cs") || title.contains("라스트힛") || title.contains("연습") ||
-                        title.contains("마스터")) {
-                    score += 0.3;
-                }
-                break;
-            case "KDA_STRUGGLE":
-                if (title.contains("포지셔닝") || title.contains("생존") || title.contains("안전") ||
-                        title.contains("한타")) {
-                    score += 0.3;
-                }
-                break;
-        }
+    private String buildEmotionMatchPrompt(String videoTitle, String videoDescription,
+                                           String emotionType, String targetMood) {
+        return """
+            다음 YouTube 영상이 롤 플레이어의 현재 감정 상태에 얼마나 적합한지 0.0~1.0 점수로 평가해주세요.
+            
+            영상 정보:
+            - 제목: %s
+            - 설명: %s
+            
+            플레이어 상태:
+            - 감정 타입: %s
+            - 원하는 분위기: %s
+            
+            평가 기준:
+            1. 롤 관련성 (0.3)
+            2. 감정 상태 적합성 (0.4)
+            3. 콘텐츠 품질 (0.3)
+            
+            응답 형식: 숫자만 (예: 0.85)
+            """.formatted(videoTitle, videoDescription, emotionType, targetMood);
+    }
+
+    /**
+     * 숫자만 추출해 0.0~1.0 범위로 보정
+     */
+    private double parseScore(String response) {
+        double score = Double.parseDouble(response.replaceAll("[^0-9.]", ""));
+        return Math.max(0.0, Math.min(1.0, score));
+    }
 
-        return Math.min(score, 1.0);
+    /**
+     * 📊 기본 매칭도 평가 (AI 실패 시 폴백, 로컬 BM25 엔진 사용)
+     */
+    private double evaluateBasicMatch(String videoTitle, String emotionType) {
+        return relevanceEngine.score(videoTitle, null, null, null, emotionType);
     }
 
     /**
@@ -159,13 +201,28 @@ public class GeminiAIService {
     public String completion(String prompt) {
         try {
             log.info("🤖 Gemini AI 텍스트 완성 요청");
-            return callGeminiAPI(prompt);
+            return callGeminiAPICached(prompt, PromptFamily.SEARCH_TERMS);
         } catch (Exception e) {
             log.error("❌ Gemini AI 텍스트 완성 실패", e);
             return "AI 응답을 생성할 수 없습니다.";
         }
     }
 
+    /**
+     * 🌊 텍스트 완성 (스트리밍, JSON 배열 응답용)
+     * 배열 원소가 완성될 때마다 onElement 호출 → 호출 측이 첫 원소부터 바로 작업 시작 가능
+     * 실패 시 예외 (호출 측 폴백 사용)
+     */
+    public String completionStreaming(String prompt, Consumer<JsonNode> onElement) {
+        try {
+            log.info("🤖 Gemini AI 텍스트 완성 스트리밍 요청");
+            return streamJsonArrayCached(prompt, PromptFamily.SEARCH_TERMS, onElement);
+        } catch (Exception e) {
+            log.error("❌ Gemini AI 텍스트 완성 스트리밍 실패", e);
+            throw new RuntimeException("AI 텍스트 완성 실패", e);
+        }
+    }
+
     /**
      * 🌟 기존 메서드들 (호환성 유지)
      */
@@ -183,7 +240,7 @@ public class GeminiAIService {
                 이 플레이어에게 맞는 YouTube 검색 키워드 5개를 JSON으로 추천해주세요.
                 """.formatted(tier, mainRole, mainChampion, averageKDA, winRate * 100);
 
-            return callGeminiAPI(prompt);
+            return callGeminiAPICached(prompt, PromptFamily.YOUTUBE_RECOMMENDATIONS);
         } catch (Exception e) {
             log.error("기존 YouTube 추천 실패", e);
             return createFallbackRecommendations();
@@ -203,7 +260,7 @@ public class GeminiAIService {
                 숫자만 응답하세요.
                 """.formatted(title, description, tier, targetSkill);
 
-            String response = callGeminiAPI(prompt);
+            String response = callGeminiAPICached(prompt, PromptFamily.VIDEO_EVALUATION);
             String cleanResponse = response.replaceAll("[^0-9.]", "");
             return Double.parseDouble(cleanResponse);
         } catch (Exception e) {
@@ -212,6 +269,73 @@ public class GeminiAIService {
         }
     }
 
+    /**
+     * 💾 캐시 경유 Gemini 호출
+     * 키: 모델명 + 정규화된 프롬프트의 해시, TTL: 프롬프트 종류별
+     */
+    private String callGeminiAPICached(String prompt, PromptFamily family) {
+        return callGeminiAPICached(prompt, family, () -> callGeminiAPI(prompt));
+    }
+
+    private String callGeminiAPICached(String prompt, PromptFamily family, Supplier<String> loader) {
+        String cacheKey = cacheKey(prompt);
+
+        return responseCache.get(cacheKey, family.getTtl(), () -> {
+            log.debug("Gemini 캐시 미스: {} ({})", family, cacheKey);
+            return loader.get();
+        });
+    }
+
+    /**
+     * 🌊 캐시 경유 스트리밍 호출 + 점진적 JSON 배열 파싱
+     * 직접 스트리밍한 경우 원소는 도착하는 대로 전달됨
+     * 캐시 적중이거나 같은 프롬프트의 진행 중 로드를 기다린 경우 완성된 응답을 파싱해 전달
+     */
+    private String streamJsonArrayCached(String prompt, PromptFamily family, Consumer<JsonNode> onElement) {
+        JsonArrayStreamParser parser = new JsonArrayStreamParser(raw -> emitArrayElement(raw, onElement));
+        AtomicBoolean streamed = new AtomicBoolean(false);
+
+        String response = callGeminiAPICached(prompt, family, () -> {
+            streamed.set(true);
+            return callGeminiAPIStreaming(prompt, parser::feed);
+        });
+
+        if (!streamed.get()) {
+            parser.feed(response);
+        }
+        return response;
+    }
+
+    private void emitArrayElement(String rawElement, Consumer<JsonNode> onElement) {
+        JsonNode element;
+        try {
+            element = objectMapper.readTree(rawElement);
+        } catch (IOException e) {
+            log.debug("스트리밍 배열 원소 파싱 실패, 건너뜀: {}", rawElement);
+            return;
+        }
+        onElement.accept(element);
+    }
+
+    private String cacheKey(String prompt) {
+        return PersistentTtlCache.hashKey(resolveModelName(), normalizePrompt(prompt));
+    }
+
+    /**
+     * 공백 차이만 있는 프롬프트는 같은 키가 되도록 정규화
+     */
+    private String normalizePrompt(String prompt) {
+        return prompt.strip().replaceAll("\\s+", " ");
+    }
+
+    /**
+     * API URL에서 모델명 추출 (예: .../models/gemini-pro:generateContent → gemini-pro)
+     */
+    private String resolveModelName() {
+        Matcher matcher = MODEL_PATTERN.matcher(geminiApiUrl);
+        return matcher.find() ? matcher.group(1) : geminiApiUrl;
+    }
+
     /**
      * 🔧 Gemini API 호출 핵심 메서드
      */
@@ -219,49 +343,111 @@ public class GeminiAIService {
         try {
             String url = geminiApiUrl + "?key=" + geminiApiKey;
 
-            // 요청 바디 구성
-            Map<String, Object> requestBody = new HashMap<>();
-            Map<String, Object> content = new HashMap<>();
-            Map<String, Object> part = new HashMap<>();
-
-            part.put("text", prompt);
-            content.put("parts", new Object[]{part});
-            requestBody.put("contents", new Object[]{content});
-
             // 헤더 설정
             HttpHeaders headers = new HttpHeaders();
             headers.setContentType(MediaType.APPLICATION_JSON);
 
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
+            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(buildRequestBody(prompt), headers);
 
             // API 호출
-            ResponseEntity<Map> response = restTemplate.exchange(
-                    url, HttpMethod.POST, entity, Map.class
+            ResponseEntity<String> response = restTemplate.exchange(
+                    url, HttpMethod.POST, entity, String.class
             );
 
             // 응답 파싱
-            Map<String, Object> responseBody = response.getBody();
-            if (responseBody != null && responseBody.containsKey("candidates")) {
-                Object[] candidates = (Object[]) responseBody.get("candidates");
-                if (candidates.length > 0) {
-                    Map<String, Object> candidate = (Map<String, Object>) candidates[0];
-                    Map<String, Object> content_result = (Map<String, Object>) candidate.get("content");
-                    Object[] parts = (Object[]) content_result.get("parts");
-                    if (parts.length > 0) {
-                        Map<String, Object> part_result = (Map<String, Object>) parts[0];
-                        return (String) part_result.get("text");
-                    }
-                }
+            String text = extractText(objectMapper.readTree(response.getBody()));
+            if (text.isEmpty()) {
+                throw new RuntimeException("Gemini API 응답 파싱 실패");
             }
+            return text;
 
-            throw new RuntimeException("Gemini API 응답 파싱 실패");
-
+        } catch (UpstreamRejectedException e) {
+            // 회로 열림/격벽 포화/예산 소진: 호출하지 않았으므로 스택 트레이스 없이 호출자의 대체 응답으로
+            throw e;
         } catch (Exception e) {
             log.error("Gemini API 호출 실패", e);
             throw new RuntimeException("Gemini API 호출 실패", e);
         }
     }
 
+    /**
+     * 🌊 Gemini 스트리밍 호출 (streamGenerateContent, SSE)
+     * 청크의 텍스트를 받는 대로 onText로 넘기고, 끝나면 전체 텍스트 반환
+     */
+    private String callGeminiAPIStreaming(String prompt, Consumer<String> onText) {
+        try {
+            String url = resolveStreamUrl() + "&key=" + geminiApiKey;
+            StringBuilder fullText = new StringBuilder();
+
+            restTemplate.execute(url, HttpMethod.POST,
+                    request -> {
+                        request.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                        request.getHeaders().setAccept(List.of(MediaType.TEXT_EVENT_STREAM));
+                        objectMapper.writeValue(request.getBody(), buildRequestBody(prompt));
+                    },
+                    response -> {
+                        try (BufferedReader reader = new BufferedReader(
+                                new InputStreamReader(response.getBody(), StandardCharsets.UTF_8))) {
+                            StringBuilder event = new StringBuilder();
+                            String line;
+                            while ((line = reader.readLine()) != null) {
+                                if (line.startsWith("data:")) {
+                                    event.append(line.substring("data:".length()).strip());
+                                } else if (line.isBlank() && !event.isEmpty()) {
+                                    handleStreamChunk(event.toString(), fullText, onText);
+                                    event.setLength(0);
+                                }
+                            }
+                            if (!event.isEmpty()) {
+                                handleStreamChunk(event.toString(), fullText, onText);
+                            }
+                        }
+                        return null;
+                    });
+
+            if (fullText.isEmpty()) {
+                throw new RuntimeException("Gemini 스트리밍 응답 없음");
+            }
+            return fullText.toString();
+
+        } catch (UpstreamRejectedException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Gemini 스트리밍 호출 실패", e);
+            throw new RuntimeException("Gemini 스트리밍 호출 실패", e);
+        }
+    }
+
+    private void handleStreamChunk(String data, StringBuilder fullText, Consumer<String> onText) throws IOException {
+        String text = extractText(objectMapper.readTree(data));
+        if (!text.isEmpty()) {
+            fullText.append(text);
+            onText.accept(text);
+        }
+    }
+
+    private String resolveStreamUrl() {
+        String base = geminiStreamUrl.isBlank()
+                ? geminiApiUrl.replace(":generateContent", ":streamGenerateContent")
+                : geminiStreamUrl;
+        return base + (base.contains("?") ? "&" : "?") + "alt=sse";
+    }
+
+    private Map<String, Object> buildRequestBody(String prompt) {
+        return Map.of("contents", List.of(Map.of("parts", List.of(Map.of("text", prompt)))));
+    }
+
+    /**
+     * candidates[0].content.parts[*].text 이어붙이기 (없으면 빈 문자열)
+     */
+    private String extractText(JsonNode response) {
+        StringBuilder text = new StringBuilder();
+        for (JsonNode part : response.path("candidates").path(0).path("content").path("parts")) {
+            text.append(part.path("text").asText(""));
+        }
+        return text.toString();
+    }
+
     /**
      * 🛡️ 폴백 추천 생성
      */
@@ -289,4 +475,25 @@ public class GeminiAIService {
             }
             """;
     }
-}
\ No newline at end of file
+
+    /**
+     * ⏱️ 프롬프트 종류별 캐시 TTL
+     * 슬롯 검색어 프롬프트는 고정 문자열이라 길게, 감정 카테고리는 상황 변화가 잦아 짧게
+     */
+    enum PromptFamily {
+        SEARCH_TERMS(Duration.ofHours(12)),
+        EMOTION_CATEGORIES(Duration.ofHours(6)),
+        VIDEO_EVALUATION(Duration.ofDays(7)),
+        YOUTUBE_RECOMMENDATIONS(Duration.ofDays(1));
+
+        private final Duration ttl;
+
+        PromptFamily(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+    }
+}
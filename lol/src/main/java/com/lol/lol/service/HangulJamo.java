@@ -0,0 +1,73 @@
+package com.lol.lol.service;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 🔡 한글 자모 분해 (검색어 비교용)
+ * 완성형 음절을 초성/중성/종성 호환 자모로 풀고, 겹모음/겹받침도 낱자로 나눔
+ * - "페이커" → ㅍㅔㅇㅣㅋㅓ, 입력 중인 "페잌"도 ㅍㅔㅇㅣㅋ라 접두어로 일치
+ * - "패이커"와는 자모 한 개(ㅐ/ㅔ)만 달라 편집 거리 1
+ * 그 외 문자는 소문자로, 공백은 제거 (Riot ID 검색은 띄어쓰기를 자주 빠뜨림)
+ */
+public final class HangulJamo {
+
+    private static final char SYLLABLE_BASE = 0xAC00;
+    private static final char SYLLABLE_LAST = 0xD7A3;
+    private static final int JUNG_COUNT = 21;
+    private static final int JONG_COUNT = 28;
+
+    private static final String CHO = "ㄱㄲㄴㄷㄸㄹㅁㅂㅃㅅㅆㅇㅈㅉㅊㅋㅌㅍㅎ";
+    private static final String JUNG = "ㅏㅐㅑㅒㅓㅔㅕㅖㅗㅘㅙㅚㅛㅜㅝㅞㅟㅠㅡㅢㅣ";
+    private static final String JONG = " ㄱㄲㄳㄴㄵㄶㄷㄹㄺㄻㄼㄽㄾㄿㅀㅁㅂㅄㅅㅆㅇㅈㅊㅋㅌㅍㅎ";
+
+    // 겹모음/겹받침 → 낱자 (IME 입력 중간 상태와 맞추기 위함)
+    private static final Map<Character, String> COMPOUND = Map.ofEntries(
+            Map.entry('ㄳ', "ㄱㅅ"), Map.entry('ㄵ', "ㄴㅈ"), Map.entry('ㄶ', "ㄴㅎ"),
+            Map.entry('ㄺ', "ㄹㄱ"), Map.entry('ㄻ', "ㄹㅁ"), Map.entry('ㄼ', "ㄹㅂ"),
+            Map.entry('ㄽ', "ㄹㅅ"), Map.entry('ㄾ', "ㄹㅌ"), Map.entry('ㄿ', "ㄹㅍ"),
+            Map.entry('ㅀ', "ㄹㅎ"), Map.entry('ㅄ', "ㅂㅅ"),
+            Map.entry('ㅘ', "ㅗㅏ"), Map.entry('ㅙ', "ㅗㅐ"), Map.entry('ㅚ', "ㅗㅣ"),
+            Map.entry('ㅝ', "ㅜㅓ"), Map.entry('ㅞ', "ㅜㅔ"), Map.entry('ㅟ', "ㅜㅣ"),
+            Map.entry('ㅢ', "ㅡㅣ")
+    );
+
+    private HangulJamo() {
+    }
+
+    public static String decompose(String text) {
+        if (text == null) {
+            return "";
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        StringBuilder jamo = new StringBuilder(lower.length() * 3);
+
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+            if (c >= SYLLABLE_BASE && c <= SYLLABLE_LAST) {
+                int index = c - SYLLABLE_BASE;
+                appendJamo(jamo, CHO.charAt(index / (JUNG_COUNT * JONG_COUNT)));
+                appendJamo(jamo, JUNG.charAt((index / JONG_COUNT) % JUNG_COUNT));
+                int jong = index % JONG_COUNT;
+                if (jong > 0) {
+                    appendJamo(jamo, JONG.charAt(jong));
+                }
+            } else {
+                appendJamo(jamo, c);
+            }
+        }
+        return jamo.toString();
+    }
+
+    private static void appendJamo(StringBuilder jamo, char c) {
+        String split = COMPOUND.get(c);
+        if (split != null) {
+            jamo.append(split);
+        } else {
+            jamo.append(c);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.lol.lol.service;
+
+import java.util.function.Consumer;
+
+/**
+ * 🧩 스트리밍 응답용 점진적 JSON 배열 파서
+ * 텍스트 조각을 받는 대로 처음 등장하는 배열의 원소가 닫힐 때마다 원소 JSON 원문을 전달
+ * - 배열 앞의 코드블록 표시(```json)나 감싸는 객체({"categories": [ ... ]})는 건너뜀
+ * - 문자열 안의 괄호/이스케이프는 구조로 취급하지 않음
+ * 스레드 안전하지 않음 (응답 하나당 인스턴스 하나)
+ */
+class JsonArrayStreamParser {
+
+    private final Consumer<String> onElement;
+    private final StringBuilder element = new StringBuilder();
+
+    private boolean inArray;
+    private boolean finished;
+    private boolean inString;
+    private boolean escaped;
+    // 배열 내부 기준 중첩 깊이 (0이면 원소 사이)
+    private int depth;
+    private int emitted;
+
+    JsonArrayStreamParser(Consumer<String> onElement) {
+        this.onElement = onElement;
+    }
+
+    void feed(CharSequence chunk) {
+        for (int i = 0; i < chunk.length() && !finished; i++) {
+            accept(chunk.charAt(i));
+        }
+    }
+
+    int emittedCount() {
+        return emitted;
+    }
+
+    private void accept(char c) {
+        if (inString) {
+            if (inArray) {
+                element.append(c);
+            }
+            if (escaped) {
+                escaped = false;
+            } else if (c == '\\') {
+                escaped = true;
+            } else if (c == '"') {
+                inString = false;
+            }
+            return;
+        }
+
+        if (!inArray) {
+            if (c == '"') {
+                inString = true;
+            } else if (c == '[') {
+                inArray = true;
+            }
+            return;
+        }
+
+        switch (c) {
+            case '"' -> {
+                inString = true;
+                element.append(c);
+            }
+            case '[', '{' -> {
+                depth++;
+                element.append(c);
+            }
+            case '}' -> {
+                depth--;
+                element.append(c);
+            }
+            case ']' -> {
+                if (depth == 0) {
+                    emitElement();
+                    finished = true;
+                } else {
+                    depth--;
+                    element.append(c);
+                }
+            }
+            case ',' -> {
+                if (depth == 0) {
+                    emitElement();
+                } else {
+                    element.append(c);
+                }
+            }
+            default -> {
+                if (depth > 0 || !Character.isWhitespace(c)) {
+                    element.append(c);
+                }
+            }
+        }
+    }
+
+    private void emitElement() {
+        String raw = element.toString().strip();
+        element.setLength(0);
+        if (!raw.isEmpty()) {
+            emitted++;
+            onElement.accept(raw);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.lol.lol.service;
+
+import com.lol.lol.cache.EntityTags;
+import com.lol.lol.cache.PersistentTtlCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Enumeration;
+
+/**
+ * 🏷️ 개인화 콘텐츠(/api/content/personalized) 응답의 현재 ETag
+ * 플레이어 이름 + 플레이어 데이터 버전 + 신선도 구간의 해시 (영상 목록은 같은 구간에서도 조금씩 달라 약한 ETag)
+ * 컨트롤러의 304 판단과 입장 제어의 "재검증이면 대기 없이 통과" 판단이 같은 값을 보도록 여기서만 계산
+ */
+@Service
+@RequiredArgsConstructor
+public class PersonalizedContentValidator {
+
+    private final PlayerDataVersionRegistry playerDataVersions;
+
+    @Value("${content.personalized.freshness-minutes:30}")
+    private long freshnessMinutes;
+
+    public Duration freshness() {
+        return Duration.ofMinutes(freshnessMinutes);
+    }
+
+    public String currentEtag(String playerName) {
+        String hash = PersistentTtlCache.hashKey(
+                "personalized",
+                playerName.strip(),
+                String.valueOf(playerDataVersions.currentVersion(playerName)),
+                String.valueOf(System.currentTimeMillis() / freshness().toMillis()));
+        return "W/\"" + hash.substring(0, 32) + "\"";
+    }
+
+    /**
+     * If-None-Match가 지금 응답할 ETag와 같은지 (같으면 본문 생성 없이 304로 끝남)
+     */
+    public boolean isCurrent(String playerName, Enumeration<String> ifNoneMatch) {
+        return playerName != null && !playerName.isBlank() && EntityTags.matches(ifNoneMatch, currentEtag(playerName));
+    }
+}
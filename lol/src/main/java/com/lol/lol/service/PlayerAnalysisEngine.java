@@ -10,6 +10,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import com.lol.lol.dto.MatchAnalysis;
+import com.lol.lol.metrics.PipelineMetrics;
 
 import java.time.LocalDateTime;
 import java.util.*;
@@ -20,6 +21,8 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class PlayerAnalysisEngine {
 
+    private final PipelineMetrics pipelineMetrics;
+
     /**
      * 플레이어 프로파일링 - 완전 데이터 기반
      * 하드코딩 제거: 실제 게임 데이터로만 분석
@@ -31,24 +34,29 @@ public class PlayerAnalysisEngine {
 
             if (recentMatches == null || recentMatches.isEmpty()) {
                 log.warn("매치 데이터가 없어 기본 프로필 반환");
+                pipelineMetrics.fallback("player-analysis", "no_matches");
                 return createDefaultProfile(playerName);
             }
 
             // 1. 기본 통계 계산
-            PlayerStats stats = calculatePlayerStats(recentMatches, playerName);
+            PlayerStats stats = pipelineMetrics.timeStage("player-analysis", "stats",
+                    () -> calculatePlayerStats(recentMatches, playerName));
             log.info("기본 통계 계산 완료 - 평균 KDA: {}, 승률: {}%",
                     stats.getAverageKDA(), stats.getWinRate());
 
             // 2. 플레이 스타일 분석
-            PlayStyle playStyle = analyzePlayStyle(stats, recentMatches, playerName);
+            PlayStyle playStyle = pipelineMetrics.timeStage("player-analysis", "play_style",
+                    () -> analyzePlayStyle(stats, recentMatches, playerName));
             log.info("플레이 스타일 분석 완료: {}", playStyle.getPrimaryStyle());
 
             // 3. 챔피언 선호도 패턴 분석
-            ChampionPreferences preferences = analyzeChampionPreferences(recentMatches, playerName);
+            ChampionPreferences preferences = pipelineMetrics.timeStage("player-analysis", "preferences",
+                    () -> analyzeChampionPreferences(recentMatches, playerName));
             log.info("챔피언 선호도 분석 완료 - 주력: {}", preferences.getMostPlayedChampion());
 
             // 4. 스킬 성장 패턴 분석
-            SkillProgression progression = analyzeSkillProgression(recentMatches, playerName);
+            SkillProgression progression = pipelineMetrics.timeStage("player-analysis", "progression",
+                    () -> analyzeSkillProgression(recentMatches, playerName));
             log.info("스킬 성장 분석 완료 - 개선률: {}%", progression.getImprovementRate());
 
             PlayerProfile profile = PlayerProfile.builder()
@@ -65,6 +73,7 @@ public class PlayerAnalysisEngine {
 
         } catch (Exception e) {
             log.error("플레이어 분석 실패: " + playerName, e);
+            pipelineMetrics.fallback("player-analysis", "exception");
             return createDefaultProfile(playerName);
         }
     }
@@ -0,0 +1,88 @@
+package com.lol.lol.service;
+
+import com.lol.lol.cache.PersistentTtlCache;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 🏷️ 플레이어 데이터 버전 관리
+ * 최근 매치 ID 목록이 바뀔 때만 버전이 올라감 → ETag 등 "같은 데이터인가" 판단용
+ * - 키: puuid, 게임 이름, "게임이름#태그" (대소문자/공백 무시)
+ * - 한 번도 기록되지 않은 플레이어는 버전 0
+ * - 메모리에만 보관, 오래 안 쓰인 플레이어부터 제거 (재시작 시 전부 0부터 다시)
+ */
+@Slf4j
+@Service
+public class PlayerDataVersionRegistry {
+
+    private static final int MAX_PLAYERS = 10000;
+
+    // 재시작 후 이전 ETag와 겹치지 않도록 기동 시각에서 시작
+    private final AtomicLong versionSequence = new AtomicLong(System.currentTimeMillis());
+
+    private final Map<String, PlayerVersion> versions = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, PlayerVersion> eldest) {
+            return size() > MAX_PLAYERS;
+        }
+    };
+
+    /**
+     * 현재 데이터 버전 (기록 없으면 0)
+     */
+    public long currentVersion(String playerKey) {
+        if (playerKey == null || playerKey.isBlank()) {
+            return 0L;
+        }
+        synchronized (versions) {
+            PlayerVersion version = versions.get(normalize(playerKey));
+            return version == null ? 0L : version.version();
+        }
+    }
+
+    /**
+     * 📝 최근 매치 ID 목록 기록, 이전과 다르면 새 버전 발급
+     * 같은 플레이어를 가리키는 여러 키를 한 번에 같은 버전으로 묶음
+     */
+    public long recordMatchIds(Collection<String> playerKeys, List<String> matchIds) {
+        String fingerprint = PersistentTtlCache.hashKey(matchIds.toArray(String[]::new));
+
+        synchronized (versions) {
+            PlayerVersion existing = playerKeys.stream()
+                    .filter(key -> key != null && !key.isBlank())
+                    .map(key -> versions.get(normalize(key)))
+                    .filter(version -> version != null && version.fingerprint().equals(fingerprint))
+                    .findFirst()
+                    .orElse(null);
+
+            PlayerVersion recorded = existing != null
+                    ? existing
+                    : new PlayerVersion(versionSequence.incrementAndGet(), fingerprint);
+
+            for (String key : playerKeys) {
+                if (key != null && !key.isBlank()) {
+                    versions.put(normalize(key), recorded);
+                }
+            }
+
+            if (existing == null) {
+                log.debug("플레이어 데이터 버전 갱신: {} → {}", playerKeys, recorded.version());
+            }
+            return recorded.version();
+        }
+    }
+
+    private String normalize(String playerKey) {
+        return playerKey.strip().toLowerCase(Locale.ROOT);
+    }
+
+    record PlayerVersion(long version, String fingerprint) {
+    }
+}
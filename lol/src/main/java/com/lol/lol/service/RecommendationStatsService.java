@@ -0,0 +1,355 @@
+package com.lol.lol.service;
+
+import com.lol.lol.dto.ChampionRecommendation;
+import com.lol.lol.stats.CountMinSketch;
+import com.lol.lol.stats.Hashes;
+import com.lol.lol.stats.HyperLogLog;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 📈 추천 사용 통계 엔진 (락 없음, 메모리 내)
+ * 시간 버킷 링(기본 5분 × 288 = 24시간)에 요청을 기록하고, 조회 시 원하는 구간의 버킷만 합산
+ * - 요청 수 / 추천 챔피언 수 / 라인별 수: LongAdder (스레드별 분산 카운터)
+ * - 활성 사용자 수: HyperLogLog (버킷별 레지스터를 최대값으로 병합)
+ * - 많이 추천된 챔피언: Count-Min 스케치 + 버킷별 상위 후보 목록
+ * 기록 경로는 객체를 만들지 않음 (문자열 해시도 문자 단위로 직접 계산)
+ * 버킷이 재사용될 때 초기화와 동시에 들어온 기록 몇 건은 유실될 수 있음 (근사 통계)
+ */
+@Slf4j
+@Service
+public class RecommendationStatsService {
+
+    private static final String[] ROLES = {"TOP", "JUNGLE", "MID", "ADC", "SUPPORT"};
+    private static final int HLL_PRECISION = 10;
+    private static final int SKETCH_DEPTH = 4;
+    private static final int SKETCH_WIDTH = 512;
+    private static final int HEAVY_HITTER_SLOTS = 32;
+    private static final int TOP_CHAMPIONS = 5;
+
+    private final long bucketMillis;
+    private final WindowBucket[] buckets;
+    private final LongAdder totalRequests = new LongAdder();
+    private final Instant collectingSince = Instant.now();
+
+    public RecommendationStatsService(
+            @Value("${recommendation.stats.bucket-seconds:300}") long bucketSeconds,
+            @Value("${recommendation.stats.window-buckets:288}") int windowBuckets,
+            MeterRegistry meterRegistry) {
+        this.bucketMillis = Duration.ofSeconds(bucketSeconds).toMillis();
+        this.buckets = new WindowBucket[windowBuckets];
+        for (int i = 0; i < windowBuckets; i++) {
+            buckets[i] = new WindowBucket();
+        }
+
+        FunctionCounter.builder("recommendations.served", totalRequests, LongAdder::sum)
+                .description("통계에 기록된 추천 요청 수")
+                .register(meterRegistry);
+    }
+
+    // ===== 기록 (요청마다 호출) =====
+
+    /**
+     * 📝 캐시된 응답에서 뽑아둔 챔피언 목록으로 기록
+     */
+    public void record(String userKey, ServedChampion[] champions) {
+        WindowBucket bucket = recordRequest(userKey);
+        for (ServedChampion champion : champions) {
+            recordChampion(bucket, champion.name(), champion.role(), champion.confidence());
+        }
+    }
+
+    /**
+     * 📝 추천 엔진 결과로 기록
+     */
+    public void record(String userKey, List<ChampionRecommendation> recommendations) {
+        WindowBucket bucket = recordRequest(userKey);
+        for (int i = 0; i < recommendations.size(); i++) {
+            ChampionRecommendation rec = recommendations.get(i);
+            recordChampion(bucket, rec.getChampionName(), rec.getPrimaryRole(), rec.getConfidenceScore());
+        }
+    }
+
+    /**
+     * 📝 직렬화 전 응답 맵(champions 목록)으로 기록
+     */
+    public void recordRendered(String userKey, Map<String, Object> response) {
+        WindowBucket bucket = recordRequest(userKey);
+        if (!(response.get("champions") instanceof List<?> champions)) {
+            return;
+        }
+        for (int i = 0; i < champions.size(); i++) {
+            if (champions.get(i) instanceof Map<?, ?> champion) {
+                recordChampion(bucket, (String) champion.get("name"), (String) champion.get("role"),
+                        renderedConfidence(champion.get("confidence")));
+            }
+        }
+    }
+
+    /**
+     * 응답 맵에서 통계용 챔피언 정보 추출 (캐시 저장 시 한 번만)
+     */
+    public static ServedChampion[] servedChampions(Map<String, Object> response) {
+        if (!(response.get("champions") instanceof List<?> champions)) {
+            return new ServedChampion[0];
+        }
+        return champions.stream()
+                .filter(Map.class::isInstance)
+                .map(Map.class::cast)
+                .map(champion -> new ServedChampion(
+                        (String) champion.get("name"),
+                        (String) champion.get("role"),
+                        renderedConfidence(champion.get("confidence"))))
+                .toArray(ServedChampion[]::new);
+    }
+
+    private WindowBucket recordRequest(String userKey) {
+        totalRequests.increment();
+        WindowBucket bucket = currentBucket(System.currentTimeMillis());
+        bucket.requests.increment();
+        if (userKey != null && !userKey.isBlank()) {
+            bucket.users.add(Hashes.hash64IgnoreCase(userKey));
+        }
+        return bucket;
+    }
+
+    private void recordChampion(WindowBucket bucket, String name, String role, double confidence) {
+        if (name == null || name.isEmpty()) {
+            return;
+        }
+        bucket.recommendedChampions.increment();
+        bucket.confidenceSum.add(confidence);
+
+        long hash = Hashes.hash64(name);
+        bucket.champions.add(hash, 1);
+        bucket.offerHeavyHitter(name, bucket.champions.estimate(hash));
+
+        int roleIndex = roleIndex(role);
+        if (roleIndex >= 0) {
+            bucket.roles[roleIndex].increment();
+        }
+    }
+
+    /**
+     * 현재 시각의 버킷, 이전 주기의 버킷이면 CAS에 성공한 스레드 하나만 초기화
+     */
+    private WindowBucket currentBucket(long now) {
+        long slot = now / bucketMillis;
+        WindowBucket bucket = buckets[(int) (slot % buckets.length)];
+        long bucketSlot = bucket.slot.get();
+        if (bucketSlot < slot && bucket.slot.compareAndSet(bucketSlot, slot)) {
+            bucket.clear();
+        }
+        return bucket;
+    }
+
+    // ===== 조회 =====
+
+    /**
+     * 🔍 최근 window 구간 통계 (최대 보관 구간으로 제한)
+     */
+    public StatsSnapshot snapshot(Duration window) {
+        long nowSlot = System.currentTimeMillis() / bucketMillis;
+        int span = (int) Math.max(1, Math.min(buckets.length, ceilDiv(window.toMillis(), bucketMillis)));
+
+        List<WindowBucket> included = new ArrayList<>();
+        for (WindowBucket bucket : buckets) {
+            long slot = bucket.slot.get();
+            if (slot > nowSlot - span && slot <= nowSlot) {
+                included.add(bucket);
+            }
+        }
+
+        long requests = 0;
+        long recommended = 0;
+        double confidenceSum = 0.0;
+        long[] roleCounts = new long[ROLES.length];
+        int[] registers = new int[1 << HLL_PRECISION];
+        Set<String> candidates = new HashSet<>();
+
+        for (WindowBucket bucket : included) {
+            requests += bucket.requests.sum();
+            recommended += bucket.recommendedChampions.sum();
+            confidenceSum += bucket.confidenceSum.sum();
+            for (int i = 0; i < ROLES.length; i++) {
+                roleCounts[i] += bucket.roles[i].sum();
+            }
+            bucket.users.mergeInto(registers);
+            bucket.collectCandidates(candidates);
+        }
+
+        List<ChampionCount> topChampions = candidates.stream()
+                .map(name -> {
+                    long hash = Hashes.hash64(name);
+                    long count = included.stream().mapToLong(bucket -> bucket.champions.estimate(hash)).sum();
+                    return new ChampionCount(name, count);
+                })
+                .filter(champion -> champion.count() > 0)
+                .sorted(Comparator.comparingLong(ChampionCount::count).reversed()
+                        .thenComparing(ChampionCount::name))
+                .limit(TOP_CHAMPIONS)
+                .toList();
+
+        long roleTotal = 0;
+        for (long count : roleCounts) {
+            roleTotal += count;
+        }
+        Map<String, Double> roleDistribution = new LinkedHashMap<>();
+        for (int i = 0; i < ROLES.length; i++) {
+            double percent = roleTotal == 0 ? 0.0 : roleCounts[i] * 100.0 / roleTotal;
+            roleDistribution.put(ROLES[i], Math.round(percent * 10) / 10.0);
+        }
+
+        return new StatsSnapshot(
+                Duration.ofMillis(span * bucketMillis),
+                requests,
+                recommended,
+                HyperLogLog.estimate(registers),
+                recommended == 0 ? 0.0 : Math.round(confidenceSum / recommended * 1000) / 1000.0,
+                topChampions,
+                roleDistribution,
+                totalRequests.sum(),
+                collectingSince
+        );
+    }
+
+    public Duration maxWindow() {
+        return Duration.ofMillis(bucketMillis * buckets.length);
+    }
+
+    // ===== 유틸리티 =====
+
+    private static int roleIndex(String role) {
+        if (role == null) {
+            return -1;
+        }
+        for (int i = 0; i < ROLES.length; i++) {
+            if (ROLES[i].equalsIgnoreCase(role)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 응답 맵의 confidence는 0~100 정수 → 0~1
+     */
+    private static double renderedConfidence(Object value) {
+        return value instanceof Number number ? number.doubleValue() / 100.0 : 0.0;
+    }
+
+    private static long ceilDiv(long x, long y) {
+        return -Math.floorDiv(-x, y);
+    }
+
+    /**
+     * 시간 버킷 하나 (slot = 시각 / 버킷 길이)
+     */
+    private static final class WindowBucket {
+        final AtomicLong slot = new AtomicLong(-1);
+        final LongAdder requests = new LongAdder();
+        final LongAdder recommendedChampions = new LongAdder();
+        final DoubleAdder confidenceSum = new DoubleAdder();
+        final LongAdder[] roles = new LongAdder[ROLES.length];
+        final HyperLogLog users = new HyperLogLog(HLL_PRECISION);
+        final CountMinSketch champions = new CountMinSketch(SKETCH_DEPTH, SKETCH_WIDTH);
+        final AtomicReferenceArray<String> candidates = new AtomicReferenceArray<>(HEAVY_HITTER_SLOTS);
+
+        WindowBucket() {
+            for (int i = 0; i < roles.length; i++) {
+                roles[i] = new LongAdder();
+            }
+        }
+
+        /**
+         * 상위 후보 갱신: 이미 있으면 그대로, 빈 칸이 있으면 채우고,
+         * 꽉 찼으면 가장 적게 추정되는 후보보다 많을 때만 교체
+         */
+        void offerHeavyHitter(String name, long estimate) {
+            int weakest = -1;
+            String weakestName = null;
+            long weakestCount = Long.MAX_VALUE;
+
+            for (int i = 0; i < HEAVY_HITTER_SLOTS; i++) {
+                String candidate = candidates.get(i);
+                if (candidate == null) {
+                    if (candidates.compareAndSet(i, null, name)) {
+                        return;
+                    }
+                    candidate = candidates.get(i);
+                }
+                if (candidate.equals(name)) {
+                    return;
+                }
+                long count = champions.estimate(Hashes.hash64(candidate));
+                if (count < weakestCount) {
+                    weakest = i;
+                    weakestName = candidate;
+                    weakestCount = count;
+                }
+            }
+
+            if (weakest >= 0 && estimate > weakestCount) {
+                candidates.compareAndSet(weakest, weakestName, name);
+            }
+        }
+
+        void collectCandidates(Set<String> target) {
+            for (int i = 0; i < HEAVY_HITTER_SLOTS; i++) {
+                String candidate = candidates.get(i);
+                if (candidate != null) {
+                    target.add(candidate);
+                }
+            }
+        }
+
+        void clear() {
+            requests.reset();
+            recommendedChampions.reset();
+            confidenceSum.reset();
+            for (LongAdder role : roles) {
+                role.reset();
+            }
+            users.clear();
+            champions.clear();
+            for (int i = 0; i < HEAVY_HITTER_SLOTS; i++) {
+                candidates.set(i, null);
+            }
+        }
+    }
+
+    public record ServedChampion(String name, String role, double confidence) {
+    }
+
+    public record ChampionCount(String name, long count) {
+    }
+
+    public record StatsSnapshot(
+            Duration window,
+            long requests,
+            long recommendedChampions,
+            long activeUsers,
+            double avgConfidence,
+            List<ChampionCount> topChampions,
+            Map<String, Double> roleDistribution,
+            long allTimeRequests,
+            Instant collectingSince) {
+    }
+}
@@ -0,0 +1,96 @@
+package com.lol.lol.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lol.lol.cache.PersistentTtlCache;
+import com.lol.lol.dto.MatchDto;
+import com.lol.lol.dto.PlayerSnapshot;
+import com.lol.lol.upstream.Upstream;
+import com.lol.lol.upstream.UpstreamGateway;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * 🗄️ Riot 데이터 로컬 저장소 (메모리 + 디스크)
+ * - 플레이어 스냅샷: 마지막으로 성공한 전적 검색의 계정/소환사/리그/매치 ID (Riot ID 기준)
+ * - 매치 상세: 끝난 매치는 바뀌지 않으므로 한 번 받으면 재사용 (실시간 조회도 여기부터 확인)
+ * Riot 회로가 열려 있거나(장애/한도 초과) 실시간 조회가 실패하면 검색 화면은 이 값으로 "○○ 기준" 표시와 함께 구성
+ */
+@Slf4j
+@Service
+public class RiotDataStore {
+
+    private final PersistentTtlCache<PlayerSnapshot> players;
+    private final PersistentTtlCache<MatchDto> matches;
+    private final Duration playerRetention;
+    private final Duration matchRetention;
+    private final UpstreamGateway upstreamGateway;
+    private final MeterRegistry meterRegistry;
+
+    public RiotDataStore(ObjectMapper objectMapper,
+                         UpstreamGateway upstreamGateway,
+                         MeterRegistry meterRegistry,
+                         @Value("${riot.store.dir:.cache/riot}") String storeDir,
+                         @Value("${riot.store.player-retention-days:14}") long playerRetentionDays,
+                         @Value("${riot.store.match-retention-days:30}") long matchRetentionDays) {
+        this.upstreamGateway = upstreamGateway;
+        this.meterRegistry = meterRegistry;
+        this.playerRetention = Duration.ofDays(playerRetentionDays);
+        this.matchRetention = Duration.ofDays(matchRetentionDays);
+        this.players = new PersistentTtlCache<>(
+                "riot-players",
+                Path.of(storeDir, "players"),
+                objectMapper,
+                objectMapper.constructType(PlayerSnapshot.class),
+                2000);
+        this.matches = new PersistentTtlCache<>(
+                "riot-matches",
+                Path.of(storeDir, "matches"),
+                objectMapper,
+                objectMapper.constructType(MatchDto.class),
+                5000);
+    }
+
+    /**
+     * Riot 계정/매치 API 중 하나라도 회로가 닫혀 있지 않으면 실시간 조회를 건너뜀
+     */
+    public boolean isRiotDegraded() {
+        return !upstreamGateway.isHealthy(Upstream.RIOT_ACCOUNT) || !upstreamGateway.isHealthy(Upstream.RIOT_MATCH);
+    }
+
+    public Optional<PlayerSnapshot> findPlayer(String gameName, String tagLine) {
+        String riotId = RiotIds.normalize(gameName, tagLine);
+        return riotId == null ? Optional.empty() : players.getIfPresent(PersistentTtlCache.hashKey(riotId));
+    }
+
+    public void savePlayer(PlayerSnapshot snapshot) {
+        String riotId = RiotIds.normalize(snapshot.getGameName(), snapshot.getTagLine());
+        if (riotId != null) {
+            players.put(PersistentTtlCache.hashKey(riotId), snapshot, playerRetention);
+        }
+    }
+
+    public Optional<MatchDto> findMatch(String matchId) {
+        Optional<MatchDto> match = matches.getIfPresent(PersistentTtlCache.hashKey(matchId));
+        meterRegistry.counter("riot.store.match", "result", match.isPresent() ? "hit" : "miss").increment();
+        return match;
+    }
+
+    public void saveMatch(String matchId, MatchDto match) {
+        if (match != null && match.getInfo() != null) {
+            matches.put(PersistentTtlCache.hashKey(matchId), match, matchRetention);
+        }
+    }
+
+    /**
+     * 저장된 스냅샷으로 검색 화면을 보여줄 때마다 기록
+     */
+    public void recordStaleServe(String reason) {
+        meterRegistry.counter("riot.store.stale.served", "reason", reason).increment();
+    }
+}
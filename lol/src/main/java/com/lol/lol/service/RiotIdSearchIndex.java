@@ -0,0 +1,323 @@
+package com.lol.lol.service;
+
+import com.lol.lol.dto.RiotIdentity;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 🔤 Riot ID 자동완성 / 오타 허용 검색 색인 (메모리)
+ * 식별 디렉토리에 쌓인 Riot ID 전체(실시간 조회 + 수집한 매치 참가자)를 담음
+ * - 키: 자모 분해한 "게임이름#태그" (소문자, 공백 제거), 정렬된 동시성 맵에 보관
+ * - 시작할 때 한 번만 디스크에서 적재, 이후에는 디렉토리에 쓰일 때마다 그 항목만 반영 (이름 변경이면 예전 키 제거)
+ * - 접두어: 키 범위(subMap)에서 접두어가 같은 구간만 훑음
+ * - 오타: 정렬된 키를 트라이처럼 훑으며 앞부분이 같은 키끼리 편집 거리 행을 공유하고,
+ *   허용치를 넘은 앞부분은 그 아래 키 전체를 건너뜀 (Levenshtein 오토마톤과 같은 가지치기)
+ * 요청 경로에서는 외부 호출/디스크 읽기 없이 메모리 계산만 함 → 키 입력마다 호출해도 됨
+ */
+@Slf4j
+@Service
+public class RiotIdSearchIndex {
+
+    // 접두어가 짧으면 구간이 매우 넓으므로 이만큼만 훑고 순위를 매김
+    private static final int PREFIX_SCAN_LIMIT = 256;
+    private static final int MAX_FUZZY_QUERY_LENGTH = 30;
+    // 오타 검색 한 번에 계산할 편집 거리 행 수 / 모을 후보 수 상한 (가지치기가 안 되는 입력에서도 시간 보장)
+    private static final int FUZZY_ROW_LIMIT = 20_000;
+    private static final int FUZZY_CANDIDATE_LIMIT = 256;
+    // 키에 나오지 않는 문자: "접두어 + SKIP"보다 큰 첫 키 = 그 접두어로 시작하지 않는 첫 키
+    private static final char SKIP = '\uffff';
+
+    private final RiotIdentityDirectory riotIdentityDirectory;
+    private final MeterRegistry meterRegistry;
+    private final int maxEntries;
+
+    private final ConcurrentSkipListMap<String, RiotIdentity> entries = new ConcurrentSkipListMap<>();
+    private volatile boolean loaded;
+
+    public RiotIdSearchIndex(RiotIdentityDirectory riotIdentityDirectory,
+                             MeterRegistry meterRegistry,
+                             @Value("${riot.search.index.max-entries:100000}") int maxEntries) {
+        this.riotIdentityDirectory = riotIdentityDirectory;
+        this.meterRegistry = meterRegistry;
+        this.maxEntries = maxEntries;
+    }
+
+    @PostConstruct
+    void registerListener() {
+        riotIdentityDirectory.addUpsertListener(this::apply);
+        Gauge.builder("riot.search.index.entries", entries, Map::size)
+                .description("자동완성 색인에 들어 있는 Riot ID 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 🎯 검색어로 Riot ID 추천 (접두어 일치 먼저, 모자라면 오타 허용 일치)
+     */
+    public List<Suggestion> suggest(String query, int limit) {
+        String key = HangulJamo.decompose(query == null ? "" : RiotIds.decode(query));
+        if (key.isEmpty() || limit <= 0 || entries.isEmpty()) {
+            return List.of();
+        }
+
+        List<Suggestion> suggestions = new ArrayList<>(limit);
+        Set<String> seen = new HashSet<>();
+
+        for (Map.Entry<String, RiotIdentity> match : prefixMatches(key, limit)) {
+            seen.add(match.getKey());
+            suggestions.add(suggestion(match.getValue(), false));
+        }
+
+        if (suggestions.size() < limit) {
+            for (RiotIdentity identity : fuzzyMatches(key, limit - suggestions.size(), seen)) {
+                suggestions.add(suggestion(identity, true));
+            }
+        }
+
+        String result = suggestions.isEmpty() ? "empty"
+                : suggestions.get(suggestions.size() - 1).fuzzy() ? "fuzzy" : "prefix";
+        meterRegistry.counter("riot.search.suggest", "result", result).increment();
+        return suggestions;
+    }
+
+    /**
+     * 🔄 처음 한 번은 저장소 전체 적재, 이후에는 상한을 넘었을 때 오래전에 확인된 항목만 정리 (메모리만 봄)
+     */
+    @Scheduled(initialDelayString = "${riot.search.index.initial-delay-ms:0}",
+            fixedDelayString = "${riot.search.index.trim-ms:300000}")
+    public void maintain() {
+        try {
+            if (!loaded) {
+                for (RiotIdentity identity : riotIdentityDirectory.allIdentities()) {
+                    index(identity);
+                }
+                loaded = true;
+                log.info("Riot ID 검색 색인 적재: {} 개", entries.size());
+            }
+            trim();
+
+        } catch (Exception e) {
+            log.error("Riot ID 검색 색인 적재/정리 실패, 다음 주기에 재시도", e);
+        }
+    }
+
+    // ===== 내부 구현 =====
+
+    /**
+     * 디렉토리에 새로 쓰인 식별 정보 반영 (Riot ID가 바뀌었으면 예전 키에서 이 플레이어를 뺌)
+     */
+    private void apply(RiotIdentity previous, RiotIdentity current) {
+        if (previous != null) {
+            String previousKey = keyOf(previous);
+            if (previousKey != null && !previousKey.equals(keyOf(current))) {
+                entries.computeIfPresent(previousKey,
+                        (k, indexed) -> indexed.getPuuid().equals(previous.getPuuid()) ? null : indexed);
+            }
+        }
+        index(current);
+    }
+
+    /**
+     * 같은 Riot ID가 여럿이면(이름 변경 후 재사용) 가장 최근에 확인된 것
+     */
+    private void index(RiotIdentity identity) {
+        String key = keyOf(identity);
+        if (key != null) {
+            entries.merge(key, identity, (a, b) -> a.getObservedAt() >= b.getObservedAt() ? a : b);
+        }
+    }
+
+    private void trim() {
+        int excess = entries.size() - maxEntries;
+        if (excess <= 0) {
+            return;
+        }
+        List<Map.Entry<String, RiotIdentity>> oldest = new ArrayList<>(entries.entrySet());
+        oldest.sort(Comparator.comparingLong(e -> e.getValue().getObservedAt()));
+        for (int i = 0; i < excess; i++) {
+            entries.remove(oldest.get(i).getKey(), oldest.get(i).getValue());
+        }
+        log.info("Riot ID 검색 색인 정리: 오래된 {} 개 제거", excess);
+    }
+
+    private static String keyOf(RiotIdentity identity) {
+        if (RiotIds.normalize(identity.getGameName(), identity.getTagLine()) == null) {
+            return null;
+        }
+        return HangulJamo.decompose(identity.getGameName()) + "#" + HangulJamo.decompose(identity.getTagLine());
+    }
+
+    /**
+     * 접두어 구간에서 이름이 정확히 같은 것 → 짧은 것 → 최근에 확인된 것 순
+     */
+    private List<Map.Entry<String, RiotIdentity>> prefixMatches(String key, int limit) {
+        ConcurrentNavigableMap<String, RiotIdentity> range = entries.subMap(key, true, key + SKIP, false);
+
+        List<Map.Entry<String, RiotIdentity>> matches = new ArrayList<>();
+        for (Map.Entry<String, RiotIdentity> entry : range.entrySet()) {
+            if (matches.size() >= PREFIX_SCAN_LIMIT) {
+                break;
+            }
+            matches.add(entry);
+        }
+
+        String nameKey = key + "#";
+        matches.sort(Comparator.comparing((Map.Entry<String, RiotIdentity> e) -> !e.getKey().startsWith(nameKey))
+                .thenComparingInt(e -> e.getKey().length())
+                .thenComparingLong(e -> -e.getValue().getObservedAt()));
+        return matches.subList(0, Math.min(limit, matches.size()));
+    }
+
+    /**
+     * 검색어와 색인 키 앞부분의 자모 편집 거리가 허용치 이하인 것 (가까운 것 → 짧은 것 순)
+     * 정렬된 키를 차례로 보며 직전 키와 같은 앞부분까지의 편집 거리 행은 다시 계산하지 않음
+     * 어떤 앞부분에서 행의 최소값이 허용치를 넘으면 그 앞부분으로 시작하는 키는 모두 건너뜀
+     */
+    private List<RiotIdentity> fuzzyMatches(String query, int limit, Set<String> exclude) {
+        int m = query.length();
+        int maxEdits = maxEdits(m);
+        if (maxEdits == 0 || m > MAX_FUZZY_QUERY_LENGTH) {
+            return List.of();
+        }
+
+        // rows[j]: 검색어 앞부분들과 키 앞 j글자 사이 편집 거리, bestLast[j]: 검색어 전체와 키 앞 1~j글자 중 최소
+        int maxDepth = m + maxEdits;
+        int[][] rows = new int[maxDepth + 1][m + 1];
+        int[] bestLast = new int[maxDepth + 1];
+        for (int i = 0; i <= m; i++) {
+            rows[0][i] = i;
+        }
+        bestLast[0] = m;
+
+        List<Candidate> candidates = new ArrayList<>();
+        String previous = "";
+        int validDepth = 0;
+        int computedRows = 0;
+        Map.Entry<String, RiotIdentity> entry = entries.firstEntry();
+
+        while (entry != null && computedRows < FUZZY_ROW_LIMIT && candidates.size() < FUZZY_CANDIDATE_LIMIT) {
+            String key = entry.getKey();
+            int depth = Math.min(key.length(), maxDepth);
+            int shared = Math.min(commonPrefixLength(previous, key), validDepth);
+
+            int pruneAt = -1;
+            int reached = depth;
+            for (int j = shared + 1; j <= depth; j++) {
+                computedRows++;
+                if (nextRow(rows[j - 1], rows[j], query, key.charAt(j - 1)) > maxEdits) {
+                    // 이미 검색어 전체가 맞은 앞부분이 있으면 거리는 그대로 확정, 없으면 이 앞부분 아래는 가망 없음
+                    if (bestLast[j - 1] > maxEdits) {
+                        pruneAt = j;
+                    } else {
+                        reached = j - 1;
+                    }
+                    break;
+                }
+                bestLast[j] = Math.min(bestLast[j - 1], rows[j][m]);
+            }
+
+            previous = key;
+            if (pruneAt > 0) {
+                validDepth = pruneAt - 1;
+                entry = entries.higherEntry(key.substring(0, pruneAt) + SKIP);
+                continue;
+            }
+
+            validDepth = reached;
+            if (bestLast[reached] <= maxEdits && !exclude.contains(key)) {
+                candidates.add(new Candidate(entry.getValue(), bestLast[reached], key.length()));
+            }
+            entry = entries.higherEntry(key);
+        }
+
+        candidates.sort(Comparator.comparingInt(Candidate::distance).thenComparingInt(Candidate::length));
+        List<RiotIdentity> result = new ArrayList<>(Math.min(limit, candidates.size()));
+        for (int i = 0; i < candidates.size() && result.size() < limit; i++) {
+            result.add(candidates.get(i).identity());
+        }
+        return result;
+    }
+
+    /**
+     * 키 글자 하나를 더 본 편집 거리 행 계산, 행의 최소값 반환
+     */
+    private static int nextRow(int[] previous, int[] current, String query, char c) {
+        current[0] = previous[0] + 1;
+        int rowMin = current[0];
+        for (int i = 1; i < current.length; i++) {
+            int cost = query.charAt(i - 1) == c ? 0 : 1;
+            current[i] = Math.min(Math.min(current[i - 1] + 1, previous[i] + 1), previous[i - 1] + cost);
+            rowMin = Math.min(rowMin, current[i]);
+        }
+        return rowMin;
+    }
+
+    private static int commonPrefixLength(String a, String b) {
+        int length = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < length && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int maxEdits(int queryLength) {
+        if (queryLength <= 3) {
+            return 0;
+        }
+        if (queryLength <= 6) {
+            return 1;
+        }
+        return queryLength <= 12 ? 2 : 3;
+    }
+
+    /**
+     * query와 target의 "어떤 앞부분" 사이 최소 편집 거리 (입력 중인 검색어용, 색인 탐색과 같은 행 계산)
+     * 허용치를 넘는 것이 확실해지면 바로 maxEdits + 1 반환
+     */
+    static int prefixDistance(String query, String target, int maxEdits) {
+        int m = query.length();
+        int[] previous = new int[m + 1];
+        int[] current = new int[m + 1];
+        for (int i = 0; i <= m; i++) {
+            previous[i] = i;
+        }
+
+        int best = m;
+        int depth = Math.min(target.length(), m + maxEdits);
+        for (int j = 1; j <= depth; j++) {
+            if (nextRow(previous, current, query, target.charAt(j - 1)) > maxEdits) {
+                break;
+            }
+            best = Math.min(best, current[m]);
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return best <= maxEdits ? best : maxEdits + 1;
+    }
+
+    private static Suggestion suggestion(RiotIdentity identity, boolean fuzzy) {
+        return new Suggestion(identity.getGameName(), identity.getTagLine(),
+                identity.getProfileIconId(), identity.getSummonerLevel(), fuzzy);
+    }
+
+    public record Suggestion(String gameName, String tagLine, int profileIconId, Long summonerLevel, boolean fuzzy) {
+    }
+
+    private record Candidate(RiotIdentity identity, int distance, int length) {
+    }
+}
@@ -0,0 +1,295 @@
+package com.lol.lol.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lol.lol.cache.PersistentTtlCache;
+import com.lol.lol.dto.AccountrDto;
+import com.lol.lol.dto.MatchDto;
+import com.lol.lol.dto.ParticipantDto;
+import com.lol.lol.dto.RiotIdentity;
+import com.lol.lol.dto.SummonerDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.BiConsumer;
+
+/**
+ * 🪪 Riot ID 식별 디렉토리 (메모리 + 디스크)
+ * 전적 검색마다 계정 API(Riot ID → puuid)와 소환사 API(puuid → 소환사 ID)를 순서대로 부르던 것을 로컬에서 응답
+ * - puuid → 식별 정보, 정규화된 Riot ID → puuid 두 가지로 저장 (긴 TTL, 확인될 때마다 연장)
+ * - 실시간 조회 결과와 수집한 매치의 참가자(riotIdGameName/riotIdTagline) 모두 반영
+ * - 더 최근 매치에서 다른 Riot ID가 보이면 이름 변경으로 보고 예전 Riot ID 연결을 끊음
+ * 매치 참가자 반영은 요청 스레드에서 큐에 넣기만 하고, 백그라운드에서 모아서 씀 (같은 puuid는 한 번만)
+ * 쓰기는 puuid별 락(분할)으로만 직렬화 → 서로 다른 플레이어 반영은 서로 기다리지 않음
+ */
+@Slf4j
+@Service
+public class RiotIdentityDirectory {
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final PersistentTtlCache<RiotIdentity> identities;
+    private final PersistentTtlCache<String> riotIds;
+    private final Duration ttl;
+    private final MeterRegistry meterRegistry;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    // 매치에서 본 참가자 (요청 스레드 → 백그라운드 반영)
+    private final BlockingQueue<RiotIdentity> observations;
+    private final int flushBatchSize;
+    private final List<BiConsumer<RiotIdentity, RiotIdentity>> upsertListeners = new CopyOnWriteArrayList<>();
+
+    public RiotIdentityDirectory(ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${riot.store.dir:.cache/riot}") String storeDir,
+                                 @Value("${riot.identity.ttl-days:30}") long ttlDays,
+                                 @Value("${riot.identity.max-memory-entries:10000}") int maxMemoryEntries,
+                                 @Value("${riot.identity.queue-capacity:20000}") int queueCapacity,
+                                 @Value("${riot.identity.flush-batch-size:2000}") int flushBatchSize) {
+        this.meterRegistry = meterRegistry;
+        this.ttl = Duration.ofDays(ttlDays);
+        this.observations = new LinkedBlockingQueue<>(queueCapacity);
+        this.flushBatchSize = flushBatchSize;
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+        Gauge.builder("riot.identity.queue.size", observations, BlockingQueue::size)
+                .description("반영 대기 중인 매치 참가자 수")
+                .register(meterRegistry);
+        this.identities = new PersistentTtlCache<>(
+                "riot-identities",
+                Path.of(storeDir, "identities"),
+                objectMapper,
+                objectMapper.constructType(RiotIdentity.class),
+                maxMemoryEntries);
+        this.riotIds = new PersistentTtlCache<>(
+                "riot-ids",
+                Path.of(storeDir, "riot-ids"),
+                objectMapper,
+                objectMapper.constructType(String.class),
+                maxMemoryEntries);
+    }
+
+    /**
+     * 🔍 Riot ID로 식별 정보 조회 (소환사 ID까지 알고 있을 때만)
+     * 그 사이 이름이 바뀐 것으로 확인된 Riot ID는 연결을 끊고 빈 값
+     */
+    public Optional<RiotIdentity> resolve(String gameName, String tagLine) {
+        String riotId = RiotIds.normalize(gameName, tagLine);
+        if (riotId == null) {
+            return Optional.empty();
+        }
+
+        Optional<RiotIdentity> identity = riotIds.getIfPresent(PersistentTtlCache.hashKey(riotId))
+                .flatMap(this::findByPuuid);
+        if (identity.isEmpty() || identity.get().getSummonerId() == null) {
+            count("miss");
+            return Optional.empty();
+        }
+        if (!riotId.equals(riotIdOf(identity.get()))) {
+            riotIds.invalidate(PersistentTtlCache.hashKey(riotId));
+            count("renamed");
+            return Optional.empty();
+        }
+
+        count("hit");
+        return identity;
+    }
+
+    public Optional<RiotIdentity> findByPuuid(String puuid) {
+        return puuid == null ? Optional.empty() : identities.getIfPresent(PersistentTtlCache.hashKey(puuid));
+    }
+
+    /**
+     * 📚 저장된 식별 정보 전체 (디스크 전체를 읽으므로 시작 시 색인 적재에서만 사용)
+     */
+    public List<RiotIdentity> allIdentities() {
+        return identities.values();
+    }
+
+    /**
+     * 🔔 식별 정보가 새로 쓰일 때마다 (이전 값 또는 null, 새 값)으로 호출 (puuid 락 안에서 호출되므로 가볍게)
+     */
+    public void addUpsertListener(BiConsumer<RiotIdentity, RiotIdentity> listener) {
+        upsertListeners.add(listener);
+    }
+
+    /**
+     * ✅ 계정/소환사 API 실시간 응답 반영 (지금 확인한 값이므로 항상 최신)
+     */
+    public void record(AccountrDto account, SummonerDto summoner) {
+        if (account == null || summoner == null || account.getPuuid() == null) {
+            return;
+        }
+        upsert(RiotIdentity.builder()
+                .puuid(account.getPuuid())
+                .summonerId(summoner.getId())
+                .gameName(account.getGameName())
+                .tagLine(account.getTagLine())
+                .profileIconId(summoner.getProfileIconId())
+                .summonerLevel(summoner.getSummonerLevel())
+                .observedAt(System.currentTimeMillis())
+                .build());
+    }
+
+    /**
+     * 🎮 수집한 매치의 참가자 10명을 반영 대기열에 넣음 (이름 변경 감지 + 아이콘/레벨 갱신은 flushObservations에서)
+     * 대기열이 가득 차면 버림 (다음에 같은 플레이어 매치를 볼 때 다시 반영됨)
+     */
+    public void observeMatch(MatchDto match) {
+        if (match == null || match.getInfo() == null || match.getInfo().getParticipants() == null) {
+            return;
+        }
+        long observedAt = match.getInfo().getGameEndTimestamp() > 0
+                ? match.getInfo().getGameEndTimestamp()
+                : match.getInfo().getGameCreation();
+
+        for (ParticipantDto participant : match.getInfo().getParticipants()) {
+            if (participant.getPuuid() == null || participant.getRiotIdGameName() == null
+                    || participant.getRiotIdGameName().isBlank() || participant.getRiotIdTagline() == null) {
+                continue;
+            }
+            RiotIdentity observed = RiotIdentity.builder()
+                    .puuid(participant.getPuuid())
+                    .summonerId(participant.getSummonerId())
+                    .gameName(participant.getRiotIdGameName())
+                    .tagLine(participant.getRiotIdTagline())
+                    .profileIconId(participant.getProfileIcon())
+                    .summonerLevel(participant.getSummonerLevel() > 0 ? (long) participant.getSummonerLevel() : null)
+                    .observedAt(observedAt)
+                    .build();
+            if (!observations.offer(observed)) {
+                meterRegistry.counter("riot.identity.observations", "result", "dropped").increment();
+            }
+        }
+    }
+
+    /**
+     * 🗂️ 대기열에 쌓인 참가자를 모아서 반영
+     * 같은 puuid가 여러 번 보이면(같은 플레이어의 여러 매치) 가장 최근 것 하나만 쓰고, 모르던 소환사 ID는 보충
+     */
+    @Scheduled(fixedDelayString = "${riot.identity.flush-ms:1000}")
+    public void flushObservations() {
+        List<RiotIdentity> batch = new ArrayList<>(Math.min(flushBatchSize, observations.size()));
+        observations.drainTo(batch, flushBatchSize);
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        Map<String, RiotIdentity> latest = new HashMap<>();
+        for (RiotIdentity observed : batch) {
+            latest.merge(observed.getPuuid(), observed, RiotIdentityDirectory::newer);
+        }
+        for (RiotIdentity observed : latest.values()) {
+            try {
+                upsert(observed);
+            } catch (Exception e) {
+                log.warn("참가자 식별 정보 반영 실패: {}", observed.getPuuid(), e);
+            }
+        }
+        meterRegistry.counter("riot.identity.observations", "result", "written").increment(latest.size());
+        meterRegistry.counter("riot.identity.observations", "result", "coalesced").increment(batch.size() - latest.size());
+    }
+
+    @PreDestroy
+    void flushOnShutdown() {
+        while (!observations.isEmpty()) {
+            flushObservations();
+        }
+    }
+
+    // ===== 내부 구현 =====
+
+    /**
+     * 저장된 인스턴스는 고치지 않고, 바꿀 내용이 있으면 사본을 만들어 교체
+     */
+    private void upsert(RiotIdentity incoming) {
+        synchronized (lockFor(incoming.getPuuid())) {
+            RiotIdentity known = findByPuuid(incoming.getPuuid()).orElse(null);
+
+            if (known != null && incoming.getObservedAt() <= known.getObservedAt()) {
+                // 예전 매치에서 본 값: 모르던 소환사 ID만 보충
+                if (known.getSummonerId() == null && incoming.getSummonerId() != null) {
+                    RiotIdentity filled = known.toBuilder().summonerId(incoming.getSummonerId()).build();
+                    identities.put(PersistentTtlCache.hashKey(filled.getPuuid()), filled, ttl);
+                }
+                return;
+            }
+
+            RiotIdentity observed = incoming.toBuilder().build();
+            if (known != null) {
+                if (observed.getSummonerId() == null) {
+                    observed.setSummonerId(known.getSummonerId());
+                }
+                if (observed.getSummonerLevel() == null) {
+                    observed.setSummonerLevel(known.getSummonerLevel());
+                }
+            }
+
+            String riotId = riotIdOf(observed);
+            if (known != null) {
+                String previousRiotId = riotIdOf(known);
+                if (previousRiotId != null && !previousRiotId.equals(riotId)) {
+                    riotIds.invalidate(PersistentTtlCache.hashKey(previousRiotId));
+                    meterRegistry.counter("riot.identity.renamed").increment();
+                    log.info("🪪 Riot ID 변경 감지: {}#{} → {}#{}",
+                            known.getGameName(), known.getTagLine(), observed.getGameName(), observed.getTagLine());
+                } else if (isUnchanged(known, observed)) {
+                    // 같은 내용이면 디스크 쓰기 생략 (TTL은 하루 이상 지났을 때만 연장)
+                    if (observed.getObservedAt() - known.getObservedAt() < Duration.ofDays(1).toMillis()) {
+                        return;
+                    }
+                }
+            }
+
+            identities.put(PersistentTtlCache.hashKey(observed.getPuuid()), observed, ttl);
+            if (riotId != null) {
+                riotIds.put(PersistentTtlCache.hashKey(riotId), observed.getPuuid(), ttl);
+            }
+            for (BiConsumer<RiotIdentity, RiotIdentity> listener : upsertListeners) {
+                listener.accept(known, observed);
+            }
+        }
+    }
+
+    private Object lockFor(String puuid) {
+        return locks[Math.floorMod(puuid.hashCode(), locks.length)];
+    }
+
+    private static RiotIdentity newer(RiotIdentity a, RiotIdentity b) {
+        RiotIdentity newer = a.getObservedAt() >= b.getObservedAt() ? a : b;
+        RiotIdentity older = newer == a ? b : a;
+        if (newer.getSummonerId() == null && older.getSummonerId() != null) {
+            return newer.toBuilder().summonerId(older.getSummonerId()).build();
+        }
+        return newer;
+    }
+
+    private static boolean isUnchanged(RiotIdentity known, RiotIdentity observed) {
+        return Objects.equals(known.getSummonerId(), observed.getSummonerId())
+                && known.getProfileIconId() == observed.getProfileIconId()
+                && Objects.equals(known.getSummonerLevel(), observed.getSummonerLevel());
+    }
+
+    private static String riotIdOf(RiotIdentity identity) {
+        return RiotIds.normalize(identity.getGameName(), identity.getTagLine());
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("riot.identity.lookup", "result", result).increment();
+    }
+}
@@ -0,0 +1,34 @@
+package com.lol.lol.service;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * 🏷️ Riot ID(게임 이름#태그) 정규화
+ * 폼 값은 URL 인코딩된 채 오기도 하므로 디코딩 후 앞뒤 공백 제거, 대소문자 무시
+ * Riot도 Riot ID 조회는 대소문자를 구분하지 않음
+ */
+public final class RiotIds {
+
+    private RiotIds() {
+    }
+
+    /**
+     * "게임이름#태그" 형태의 정규화 키 (둘 중 하나라도 비어 있으면 null)
+     */
+    public static String normalize(String gameName, String tagLine) {
+        if (gameName == null || tagLine == null || gameName.isBlank() || tagLine.isBlank()) {
+            return null;
+        }
+        return (decode(gameName) + "#" + decode(tagLine)).toLowerCase(Locale.ROOT);
+    }
+
+    public static String decode(String value) {
+        try {
+            return URLDecoder.decode(value, StandardCharsets.UTF_8).strip();
+        } catch (IllegalArgumentException e) {
+            return value.strip();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.lol.lol.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 🚫 "없음" 결과 캐시 (정규화된 Riot ID 기준, 메모리에만 짧게 보관)
+ * - 없는 Riot ID: 계정 API 404 → 오타/봇이 같은 이름을 반복해도 Riot 쿼터를 쓰지 않음
+ * - 언랭크: 리그 API 빈 결과 → 같은 플레이어를 다시 검색해도 리그 조회 생략
+ * 계정 생성/첫 배치 완료가 늦게 반영되지 않도록 TTL은 짧게 유지
+ */
+@Slf4j
+@Service
+public class RiotNegativeCache {
+
+    private static final String UNKNOWN_ACCOUNT = "account";
+    private static final String UNRANKED = "league";
+
+    private final Duration accountTtl;
+    private final Duration leagueTtl;
+    private final int maxEntries;
+    private final Map<String, Long> expiresAt;
+    private final MeterRegistry meterRegistry;
+
+    public RiotNegativeCache(@Value("${riot.negative.account-ttl-seconds:300}") long accountTtlSeconds,
+                             @Value("${riot.negative.league-ttl-seconds:600}") long leagueTtlSeconds,
+                             @Value("${riot.negative.max-entries:10000}") int maxEntries,
+                             MeterRegistry meterRegistry) {
+        this.accountTtl = Duration.ofSeconds(accountTtlSeconds);
+        this.leagueTtl = Duration.ofSeconds(leagueTtlSeconds);
+        this.maxEntries = maxEntries;
+        this.meterRegistry = meterRegistry;
+        this.expiresAt = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > RiotNegativeCache.this.maxEntries;
+            }
+        };
+    }
+
+    public boolean isUnknownAccount(String gameName, String tagLine) {
+        return lookup(UNKNOWN_ACCOUNT, gameName, tagLine);
+    }
+
+    public void recordUnknownAccount(String gameName, String tagLine) {
+        record(UNKNOWN_ACCOUNT, gameName, tagLine, accountTtl);
+    }
+
+    public boolean isUnranked(String gameName, String tagLine) {
+        return lookup(UNRANKED, gameName, tagLine);
+    }
+
+    public void recordUnranked(String gameName, String tagLine) {
+        record(UNRANKED, gameName, tagLine, leagueTtl);
+    }
+
+    /**
+     * 입장 제어용 확인 (지표에 영향 없음)
+     */
+    public boolean containsUnknownAccount(String gameName, String tagLine) {
+        String key = key(UNKNOWN_ACCOUNT, gameName, tagLine);
+        if (key == null) {
+            return false;
+        }
+        synchronized (expiresAt) {
+            Long expiry = expiresAt.get(key);
+            return expiry != null && expiry > System.currentTimeMillis();
+        }
+    }
+
+    private boolean lookup(String kind, String gameName, String tagLine) {
+        String key = key(kind, gameName, tagLine);
+        if (key == null) {
+            return false;
+        }
+        boolean hit;
+        synchronized (expiresAt) {
+            Long expiry = expiresAt.get(key);
+            hit = expiry != null && expiry > System.currentTimeMillis();
+            if (expiry != null && !hit) {
+                expiresAt.remove(key);
+            }
+        }
+        meterRegistry.counter("riot.negative.cache", "kind", kind, "result", hit ? "hit" : "miss").increment();
+        return hit;
+    }
+
+    private void record(String kind, String gameName, String tagLine, Duration ttl) {
+        String key = key(kind, gameName, tagLine);
+        if (key == null) {
+            return;
+        }
+        synchronized (expiresAt) {
+            expiresAt.put(key, System.currentTimeMillis() + ttl.toMillis());
+        }
+        log.debug("없음 결과 캐시 저장: {}", key);
+    }
+
+    private static String key(String kind, String gameName, String tagLine) {
+        String riotId = RiotIds.normalize(gameName, tagLine);
+        return riotId == null ? null : kind + ":" + riotId;
+    }
+}
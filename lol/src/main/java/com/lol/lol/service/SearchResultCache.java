@@ -0,0 +1,107 @@
+package com.lol.lol.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 🗃️ 전적 검색(/result) 화면 모델 캐시
+ * 같은 Riot ID를 짧은 시간 안에 다시 검색하면 외부 호출 없이 바로 렌더링
+ * 입장 제어 필터도 이 캐시로 "바로 처리 가능한 요청"을 구분해 대기열을 건너뛰게 함
+ * - 키: 게임 이름#태그 (URL 디코딩, 대소문자/공백 무시)
+ * - 메모리에만 보관, 오래 안 쓰인 항목부터 제거
+ */
+@Slf4j
+@Service
+public class SearchResultCache {
+
+    private final Duration ttl;
+    private final int maxEntries;
+    private final Map<String, CachedSearch> entries;
+    // 저장 시각 (contains용, entries.get은 접근 순서를 바꾸므로 따로 둠, entries와 같은 잠금 안에서만 변경)
+    private final Map<String, Instant> cachedAt = new HashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    public SearchResultCache(@Value("${search.cache.ttl-seconds:120}") long ttlSeconds,
+                             @Value("${search.cache.max-entries:1000}") int maxEntries,
+                             MeterRegistry meterRegistry) {
+        this.ttl = Duration.ofSeconds(ttlSeconds);
+        this.maxEntries = maxEntries;
+        this.meterRegistry = meterRegistry;
+        this.entries = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedSearch> eldest) {
+                if (size() > SearchResultCache.this.maxEntries) {
+                    cachedAt.remove(eldest.getKey());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * 만료되지 않은 화면 모델 (없으면 빈 값, null 속성 포함 가능)
+     */
+    public Optional<Map<String, Object>> get(String gameName, String tagLine) {
+        String key = key(gameName, tagLine);
+        if (key == null) {
+            return Optional.empty();
+        }
+        synchronized (entries) {
+            CachedSearch cached = entries.get(key);
+            if (cached == null || cached.isExpired(ttl)) {
+                meterRegistry.counter("search.result.cache", "result", "miss").increment();
+                return Optional.empty();
+            }
+            meterRegistry.counter("search.result.cache", "result", "hit").increment();
+            return Optional.of(cached.model());
+        }
+    }
+
+    /**
+     * 입장 제어용 확인 (접근 순서/지표에 영향 없음)
+     */
+    public boolean contains(String gameName, String tagLine) {
+        String key = key(gameName, tagLine);
+        if (key == null) {
+            return false;
+        }
+        synchronized (entries) {
+            Instant storedAt = cachedAt.get(key);
+            return storedAt != null && !storedAt.plus(ttl).isBefore(Instant.now());
+        }
+    }
+
+    public void put(String gameName, String tagLine, Map<String, Object> model) {
+        String key = key(gameName, tagLine);
+        if (key == null) {
+            return;
+        }
+        Instant now = Instant.now();
+        synchronized (entries) {
+            cachedAt.put(key, now);
+            entries.put(key, new CachedSearch(Collections.unmodifiableMap(new LinkedHashMap<>(model)), now));
+        }
+        log.debug("전적 검색 결과 캐시 저장: {}", key);
+    }
+
+    private static String key(String gameName, String tagLine) {
+        return RiotIds.normalize(gameName, tagLine);
+    }
+
+    record CachedSearch(Map<String, Object> model, Instant cachedAt) {
+        boolean isExpired(Duration ttl) {
+            return cachedAt.plus(ttl).isBefore(Instant.now());
+        }
+    }
+}
@@ -1,19 +1,32 @@
 package com.lol.lol.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lol.lol.deadline.Deadline;
+import com.lol.lol.deadline.DeadlineContext;
+import com.lol.lol.metrics.PipelineMetrics;
+import com.lol.lol.tracing.TraceContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.Builder;
-import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
-import java.net.URLEncoder;
-import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Slf4j
 @Service
@@ -21,130 +34,372 @@ import java.util.*;
 public class SlotBasedVideoService {
 
     private final GeminiAIService geminiAIService;
-    private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper;
-
-    @Value("${youtube.api.key}")
-    private String youtubeApiKey;
+    private final YouTubeClient youTubeClient;
+
+    // 스냅샷 갱신 1회에 허용하는 시간 (넘긴 슬롯은 폴백 → 직전 결과 유지)
+    @Value("${youtube.slot.deadline-ms:30000}")
+    private long slotDeadlineMs;
+
+    private static final List<String> COMMON_SLOTS = List.of("TIERLIST", "META", "CALM_MUSIC", "ENERGETIC_MUSIC");
+    private static final List<String> TIER_SLOTS = List.of("TIER_GUIDE", "TIER_CONTENT");
+    private static final List<String> TIER_CATEGORIES = List.of("LOW_TIER", "MID_TIER", "HIGH_TIER");
+    private static final String COMMON_KEY = "COMMON";
+    // 검색어 대기는 마감에서 끊기므로, 슬롯 대기는 그 뒤 필터링까지 끝낼 여유를 더 줌 (늦은 검색어만 빠진 슬롯도 받음)
+    private static final long SLOT_GRACE_NANOS = TimeUnit.SECONDS.toNanos(2);
+    private static final List<String> DEFAULT_SEARCH_TERMS = List.of("리그오브레전드", "롤 가이드", "LOL");
+
+    private final MeterRegistry meterRegistry;
+    private final PipelineMetrics pipelineMetrics;
+
+    // 슬롯/검색어별 외부 호출은 대부분 I/O 대기라 가상 스레드로 병렬 처리
+    private final ExecutorService slotExecutor = DeadlineContext.propagating(
+            TraceContext.propagating(Executors.newVirtualThreadPerTaskExecutor()));
+
+    // 백그라운드에서 미리 계산한 티어 카테고리별 슬롯 결과 (요청 경로는 조회만)
+    private volatile SlotSnapshot snapshot;
+
+    private Counter snapshotHits;
+    private Counter snapshotMisses;
+
+    @PostConstruct
+    void registerSnapshotMetrics() {
+        Gauge.builder("video.slots.snapshot.age", this, SlotBasedVideoService::snapshotAgeSeconds)
+                .description("마지막 슬롯 스냅샷 갱신 후 경과 시간")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("video.slots.snapshot.fallback", this, SlotBasedVideoService::snapshotFallbackCount)
+                .description("스냅샷에 포함된 폴백 슬롯 수")
+                .register(meterRegistry);
+        snapshotHits = meterRegistry.counter("video.slots.requests", "source", "snapshot");
+        snapshotMisses = meterRegistry.counter("video.slots.requests", "source", "fallback");
+    }
 
     /**
      * 🎯 슬롯 기반 영상 추천 메인 메서드
+     * 미리 계산된 스냅샷에서 티어 카테고리로 조회만 함 (외부 호출 없음)
      */
     public List<SlotVideoRecommendation> generateSlotBasedRecommendations(String playerTier) {
-        log.info("=== 슬롯 기반 영상 추천 시작: {} ===", playerTier);
+        String tierCategory = getTierCategory(playerTier);
+        SlotSnapshot current = snapshot;
+
+        if (current == null) {
+            log.warn("슬롯 스냅샷 준비 전, 폴백 슬롯 제공: {}", playerTier);
+            snapshotMisses.increment();
+            return createFallbackSlots();
+        }
 
-        List<SlotVideoRecommendation> recommendations = new ArrayList<>();
+        snapshotHits.increment();
+        log.debug("슬롯 스냅샷 조회: {} ({}, 생성: {})", playerTier, tierCategory, current.builtAt());
+        return current.slotsByTierCategory().getOrDefault(tierCategory, createFallbackSlots());
+    }
+
+    /**
+     * 🔄 모든 티어 카테고리의 슬롯을 한 번에 계산해 새 스냅샷으로 교체
+     * 공통 슬롯 4개는 한 번만, 티어별 슬롯은 카테고리마다 검색 (모두 동시 실행)
+     * 후보 수집 → 전체 후보 길이/조회수 일괄 조회 → 슬롯별 필터링/선택 순서
+     */
+    @Scheduled(initialDelayString = "${youtube.slot.initial-delay-ms:0}",
+            fixedDelayString = "${youtube.slot.refresh-ms:1800000}")
+    public void refreshSnapshot() {
+        log.info("=== 슬롯 스냅샷 갱신 시작 ===");
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String result = "success";
 
         try {
-            // 4개 고정 슬롯
-            recommendations.add(searchSlot("TIERLIST", getTierlistPrompt()));
-            recommendations.add(searchSlot("META", getMetaPrompt()));
-            recommendations.add(searchSlot("CALM_MUSIC", getCalmMusicPrompt()));
-            recommendations.add(searchSlot("ENERGETIC_MUSIC", getEnergeticMusicPrompt()));
+            Deadline slotDeadline = Deadline.after(Duration.ofMillis(slotDeadlineMs));
+            long deadline = slotDeadline.expiresAtNanos();
+
+            // 슬롯 작업의 외부 호출(Gemini/YouTube)도 같은 마감 안에서 타임아웃 (제출 시점의 마감이 작업으로 넘어감)
+            Map<String, CompletableFuture<List<YouTubeVideo>>> slotFutures = new LinkedHashMap<>();
+            try (DeadlineContext.Scope ignored = DeadlineContext.open(slotDeadline)) {
+                for (String slotType : COMMON_SLOTS) {
+                    submitSlot(slotFutures, COMMON_KEY, slotType, getSlotPrompt(slotType, null), deadline);
+                }
+                for (String tierCategory : TIER_CATEGORIES) {
+                    for (String slotType : TIER_SLOTS) {
+                        submitSlot(slotFutures, tierCategory, slotType, getSlotPrompt(slotType, tierCategory), deadline);
+                    }
+                }
+            }
 
-            // 2개 티어별 슬롯
-            String tierCategory = getTierCategory(playerTier);
-            recommendations.add(searchSlot("TIER_GUIDE", getTierGuidePrompt(tierCategory)));
-            recommendations.add(searchSlot("TIER_CONTENT", getTierContentPrompt(tierCategory)));
+            Map<String, List<YouTubeVideo>> candidatesBySlot = new LinkedHashMap<>();
+            slotFutures.forEach((key, future) ->
+                    candidatesBySlot.put(key, awaitCandidates(key, future, deadline)));
+
+            // 모든 슬롯의 후보를 모아 videos.list 한 번(50개 단위)으로 보강
+            Set<String> candidateIds = new LinkedHashSet<>();
+            candidatesBySlot.values().forEach(videos -> videos.forEach(video -> candidateIds.add(video.getVideoId())));
+            Map<String, YouTubeClient.VideoDetails> details = youTubeClient.getVideoDetails(candidateIds);
+
+            Map<String, SlotVideoRecommendation> results = new HashMap<>();
+            candidatesBySlot.forEach((key, candidates) -> {
+                String slotType = key.substring(key.indexOf('/') + 1);
+                results.put(key, buildSlot(slotType, enrich(candidates, details)));
+            });
+
+            Map<String, List<SlotVideoRecommendation>> slotsByTierCategory = new HashMap<>();
+            for (String tierCategory : TIER_CATEGORIES) {
+                List<SlotVideoRecommendation> slots = new ArrayList<>();
+                for (String slotType : COMMON_SLOTS) {
+                    slots.add(preferPrevious(tierCategory, results.get(slotKey(COMMON_KEY, slotType))));
+                }
+                for (String slotType : TIER_SLOTS) {
+                    slots.add(preferPrevious(tierCategory, results.get(slotKey(tierCategory, slotType))));
+                }
+                slotsByTierCategory.put(tierCategory, List.copyOf(slots));
+            }
 
-            log.info("슬롯 기반 추천 완료: {} 개", recommendations.size());
-            return recommendations;
+            snapshot = new SlotSnapshot(Map.copyOf(slotsByTierCategory), Instant.now());
+            log.info("=== 슬롯 스냅샷 갱신 완료: {} 개 카테고리, 폴백 {} 개 ===",
+                    slotsByTierCategory.size(), (int) snapshotFallbackCount());
 
         } catch (Exception e) {
-            log.error("슬롯 기반 추천 실패", e);
-            return createFallbackSlots();
+            result = "failure";
+            log.error("슬롯 스냅샷 갱신 실패, 기존 스냅샷 유지", e);
+        } finally {
+            sample.stop(meterRegistry.timer("video.slots.snapshot.refresh", "result", result));
         }
     }
 
+    private void submitSlot(Map<String, CompletableFuture<List<YouTubeVideo>>> slotFutures,
+                            String group, String slotType, String prompt, long deadline) {
+        slotFutures.put(slotKey(group, slotType),
+                CompletableFuture.supplyAsync(() -> collectCandidates(slotType, prompt, deadline), slotExecutor));
+    }
+
+    private String slotKey(String group, String slotType) {
+        return group + "/" + slotType;
+    }
+
+    private String getSlotPrompt(String slotType, String tierCategory) {
+        return switch (slotType) {
+            case "TIERLIST" -> getTierlistPrompt();
+            case "META" -> getMetaPrompt();
+            case "CALM_MUSIC" -> getCalmMusicPrompt();
+            case "ENERGETIC_MUSIC" -> getEnergeticMusicPrompt();
+            case "TIER_GUIDE" -> getTierGuidePrompt(tierCategory);
+            case "TIER_CONTENT" -> getTierContentPrompt(tierCategory);
+            default -> throw new IllegalArgumentException("알 수 없는 슬롯: " + slotType);
+        };
+    }
+
     /**
-     * 🔍 개별 슬롯 검색
+     * 이번 갱신에서 폴백이 나온 슬롯은 직전 스냅샷의 실제 결과를 유지
      */
-    private SlotVideoRecommendation searchSlot(String slotType, String aiPrompt) {
-        try {
-            // 1. AI가 검색어 3개 생성
-            List<String> searchTerms = generateSearchTerms(aiPrompt);
+    private SlotVideoRecommendation preferPrevious(String tierCategory, SlotVideoRecommendation fresh) {
+        SlotSnapshot previous = snapshot;
+        if (!isFallback(fresh) || previous == null) {
+            return fresh;
+        }
 
-            // 2. YouTube API로 영상 검색
-            List<YouTubeVideo> candidates = new ArrayList<>();
-            for (String term : searchTerms) {
-                candidates.addAll(searchYouTube(term, 3));
-            }
+        return previous.slotsByTierCategory().getOrDefault(tierCategory, List.of()).stream()
+                .filter(slot -> slot.getSlotType().equals(fresh.getSlotType()))
+                .filter(slot -> !isFallback(slot))
+                .findFirst()
+                .orElse(fresh);
+    }
 
-            // 3. 슬롯에 맞는 영상 필터링
-            List<YouTubeVideo> validVideos = candidates.stream()
-                    .filter(video -> isValidForSlot(video, slotType))
-                    .toList();
+    private boolean isFallback(SlotVideoRecommendation slot) {
+        return slot.getVideo() == null || slot.getVideo().getVideoId().startsWith("fallback_");
+    }
 
-            // 4. 최적 영상 선택
-            YouTubeVideo bestVideo = selectBestVideo(validVideos, slotType);
+    private double snapshotAgeSeconds() {
+        SlotSnapshot current = snapshot;
+        return current == null ? Double.NaN : Duration.between(current.builtAt(), Instant.now()).toSeconds();
+    }
 
-            return SlotVideoRecommendation.builder()
-                    .slotType(slotType)
-                    .slotName(getSlotDisplayName(slotType))
-                    .video(bestVideo)
-                    .confidence(0.85)
-                    .build();
+    private double snapshotFallbackCount() {
+        SlotSnapshot current = snapshot;
+        if (current == null) {
+            return Double.NaN;
+        }
+        return current.slotsByTierCategory().values().stream()
+                .flatMap(List::stream)
+                .filter(this::isFallback)
+                .count();
+    }
 
-        } catch (Exception e) {
-            log.error("슬롯 {} 검색 실패", slotType, e);
-            return createFallbackSlot(slotType);
+    /**
+     * ⏱️ 마감 시간(+ 여유)까지 슬롯 후보 대기, 넘기면 빈 후보 (→ 폴백 슬롯)
+     * 늦은 작업은 그대로 두어도 외부 호출이 같은 마감으로 타임아웃되므로 곧 끝남
+     */
+    private List<YouTubeVideo> awaitCandidates(String slotKey, CompletableFuture<List<YouTubeVideo>> future,
+                                               long deadline) {
+        try {
+            return future.get(remainingNanos(deadline) + SLOT_GRACE_NANOS, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.warn("슬롯 {} 마감 시간 초과, 폴백 사용", slotKey);
+            return Collections.emptyList();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Collections.emptyList();
+        } catch (ExecutionException e) {
+            log.error("슬롯 {} 검색 실패", slotKey, e.getCause());
+            return Collections.emptyList();
         }
     }
 
+    private long remainingNanos(long deadline) {
+        return Math.max(0, deadline - System.nanoTime());
+    }
+
+    @PreDestroy
+    void shutdownSlotExecutor() {
+        slotExecutor.shutdownNow();
+    }
+
     /**
-     * 🤖 AI 검색어 생성
+     * 🔍 개별 슬롯 후보 수집 (제목 기준 필터까지, 길이/조회수 판단은 일괄 보강 후)
      */
-    private List<String> generateSearchTerms(String prompt) {
+    private List<YouTubeVideo> collectCandidates(String slotType, String aiPrompt, long deadline) {
         try {
-            String aiResponse = geminiAIService.completion(prompt);
-            JsonNode jsonNode = objectMapper.readTree(aiResponse);
+            // 1~2. AI가 검색어를 내놓는 대로 YouTube 검색 시작 (검색어별 동시 실행)
+            List<CompletableFuture<List<YouTubeVideo>>> searches = startSearchesFromStreamedTerms(aiPrompt);
+
+            List<YouTubeVideo> candidates = new ArrayList<>();
+            for (CompletableFuture<List<YouTubeVideo>> search : searches) {
+                candidates.addAll(awaitSearch(search, deadline));
+            }
 
-            List<String> terms = new ArrayList<>();
-            if (jsonNode.isArray()) {
-                for (JsonNode term : jsonNode) {
-                    terms.add(term.asText());
+            // 3. 슬롯에 맞는 영상 필터링 (검색어 간 중복 제거)
+            Map<String, YouTubeVideo> validVideos = new LinkedHashMap<>();
+            for (YouTubeVideo video : candidates) {
+                if (isValidForSlot(video, slotType)) {
+                    validVideos.putIfAbsent(video.getVideoId(), video);
                 }
             }
+            return List.copyOf(validVideos.values());
 
-            return terms;
         } catch (Exception e) {
-            log.error("AI 검색어 생성 실패", e);
-            return Arrays.asList("리그오브레전드", "롤 가이드", "LOL");
+            log.error("슬롯 {} 검색 실패", slotType, e);
+            return Collections.emptyList();
         }
     }
 
     /**
-     * 📺 YouTube API 검색
+     * 🎬 보강된 후보로 슬롯 결과 생성 (후보가 없으면 폴백 슬롯)
      */
-    private List<YouTubeVideo> searchYouTube(String searchTerm, int maxResults) {
+    private SlotVideoRecommendation buildSlot(String slotType, List<YouTubeVideo> candidates) {
+        if (candidates.isEmpty()) {
+            pipelineMetrics.fallback("video-slot", "no_candidates");
+            return createFallbackSlot(slotType);
+        }
+
+        // 길이 조건을 만족하는 영상이 없으면 제목 기준 후보로 완화
+        List<YouTubeVideo> eligible = candidates.stream()
+                .filter(video -> meetsDurationRequirement(video, slotType))
+                .toList();
+        if (eligible.isEmpty()) {
+            log.debug("슬롯 {} 길이 조건 충족 영상 없음, 제목 기준 후보 사용", slotType);
+            eligible = candidates;
+        }
+
+        return SlotVideoRecommendation.builder()
+                .slotType(slotType)
+                .slotName(getSlotDisplayName(slotType))
+                .video(selectBestVideo(eligible, slotType))
+                .confidence(0.85)
+                .build();
+    }
+
+    private List<YouTubeVideo> enrich(List<YouTubeVideo> videos, Map<String, YouTubeClient.VideoDetails> details) {
+        return videos.stream()
+                .map(video -> {
+                    YouTubeClient.VideoDetails detail = details.get(video.getVideoId());
+                    if (detail == null) {
+                        return video;
+                    }
+                    return video.toBuilder()
+                            .durationSeconds(detail.getDurationSeconds())
+                            .viewCount(detail.getViewCount())
+                            .build();
+                })
+                .toList();
+    }
+
+    /**
+     * ⏳ 슬롯별 길이 조건 (상세 정보가 없는 영상은 통과)
+     * 쇼츠(1분 미만)는 모든 슬롯에서 제외, 음악 슬롯은 프롬프트에서 요구한 길이 이상만
+     */
+    private boolean meetsDurationRequirement(YouTubeVideo video, String slotType) {
+        Long duration = video.getDurationSeconds();
+        if (duration == null) {
+            return true;
+        }
+        if (duration < 60) {
+            return false;
+        }
+
+        return switch (slotType) {
+            case "CALM_MUSIC" -> duration >= 3600;
+            case "ENERGETIC_MUSIC" -> duration >= 1800;
+            default -> true;
+        };
+    }
+
+    /**
+     * 마감 시간을 넘긴 검색어 결과는 버리고 나머지로 진행
+     * (슬롯 대기는 마감 뒤 여유를 두므로, 도착한 검색어만으로 만든 슬롯이 폴백 대신 쓰임)
+     */
+    private List<YouTubeVideo> awaitSearch(CompletableFuture<List<YouTubeVideo>> search, long deadline) {
         try {
-            String encodedQuery = URLEncoder.encode(searchTerm, StandardCharsets.UTF_8);
-            String url = String.format(
-                    "https://www.googleapis.com/youtube/v3/search?part=snippet&q=%s&type=video&maxResults=%d&order=relevance&regionCode=KR&relevanceLanguage=ko&key=%s",
-                    encodedQuery, maxResults, youtubeApiKey
-            );
-
-            String response = restTemplate.getForObject(url, String.class);
-            JsonNode jsonResponse = objectMapper.readTree(response);
-
-            List<YouTubeVideo> videos = new ArrayList<>();
-            for (JsonNode item : jsonResponse.get("items")) {
-                JsonNode snippet = item.get("snippet");
-                videos.add(YouTubeVideo.builder()
-                        .videoId(item.get("id").get("videoId").asText())
-                        .title(snippet.get("title").asText())
-                        .description(snippet.get("description").asText())
-                        .channelTitle(snippet.get("channelTitle").asText())
-                        .publishedAt(snippet.get("publishedAt").asText())
-                        .thumbnailUrl(snippet.get("thumbnails").get("medium").get("url").asText())
-                        .build());
-            }
+            return search.get(remainingNanos(deadline), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return Collections.emptyList();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Collections.emptyList();
+        } catch (ExecutionException e) {
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * 🤖 AI 검색어 생성 (스트리밍)
+     * 검색어 하나가 완성될 때마다 바로 YouTube 검색을 띄움 → 전체 응답을 기다리지 않음
+     * 도중에 끊기면 받은 검색어만으로 진행, 하나도 없으면 기본 검색어 사용
+     */
+    private List<CompletableFuture<List<YouTubeVideo>>> startSearchesFromStreamedTerms(String prompt) {
+        List<CompletableFuture<List<YouTubeVideo>>> searches = new ArrayList<>();
 
-            return videos;
+        try {
+            geminiAIService.completionStreaming(prompt, term -> {
+                if (term.isTextual() && !term.asText().isBlank()) {
+                    searches.add(submitSearch(term.asText()));
+                }
+            });
         } catch (Exception e) {
-            log.error("YouTube 검색 실패: {}", searchTerm, e);
-            return Collections.emptyList();
+            if (searches.isEmpty()) {
+                log.error("AI 검색어 생성 실패", e);
+            } else {
+                log.warn("AI 검색어 스트리밍 중단, 받은 검색어 {} 개로 진행", searches.size());
+            }
+        }
+
+        if (searches.isEmpty()) {
+            DEFAULT_SEARCH_TERMS.forEach(term -> searches.add(submitSearch(term)));
         }
+        return searches;
+    }
+
+    private CompletableFuture<List<YouTubeVideo>> submitSearch(String term) {
+        return CompletableFuture.supplyAsync(() -> searchYouTube(term, 3), slotExecutor);
+    }
+
+    /**
+     * 📺 YouTube 검색 (공용 클라이언트의 캐시/쿼터 관리 사용)
+     */
+    private List<YouTubeVideo> searchYouTube(String searchTerm, int maxResults) {
+        return youTubeClient.search(searchTerm, maxResults).stream()
+                .map(item -> YouTubeVideo.builder()
+                        .videoId(item.getVideoId())
+                        .title(item.getTitle())
+                        .description(item.getDescription())
+                        .channelTitle(item.getChannelTitle())
+                        .publishedAt(item.getPublishedAt())
+                        .thumbnailUrl(item.getThumbnailUrl())
+                        .build())
+                .toList();
     }
 
     /**
@@ -183,14 +438,39 @@ public class SlotBasedVideoService {
 
     /**
      * 🎯 최적 영상 선택
+     * 조회수(로그 스케일) 기준, 티어리스트/메타 슬롯은 최근 업로드 영상 우선
      */
     private YouTubeVideo selectBestVideo(List<YouTubeVideo> videos, String slotType) {
         if (videos.isEmpty()) {
             return createDefaultVideo(slotType);
         }
 
-        // 첫 번째 유효한 영상 선택 (추후 AI 평가로 개선 가능)
-        return videos.get(0);
+        return videos.stream()
+                .max(Comparator.comparingDouble(video -> rankScore(video, slotType)))
+                .orElse(videos.get(0));
+    }
+
+    private double rankScore(YouTubeVideo video, String slotType) {
+        double score = video.getViewCount() == null ? 0 : Math.log10(video.getViewCount() + 1);
+
+        int freshDays = switch (slotType) {
+            case "TIERLIST" -> 14;
+            case "META" -> 7;
+            default -> 0;
+        };
+        if (freshDays > 0 && isPublishedWithin(video, freshDays)) {
+            score += 3;
+        }
+        return score;
+    }
+
+    private boolean isPublishedWithin(YouTubeVideo video, int days) {
+        try {
+            Instant publishedAt = Instant.parse(video.getPublishedAt());
+            return publishedAt.isAfter(Instant.now().minus(Duration.ofDays(days)));
+        } catch (Exception e) {
+            return false;
+        }
     }
 
     /**
@@ -360,8 +640,12 @@ public class SlotBasedVideoService {
         };
     }
 
-    // DTO 클래스들
-    @Data
+    // 스냅샷은 통째로 교체만 하고 수정하지 않음
+    record SlotSnapshot(Map<String, List<SlotVideoRecommendation>> slotsByTierCategory, Instant builtAt) {
+    }
+
+    // DTO 클래스들 (스냅샷으로 여러 요청이 공유하므로 불변)
+    @lombok.Value
     @Builder
     public static class SlotVideoRecommendation {
         private String slotType;
@@ -370,8 +654,8 @@ public class SlotBasedVideoService {
         private double confidence;
     }
 
-    @Data
-    @Builder
+    @lombok.Value
+    @Builder(toBuilder = true)
     public static class YouTubeVideo {
         private String videoId;
         private String title;
@@ -379,5 +663,7 @@ public class SlotBasedVideoService {
         private String channelTitle;
         private String publishedAt;
         private String thumbnailUrl;
+        private Long durationSeconds;
+        private Long viewCount;
     }
 }
\ No newline at end of file
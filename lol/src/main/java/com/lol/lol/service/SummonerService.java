@@ -5,7 +5,10 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.lol.lol.dto.LeagueDto;
 import com.lol.lol.dto.MatchDto;
+import com.lol.lol.exception.RiotIdNotFoundException;
+import com.lol.lol.upstream.UpstreamRejectedException;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
@@ -16,20 +19,24 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class SummonerService {
 
     public String API_USER = "https://asia.api.riotgames.com/riot/account/v1/accounts/by-riot-id/";
-    public String API_KEY="RGAPI-5c52c789-49d2-4d3e-bd4b-3723033caef3";
     public String API_SUMMONER ="https://kr.api.riotgames.com/lol/summoner/v4/summoners/by-puuid/";
     public String API_LEAGUE_URL = "https://kr.api.riotgames.com/lol/league/v4/entries/by-summoner/";
-    public String API_MATCHES ="https://asia.api.riotgames.com/lol/match/v5/matches/by-puuid/{puuid}/ids?start=0&count=20&api_key=";
+    public String API_MATCHES ="https://asia.api.riotgames.com/lol/match/v5/matches/by-puuid/{puuid}/ids?start=0&count=20";
     public String API_MATCHDETAIL = "https://asia.api.riotgames.com/lol/match/v5/matches/";
 
     private final RestTemplate restTemplate;
     private final ObjectMapper objectMapper;
+    private final RiotDataStore riotDataStore;
+    private final RiotIdentityDirectory riotIdentityDirectory;
+    private final RiotNegativeCache riotNegativeCache;
 
     public String getAccountUrl(String gameName, String tagLine) throws UnsupportedEncodingException {
         String encodedgameName = URLDecoder.decode(gameName, "UTF-8");
@@ -38,29 +45,39 @@ public class SummonerService {
         String decodedGameName = URLDecoder.decode(gameName, StandardCharsets.UTF_8.toString());
         String decodedTagLine = URLDecoder.decode(tagLine, StandardCharsets.UTF_8.toString());
 
-//         String accountUrl = API_USER + encodedGameName + "/" + encodedTagLine + "?api_key=" + API_KEY;
-        String accountUrl = API_USER + decodedGameName + "/" + decodedTagLine  + "?api_key=" + API_KEY;
-        System.out.println("Request URL: " + accountUrl); // 요청 URL을 출력하여 확인
+        // API 키는 RiotApiKeyPool이 X-Riot-Token 헤더로 붙임
+        String accountUrl = API_USER + decodedGameName + "/" + decodedTagLine;
+        log.debug("계정 조회 요청: {}#{}", decodedGameName, decodedTagLine);
 
-        String result = restTemplate.getForObject(accountUrl, String.class);
-        System.out.println("Result: "+ result);
-        return result;
+        // 최근에 404였던 Riot ID는 Riot을 부르지 않음
+        if (riotNegativeCache.isUnknownAccount(decodedGameName, decodedTagLine)) {
+            throw new RiotIdNotFoundException(decodedGameName, decodedTagLine);
+        }
+
+        try {
+            String result = restTemplate.getForObject(accountUrl, String.class);
+            log.debug("계정 조회 응답: {}자", result != null ? result.length() : 0);
+            return result;
+        } catch (HttpClientErrorException.NotFound e) {
+            riotNegativeCache.recordUnknownAccount(decodedGameName, decodedTagLine);
+            throw new RiotIdNotFoundException(decodedGameName, decodedTagLine);
+        }
     }
 
     public String getSummoner(String puuid){
-        String Summoner = API_SUMMONER+puuid+"?api_key="+API_KEY;
-        System.out.println(Summoner);
+        String Summoner = API_SUMMONER+puuid;
+        log.debug("소환사 조회 요청: {}", puuid);
         String result = restTemplate.getForObject(Summoner, String.class);
-        System.out.println("Get Summoner Result: "+ result);
+        log.debug("소환사 조회 응답: {}자", result != null ? result.length() : 0);
         return result;
     }
 
     public List<LeagueDto> getLeaguePoint(String id) {
-        String url = "https://kr.api.riotgames.com/lol/league/v4/entries/by-summoner/" + id + "?api_key=" + API_KEY;
-        System.out.println("Request URL: " + url);
+        String url = "https://kr.api.riotgames.com/lol/league/v4/entries/by-summoner/" + id;
+        log.debug("리그 정보 조회 요청: {}", id);
 
         String result = restTemplate.getForObject(url, String.class);
-        System.out.println("LeagueResult: " + result);
+        log.debug("리그 정보 조회 응답: {}자", result != null ? result.length() : 0);
 
         // JSON을 List<LeagueDto>로 변환
         List<LeagueDto> leagueDtoList = new ArrayList<>();
@@ -69,7 +86,7 @@ public class SummonerService {
                 leagueDtoList = new ObjectMapper().readValue(result, new TypeReference<List<LeagueDto>>() {});
             }
         } catch (JsonProcessingException e) {
-            e.printStackTrace();
+            log.warn("리그 정보 파싱 실패: {}", id, e);
         }
 
         return leagueDtoList; // JSON 변환 후 리스트 반환
@@ -77,7 +94,7 @@ public class SummonerService {
 
     public List<String> getMatches(String puuid) {
         String url = "https://asia.api.riotgames.com/lol/match/v5/matches/by-puuid/"
-                + puuid + "/ids?start=0&count=20&api_key=" + API_KEY;
+                + puuid + "/ids?start=0&count=20";
         @SuppressWarnings("unchecked")
         List<String> result = restTemplate.getForObject(url, List.class);
         return result != null ? result : new ArrayList<>();
@@ -85,17 +102,34 @@ public class SummonerService {
 
     public List<String> getMatchHistory(String puuid){
         String url = "https://asia.api.riotgames.com/lol/match/v5/matches/by-puuid/"
-                + puuid + "/ids?start=0&count=20&api_key=" + API_KEY;
+                + puuid + "/ids?start=0&count=20";
         @SuppressWarnings("unchecked")
         List<String> result = restTemplate.getForObject(url, List.class);
         return result != null ? result : new ArrayList<>();
     }
 
+    /**
+     * 끝난 매치는 바뀌지 않으므로 로컬 저장소에 있으면 Riot을 부르지 않음
+     */
     public MatchDto getMatchDetails(String matchId) {
+        Optional<MatchDto> stored = riotDataStore.findMatch(matchId);
+        if (stored.isPresent()) {
+            return stored.get();
+        }
+
         String url = "https://asia.api.riotgames.com/lol/match/v5/matches/"
-                + matchId + "?api_key=" + API_KEY;
-        System.out.println(url);
-        return restTemplate.getForObject(url, MatchDto.class);
+                + matchId;
+        log.debug("매치 상세 조회 요청: {}", matchId);
+        try {
+            MatchDto match = restTemplate.getForObject(url, MatchDto.class);
+            riotDataStore.saveMatch(matchId, match);
+            riotIdentityDirectory.observeMatch(match);
+            return match;
+        } catch (UpstreamRejectedException e) {
+            // 회로 열림/격벽 포화/예산 소진이면 이 매치만 건너뜀 (호출자는 null을 거름)
+            log.warn("매치 상세 조회 생략: {} ({})", matchId, e.getMessage());
+            return null;
+        }
     }
 
 //    public String getLatestVersion(){
@@ -116,7 +150,7 @@ public class SummonerService {
                 return versions.get(0); // 최신 버전 (0번째)
             }
         } catch (Exception e) {
-            e.printStackTrace();
+            log.warn("최신 버전 조회 실패: {}", e.getMessage());
         }
         return "Unknown"; // 오류 발생 시 기본값 반환
     }
@@ -0,0 +1,211 @@
+package com.lol.lol.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * 🔎 로컬 영상 관련성 평가 엔진 (BM25)
+ * - 제목/설명을 카테고리 키워드 + 분위기 어휘에 대해 점수화
+ * - 한글은 음절 2-gram, 그 외 문자는 단어 단위로 토큰화
+ * - 문서 빈도/평균 길이는 YouTube 검색 캐시 전체에서 주기적으로 미리 계산
+ * 요청 경로에서는 외부 호출 없이 메모리 계산만 함
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VideoRelevanceEngine {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    // 제목은 설명보다 신호가 강하므로 토큰을 두 번 셈
+    private static final int TITLE_WEIGHT = 2;
+    private static final int MAX_DESCRIPTION_LENGTH = 500;
+
+    private static final List<String> LOL_VOCABULARY = List.of("롤", "lol", "리그", "league", "legends");
+
+    // 감정 타입/분위기별 확장 어휘
+    private static final Map<String, String> MOOD_VOCABULARY = Map.ofEntries(
+            Map.entry("DEEP_SLUMP", "힐링 차분 극복 멘탈 위로 음악 로파이"),
+            Map.entry("SLUMP", "힐링 차분 극복 멘탈 실력 향상 강의"),
+            Map.entry("HOT_STREAK", "매드무비 하이라이트 신나는 epic bgm 명장면"),
+            Map.entry("WINNING_MOOD", "하이라이트 재밌는 신나는 예능 bgm 업템포"),
+            Map.entry("CS_STRUGGLE", "cs 라스트힛 연습 파밍 웨이브 마스터"),
+            Map.entry("KDA_STRUGGLE", "포지셔닝 생존 안전 한타 플레이"),
+            Map.entry("STABLE", "꿀팁 가이드 공략 재밌는"),
+            Map.entry("healing", "힐링 위로 차분 휴식"),
+            Map.entry("calm", "잔잔 차분 로파이 lofi 집중"),
+            Map.entry("focus", "집중 공부 로파이 lofi 잔잔"),
+            Map.entry("concentration", "집중 공부 로파이 lofi"),
+            Map.entry("energetic", "신나는 에너지 업템포 액션 bgm"),
+            Map.entry("hype", "신나는 epic 하이라이트 bgm"),
+            Map.entry("upbeat", "신나는 업템포 bgm"),
+            Map.entry("epic", "epic 매드무비 하이라이트 명장면"),
+            Map.entry("fun", "재밌는 예능 웃긴 하이라이트"),
+            Map.entry("pro", "프로 lck 경기 명장면")
+    );
+
+    private final YouTubeClient youTubeClient;
+    private final MeterRegistry meterRegistry;
+
+    // 통째로 교체만 함 (요청 스레드는 읽기만)
+    private volatile CorpusStats corpusStats = CorpusStats.EMPTY;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("video.relevance.index.documents", this, engine -> engine.corpusStats.documentCount())
+                .description("관련성 통계에 사용된 영상 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 🎯 관련성 점수 (0.5~1.0)
+     * 기본 0.5 + 키워드/분위기 일치도(BM25 정규화) 최대 0.3 + 롤 관련 0.2
+     * 아무 것도 일치하지 않으면 0.5 그대로라 기존 필터 기준(> 0.5)에서 걸러짐
+     */
+    public double score(String title, String description, String keywords, String mood, String emotionType) {
+        Set<String> queryTerms = new LinkedHashSet<>(tokenize(keywords));
+        queryTerms.addAll(tokenize(MOOD_VOCABULARY.get(mood)));
+        queryTerms.addAll(tokenize(MOOD_VOCABULARY.get(emotionType)));
+
+        double score = 0.5 + 0.3 * Math.min(1.0, 2 * normalizedBm25(title, description, queryTerms));
+
+        String lowerTitle = title == null ? "" : title.toLowerCase(Locale.ROOT);
+        if (LOL_VOCABULARY.stream().anyMatch(lowerTitle::contains)) {
+            score += 0.2;
+        }
+
+        return Math.min(score, 1.0);
+    }
+
+    /**
+     * BM25 점수를 이론상 최대값(모든 질의어가 포화될 때)으로 나눠 0~1로 정규화
+     */
+    private double normalizedBm25(String title, String description, Set<String> queryTerms) {
+        if (queryTerms.isEmpty()) {
+            return 0.0;
+        }
+
+        Map<String, Integer> termFrequencies = documentTermFrequencies(title, description);
+        int documentLength = termFrequencies.values().stream().mapToInt(Integer::intValue).sum();
+        CorpusStats stats = corpusStats;
+        double averageLength = stats.averageDocumentLength() > 0 ? stats.averageDocumentLength() : documentLength;
+        double lengthNorm = averageLength > 0 ? documentLength / averageLength : 1.0;
+
+        double score = 0.0;
+        double maxScore = 0.0;
+        for (String term : queryTerms) {
+            double idf = stats.idf(term);
+            maxScore += idf * (K1 + 1);
+
+            int tf = termFrequencies.getOrDefault(term, 0);
+            if (tf > 0) {
+                score += idf * (tf * (K1 + 1)) / (tf + K1 * (1 - B + B * lengthNorm));
+            }
+        }
+
+        return maxScore > 0 ? score / maxScore : 0.0;
+    }
+
+    private Map<String, Integer> documentTermFrequencies(String title, String description) {
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        for (String token : tokenize(title)) {
+            termFrequencies.merge(token, TITLE_WEIGHT, Integer::sum);
+        }
+        String body = description == null ? "" : description;
+        if (body.length() > MAX_DESCRIPTION_LENGTH) {
+            body = body.substring(0, MAX_DESCRIPTION_LENGTH);
+        }
+        for (String token : tokenize(body)) {
+            termFrequencies.merge(token, 1, Integer::sum);
+        }
+        return termFrequencies;
+    }
+
+    /**
+     * 🔄 검색 캐시의 영상 전체로 문서 빈도/평균 길이 재계산
+     */
+    @Scheduled(initialDelayString = "${relevance.index.initial-delay-ms:0}",
+            fixedDelayString = "${relevance.index.refresh-ms:600000}")
+    public void rebuildCorpusStats() {
+        try {
+            List<YouTubeClient.VideoItem> catalog = youTubeClient.cachedCatalog();
+
+            Map<String, Integer> documentFrequencies = new HashMap<>();
+            long totalLength = 0;
+            for (YouTubeClient.VideoItem item : catalog) {
+                Map<String, Integer> termFrequencies = documentTermFrequencies(item.getTitle(), item.getDescription());
+                termFrequencies.keySet().forEach(term -> documentFrequencies.merge(term, 1, Integer::sum));
+                totalLength += termFrequencies.values().stream().mapToInt(Integer::intValue).sum();
+            }
+
+            double averageLength = catalog.isEmpty() ? 0.0 : (double) totalLength / catalog.size();
+            corpusStats = new CorpusStats(catalog.size(), averageLength, Map.copyOf(documentFrequencies), Instant.now());
+            log.info("관련성 통계 갱신: 영상 {} 개, 어휘 {} 개", catalog.size(), documentFrequencies.size());
+
+        } catch (Exception e) {
+            log.error("관련성 통계 갱신 실패, 기존 통계 유지", e);
+        }
+    }
+
+    /**
+     * ✂️ 토큰화: 소문자 + NFC 정규화 후
+     * 한글 연속 구간은 음절 2-gram (한 글자 구간은 그대로), 영문/숫자는 단어 단위
+     */
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFC).toLowerCase(Locale.ROOT);
+        int length = normalized.length();
+        int i = 0;
+        while (i < length) {
+            char c = normalized.charAt(i);
+            int start = i;
+            if (isHangul(c)) {
+                while (i < length && isHangul(normalized.charAt(i))) {
+                    i++;
+                }
+                if (i - start == 1) {
+                    tokens.add(normalized.substring(start, i));
+                }
+                for (int j = start; j + 2 <= i; j++) {
+                    tokens.add(normalized.substring(j, j + 2));
+                }
+            } else if (Character.isLetterOrDigit(c)) {
+                while (i < length && Character.isLetterOrDigit(normalized.charAt(i)) && !isHangul(normalized.charAt(i))) {
+                    i++;
+                }
+                tokens.add(normalized.substring(start, i));
+            } else {
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    private static boolean isHangul(char c) {
+        return Character.UnicodeScript.of(c) == Character.UnicodeScript.HANGUL;
+    }
+
+    record CorpusStats(int documentCount, double averageDocumentLength,
+                       Map<String, Integer> documentFrequencies, Instant builtAt) {
+
+        static final CorpusStats EMPTY = new CorpusStats(0, 0.0, Map.of(), Instant.EPOCH);
+
+        double idf(String term) {
+            int df = documentFrequencies.getOrDefault(term, 0);
+            return Math.log(1 + (documentCount - df + 0.5) / (df + 0.5));
+        }
+    }
+}
@@ -1,16 +1,36 @@
 package com.lol.lol.service;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.lol.lol.deadline.DeadlineContext;
+import com.lol.lol.tracing.TraceContext;
+import jakarta.annotation.PreDestroy;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class WeatherService {
 
+    private static final String DEFAULT_CITY = "Seoul";
+    private static final Duration MAX_WAIT = Duration.ofSeconds(10);
+
     private final RestTemplate restTemplate;
 
     @Value("${weather.api.key}")
@@ -19,9 +39,26 @@ public class WeatherService {
     @Value("${weather.api.url}")
     private String WEATHER_API_URL;
 
+    // 이 시간이 지나면 다음 조회 때 백그라운드 갱신 (그동안은 기존 값 제공)
+    @Value("${weather.cache.fresh-seconds:300}")
+    private long freshSeconds;
+
+    // 이 시간 동안 아무도 조회하지 않은 도시는 캐시에서 빼고 갱신도 멈춤
+    @Value("${weather.cache.idle-minutes:30}")
+    private long idleMinutes;
+
+    // 도시별 마지막 성공 응답 (최근에 조회된 도시만 스케줄러가 갱신)
+    private final Map<String, CachedWeather> weatherCache = new ConcurrentHashMap<>();
+    // 도시별 마지막 조회 시각
+    private final Map<String, Instant> lastReadAt = new ConcurrentHashMap<>();
+    // 같은 도시의 동시 조회는 API 호출 하나로 합침
+    private final Map<String, CompletableFuture<WeatherResponse>> inFlight = new ConcurrentHashMap<>();
+    // 갱신은 여러 요청이 공유하므로 요청 마감은 넘기지 않음 (기다리는 쪽이 자기 예산만큼만 대기)
+    private final ExecutorService refreshExecutor = TraceContext.propagating(Executors.newVirtualThreadPerTaskExecutor());
+
     // 서울 날씨 가져오기 (메인 메서드)
     public WeatherResponse getSeoulWeather() {
-        return getWeatherByCity("Seoul");
+        return getWeatherByCity(DEFAULT_CITY);
     }
 
     // 온도만 반환하는 메서드 (SearchController용)
@@ -36,55 +73,144 @@ public class WeatherService {
         return weather.getCurrent().getCondition().getText();
     }
 
-    // 도시별 날씨 가져오기 - 온도 문제 해결 버전
+    /**
+     * 🌤️ 도시별 날씨 (캐시 우선)
+     * - 캐시가 있으면 바로 반환, 오래됐으면 백그라운드 갱신만 걸어 둠 (stale-while-revalidate)
+     * - 캐시가 없을 때만 호출 스레드가 기다림 (동시 요청은 한 번의 API 호출 공유, 남은 요청 예산까지만)
+     * - 실패/시간 초과 시 기본 날씨 (캐시에는 저장하지 않음)
+     * 반환 객체는 여러 요청이 공유하므로 수정하지 말 것
+     */
     public WeatherResponse getWeatherByCity(String city) {
-        try {
-            // 1차 시도: 한국어 없이 기본 호출
-            String url = WEATHER_API_URL + "?key=" + WEATHER_API_KEY + "&q=" + city;
-            System.out.println("날씨 API 호출: " + url);
-
-            WeatherResponse response = restTemplate.getForObject(url, WeatherResponse.class);
-
-            // 전체 응답 디버깅
-            System.out.println("=== 날씨 API 응답 디버깅 ===");
-            System.out.println("조건: " + response.getCurrent().getCondition().getText());
-            System.out.println("온도(섭씨): " + response.getCurrent().getTempC());
-            System.out.println("온도(화씨): " + response.getCurrent().getTempF());
-            System.out.println("습도: " + response.getCurrent().getHumidity());
-            System.out.println("체감온도: " + response.getCurrent().getFeelslikeC());
-            System.out.println("=============================");
-
-            // 온도 문제 해결 로직
-            double finalTemp = response.getCurrent().getTempC();
-
-            // 섭씨가 0이고 화씨가 0이 아니면 화씨를 섭씨로 변환
-            if (finalTemp == 0.0 && response.getCurrent().getTempF() != 0.0) {
-                finalTemp = (response.getCurrent().getTempF() - 32) * 5.0 / 9.0;
-                response.getCurrent().setTempC(finalTemp);
-                System.out.println("화씨→섭씨 변환: " + Math.round(finalTemp) + "°C");
+        String key = normalizeCity(city);
+        lastReadAt.put(key, Instant.now());
+        CachedWeather cached = weatherCache.get(key);
+
+        if (cached != null) {
+            if (cached.isStale(Duration.ofSeconds(freshSeconds))) {
+                refresh(key);
             }
+            return cached.weather();
+        }
+
+        try {
+            Duration wait = DeadlineContext.remainingOr(MAX_WAIT);
+            return refresh(key).get(wait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return getDefaultWeather();
+        } catch (TimeoutException e) {
+            log.warn("날씨 응답 대기 시간 초과 ({}), 기본 날씨 사용", key);
+            return getDefaultWeather();
+        } catch (Exception e) {
+            log.warn("날씨 API 오류 ({}): {}", key, e.getMessage());
+            return getDefaultWeather();
+        }
+    }
 
-            // 여전히 0이고 체감온도가 있으면 체감온도 사용
-            if (finalTemp == 0.0 && response.getCurrent().getFeelslikeC() != 0.0) {
-                finalTemp = response.getCurrent().getFeelslikeC();
-                response.getCurrent().setTempC(finalTemp);
-                System.out.println("체감온도 사용: " + Math.round(finalTemp) + "°C");
+    /**
+     * 🔄 최근 idleMinutes 안에 조회된 도시만 주기적으로 갱신, 그 외 도시는 캐시에서 제거
+     * 아무도 날씨를 조회하지 않으면 API도 부르지 않음
+     */
+    @Scheduled(initialDelayString = "${weather.cache.initial-delay-ms:0}",
+            fixedDelayString = "${weather.cache.refresh-ms:300000}")
+    public void refreshAll() {
+        Instant idleBefore = Instant.now().minus(Duration.ofMinutes(idleMinutes));
+
+        for (String city : Set.copyOf(weatherCache.keySet())) {
+            Instant readAt = lastReadAt.get(city);
+            if (readAt == null || readAt.isBefore(idleBefore)) {
+                weatherCache.remove(city);
+                lastReadAt.remove(city, readAt);
+                log.debug("한동안 조회되지 않은 도시 날씨 캐시 제거: {}", city);
+                continue;
             }
+            refresh(city).exceptionally(e -> {
+                log.warn("날씨 갱신 실패, 기존 값 유지 ({}): {}", city, e.getMessage());
+                return null;
+            });
+        }
+        // 조회에 실패해 캐시에 없는 도시의 조회 기록도 정리
+        lastReadAt.values().removeIf(readAt -> readAt.isBefore(idleBefore));
+    }
+
+    @PreDestroy
+    void shutdownRefreshExecutor() {
+        refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * 진행 중인 갱신이 있으면 그것을 공유, 없으면 새로 시작
+     */
+    private CompletableFuture<WeatherResponse> refresh(String city) {
+        CompletableFuture<WeatherResponse> mine = new CompletableFuture<>();
+        CompletableFuture<WeatherResponse> existing = inFlight.putIfAbsent(city, mine);
+        if (existing != null) {
+            return existing;
+        }
 
-            // 최후의 수단: 현재 계절에 맞는 기본값
-            if (finalTemp == 0.0) {
-                finalTemp = getCurrentSeasonTemp();
-                response.getCurrent().setTempC(finalTemp);
-                System.out.println("계절 기본값 사용: " + Math.round(finalTemp) + "°C");
+        refreshExecutor.execute(() -> {
+            try {
+                WeatherResponse weather = fetchWeather(city);
+                weatherCache.put(city, new CachedWeather(weather, Instant.now()));
+                mine.complete(weather);
+            } catch (Exception e) {
+                mine.completeExceptionally(e);
+            } finally {
+                inFlight.remove(city, mine);
             }
+        });
+        return mine;
+    }
 
-            System.out.println("최종 사용 온도: " + Math.round(finalTemp) + "°C");
-            return response;
+    private String normalizeCity(String city) {
+        return city == null || city.isBlank() ? DEFAULT_CITY : city.strip();
+    }
 
-        } catch (Exception e) {
-            System.out.println("날씨 API 오류: " + e.getMessage());
-            return getDefaultWeather();
+    // 날씨 API 호출 - 온도 문제 해결 버전
+    private WeatherResponse fetchWeather(String city) {
+        // 1차 시도: 한국어 없이 기본 호출
+        String url = WEATHER_API_URL + "?key=" + WEATHER_API_KEY + "&q=" + city;
+        log.debug("날씨 API 호출: {}", city);
+
+        WeatherResponse response = restTemplate.getForObject(url, WeatherResponse.class);
+        if (response == null || response.getCurrent() == null || response.getCurrent().getCondition() == null) {
+            throw new IllegalStateException("날씨 API 응답 비어 있음");
+        }
+
+        log.debug("날씨 API 응답 ({}): 조건={}, 섭씨={}, 화씨={}, 습도={}, 체감={}",
+                city,
+                response.getCurrent().getCondition().getText(),
+                response.getCurrent().getTempC(),
+                response.getCurrent().getTempF(),
+                response.getCurrent().getHumidity(),
+                response.getCurrent().getFeelslikeC());
+
+        // 온도 문제 해결 로직
+        double finalTemp = response.getCurrent().getTempC();
+
+        // 섭씨가 0이고 화씨가 0이 아니면 화씨를 섭씨로 변환
+        if (finalTemp == 0.0 && response.getCurrent().getTempF() != 0.0) {
+            finalTemp = (response.getCurrent().getTempF() - 32) * 5.0 / 9.0;
+            response.getCurrent().setTempC(finalTemp);
+            log.debug("화씨→섭씨 변환: {}°C", Math.round(finalTemp));
+        }
+
+        // 여전히 0이고 체감온도가 있으면 체감온도 사용
+        if (finalTemp == 0.0 && response.getCurrent().getFeelslikeC() != 0.0) {
+            finalTemp = response.getCurrent().getFeelslikeC();
+            response.getCurrent().setTempC(finalTemp);
+            log.debug("체감온도 사용: {}°C", Math.round(finalTemp));
+        }
+
+        // 최후의 수단: 현재 계절에 맞는 기본값
+        if (finalTemp == 0.0) {
+            finalTemp = getCurrentSeasonTemp();
+            response.getCurrent().setTempC(finalTemp);
+            log.debug("계절 기본값 사용: {}°C", Math.round(finalTemp));
         }
+
+        log.info("날씨 갱신 ({}): {}°C", city, Math.round(finalTemp));
+        return response;
     }
 
     // 현재 계절에 맞는 온도 반환
@@ -111,7 +237,7 @@ public class WeatherService {
         String condition = weather.getCurrent().getCondition().getText();
         double temp = weather.getCurrent().getTempC();
 
-        System.out.println("멘트 생성용 최종 온도: " + temp + "°C");
+        log.debug("멘트 생성용 최종 온도: {}°C", temp);
 
         // 날씨 조건별 멘트 (영어 조건도 추가)
         if (condition.contains("비") || condition.contains("Rain") || condition.contains("rain") ||
@@ -186,6 +312,12 @@ public class WeatherService {
     }
 }
 
+record CachedWeather(WeatherResponse weather, Instant fetchedAt) {
+    boolean isStale(Duration freshFor) {
+        return fetchedAt.plus(freshFor).isBefore(Instant.now());
+    }
+}
+
 // WeatherAPI 응답 데이터를 받을 DTO 클래스들
 @Data
 @JsonIgnoreProperties(ignoreUnknown = true)
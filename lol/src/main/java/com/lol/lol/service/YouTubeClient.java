@@ -0,0 +1,377 @@
+package com.lol.lol.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lol.lol.cache.PersistentTtlCache;
+import com.lol.lol.upstream.UpstreamRejectedException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * 📺 YouTube Data API 공용 클라이언트
+ * - 정규화된 검색어 기준 결과 캐시 (디스크에 저장되어 재시작 후에도 유지)
+ * - 일일 쿼터 사용량을 기록하고, 소진 직전부터는 캐시만 사용
+ */
+@Slf4j
+@Service
+public class YouTubeClient {
+
+    // search.list 1회 비용 (YouTube Data API v3 기준)
+    private static final int SEARCH_COST = 100;
+    // videos.list는 ID 50개까지 한 번에 조회 가능, 1회 1단위
+    private static final int VIDEOS_COST = 1;
+    private static final int VIDEOS_BATCH_SIZE = 50;
+    // YouTube 쿼터는 태평양 시간 자정에 초기화됨
+    private static final ZoneId QUOTA_ZONE = ZoneId.of("America/Los_Angeles");
+
+    private final RestTemplate restTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final PersistentTtlCache<List<VideoItem>> searchCache;
+    private final PersistentTtlCache<VideoDetails> detailsCache;
+    private final Path quotaFile;
+
+    @Value("${youtube.api.key}")
+    private String youtubeApiKey;
+
+    @Value("${youtube.search.cache-ttl-hours:12}")
+    private long searchCacheTtlHours;
+
+    @Value("${youtube.videos.cache-ttl-hours:24}")
+    private long detailsCacheTtlHours;
+
+    @Value("${youtube.quota.daily-limit:10000}")
+    private int dailyQuotaLimit;
+
+    // 이 만큼은 남겨두고 캐시 전용 모드로 전환
+    @Value("${youtube.quota.reserve:500}")
+    private int quotaReserve;
+
+    private LocalDate quotaDay;
+    private int quotaUsed;
+
+    public YouTubeClient(RestTemplate restTemplate,
+                         ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry,
+                         @Value("${youtube.cache.dir:.cache/youtube}") String cacheDir,
+                         @Value("${youtube.search.stale-retention-days:7}") long staleRetentionDays) {
+        this.restTemplate = restTemplate;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.searchCache = new PersistentTtlCache<>(
+                "youtube-search",
+                Path.of(cacheDir, "search"),
+                objectMapper,
+                objectMapper.getTypeFactory().constructCollectionType(List.class, VideoItem.class),
+                2000,
+                Duration.ofDays(staleRetentionDays)
+        );
+        this.detailsCache = new PersistentTtlCache<>(
+                "youtube-videos",
+                Path.of(cacheDir, "videos"),
+                objectMapper,
+                objectMapper.constructType(VideoDetails.class),
+                10000
+        );
+        this.quotaFile = Path.of(cacheDir, "quota.json");
+
+        loadQuotaState();
+        Gauge.builder("youtube.quota.used", this, YouTubeClient::currentQuotaUsed)
+                .description("오늘 사용한 YouTube API 쿼터 단위")
+                .register(meterRegistry);
+        Gauge.builder("youtube.quota.remaining", this, client -> client.dailyQuotaLimit - client.currentQuotaUsed())
+                .description("오늘 남은 YouTube API 쿼터 단위")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 🔍 영상 검색 (캐시 → API → 만료 캐시 순)
+     */
+    public List<VideoItem> search(String query, int maxResults) {
+        String normalizedQuery = normalizeQuery(query);
+        String cacheKey = PersistentTtlCache.hashKey("search", normalizedQuery, String.valueOf(maxResults));
+
+        Optional<List<VideoItem>> cached = searchCache.getIfPresent(cacheKey);
+        if (cached.isPresent()) {
+            meterRegistry.counter("youtube.search.requests", "source", "cache").increment();
+            return cached.get();
+        }
+
+        try {
+            return searchCache.get(cacheKey, Duration.ofHours(searchCacheTtlHours),
+                    () -> fetchSearch(normalizedQuery, maxResults));
+        } catch (QuotaExhaustedException e) {
+            meterRegistry.counter("youtube.search.requests", "source", "cache_only").increment();
+            log.warn("YouTube 쿼터 보호 중, 캐시만 사용: {}", normalizedQuery);
+            return searchCache.getStale(cacheKey).orElse(Collections.emptyList());
+        } catch (UpstreamRejectedException e) {
+            meterRegistry.counter("youtube.search.requests", "source", "stale").increment();
+            log.warn("YouTube 검색 생략, 만료 캐시 사용: {} ({})", normalizedQuery, e.getMessage());
+            return searchCache.getStale(cacheKey).orElse(Collections.emptyList());
+        } catch (Exception e) {
+            meterRegistry.counter("youtube.search.requests", "source", "stale").increment();
+            log.error("YouTube 검색 실패: {}", normalizedQuery, e);
+            return searchCache.getStale(cacheKey).orElse(Collections.emptyList());
+        }
+    }
+
+    /**
+     * 대소문자/공백 차이만 있는 검색어는 같은 캐시 항목을 사용
+     */
+    static String normalizeQuery(String query) {
+        return query.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private List<VideoItem> fetchSearch(String query, int maxResults) {
+        reserveQuota(SEARCH_COST);
+        meterRegistry.counter("youtube.search.requests", "source", "api").increment();
+
+        String encodedQuery = URLEncoder.encode(query, StandardCharsets.UTF_8);
+        String url = String.format(
+                "https://www.googleapis.com/youtube/v3/search?part=snippet&q=%s&type=video&maxResults=%d&order=relevance&regionCode=KR&relevanceLanguage=ko&key=%s",
+                encodedQuery, maxResults, youtubeApiKey
+        );
+
+        String response = restTemplate.getForObject(url, String.class);
+        try {
+            return parseSearchItems(objectMapper.readTree(response));
+        } catch (IOException e) {
+            throw new IllegalStateException("YouTube 응답 파싱 실패", e);
+        }
+    }
+
+    /**
+     * 검색 결과 항목 변환 (영상 ID/제목이 없는 항목은 건너뜀, 나머지 필드는 빈 값 허용)
+     */
+    private List<VideoItem> parseSearchItems(JsonNode jsonResponse) {
+        List<VideoItem> videos = new ArrayList<>();
+        for (JsonNode item : jsonResponse.path("items")) {
+            String videoId = item.path("id").path("videoId").asText("");
+            JsonNode snippet = item.path("snippet");
+            String title = snippet.path("title").asText("");
+            if (videoId.isEmpty() || title.isEmpty()) {
+                log.debug("불완전한 YouTube 검색 항목 건너뜀: {}", videoId);
+                continue;
+            }
+            videos.add(VideoItem.builder()
+                    .videoId(videoId)
+                    .title(title)
+                    .description(snippet.path("description").asText(""))
+                    .channelTitle(snippet.path("channelTitle").asText(""))
+                    .publishedAt(snippet.path("publishedAt").asText(""))
+                    .thumbnailUrl(snippet.path("thumbnails").path("medium").path("url").asText(""))
+                    .build());
+        }
+        return videos;
+    }
+
+    /**
+     * 📚 검색 캐시에 쌓인 영상 목록 (videoId 기준 중복 제거)
+     * 디스크를 훑으므로 백그라운드 작업에서만 호출
+     */
+    public List<VideoItem> cachedCatalog() {
+        Map<String, VideoItem> catalog = new LinkedHashMap<>();
+        for (List<VideoItem> items : searchCache.values()) {
+            for (VideoItem item : items) {
+                catalog.putIfAbsent(item.getVideoId(), item);
+            }
+        }
+        return new ArrayList<>(catalog.values());
+    }
+
+    /**
+     * 📊 영상 길이/조회수 일괄 조회
+     * 캐시에 없는 ID만 모아 50개 단위 videos.list 호출 (contentDetails + statistics)
+     * 조회하지 못한 ID는 결과 맵에서 빠짐
+     */
+    public Map<String, VideoDetails> getVideoDetails(Collection<String> videoIds) {
+        Map<String, VideoDetails> details = new HashMap<>();
+        List<String> missing = new ArrayList<>();
+
+        for (String videoId : new LinkedHashSet<>(videoIds)) {
+            if (videoId == null || videoId.startsWith("fallback")) {
+                continue;
+            }
+            detailsCache.getIfPresent(detailsKey(videoId))
+                    .ifPresentOrElse(cached -> details.put(videoId, cached), () -> missing.add(videoId));
+        }
+
+        for (int from = 0; from < missing.size(); from += VIDEOS_BATCH_SIZE) {
+            List<String> batch = missing.subList(from, Math.min(from + VIDEOS_BATCH_SIZE, missing.size()));
+            try {
+                for (VideoDetails fetched : fetchVideoDetails(batch)) {
+                    detailsCache.put(detailsKey(fetched.getVideoId()), fetched, Duration.ofHours(detailsCacheTtlHours));
+                    details.put(fetched.getVideoId(), fetched);
+                }
+            } catch (QuotaExhaustedException e) {
+                log.warn("YouTube 쿼터 보호 중, 영상 상세 조회 생략: {} 개", missing.size() - from);
+                break;
+            } catch (UpstreamRejectedException e) {
+                log.warn("YouTube 영상 상세 조회 생략: {} 개 ({})", missing.size() - from, e.getMessage());
+                break;
+            } catch (Exception e) {
+                log.error("YouTube 영상 상세 조회 실패: {} 개", batch.size(), e);
+            }
+        }
+
+        log.debug("영상 상세 조회: 요청 {} 개, API 조회 대상 {} 개, 확보 {} 개",
+                videoIds.size(), missing.size(), details.size());
+        return details;
+    }
+
+    private String detailsKey(String videoId) {
+        return "video-" + videoId;
+    }
+
+    private List<VideoDetails> fetchVideoDetails(List<String> videoIds) {
+        reserveQuota(VIDEOS_COST);
+        meterRegistry.counter("youtube.videos.requests", "source", "api").increment();
+
+        String url = String.format(
+                "https://www.googleapis.com/youtube/v3/videos?part=contentDetails,statistics&id=%s&key=%s",
+                String.join(",", videoIds), youtubeApiKey
+        );
+
+        String response = restTemplate.getForObject(url, String.class);
+        try {
+            List<VideoDetails> details = new ArrayList<>();
+            for (JsonNode item : objectMapper.readTree(response).path("items")) {
+                JsonNode statistics = item.path("statistics");
+                details.add(VideoDetails.builder()
+                        .videoId(item.get("id").asText())
+                        .durationSeconds(parseDurationSeconds(item.path("contentDetails").path("duration").asText()))
+                        .viewCount(statistics.path("viewCount").asLong(0))
+                        .likeCount(statistics.path("likeCount").asLong(0))
+                        .build());
+            }
+            return details;
+        } catch (IOException e) {
+            throw new IllegalStateException("YouTube 영상 상세 응답 파싱 실패", e);
+        }
+    }
+
+    /**
+     * ISO-8601 길이 (예: PT1H2M3S) → 초, 라이브 등 길이가 없으면 0
+     */
+    private long parseDurationSeconds(String isoDuration) {
+        try {
+            return Duration.parse(isoDuration).toSeconds();
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    // ===== 쿼터 관리 =====
+
+    /**
+     * 💰 호출 전에 쿼터를 먼저 차감 (실패한 호출도 쿼터는 소모됨)
+     */
+    private synchronized void reserveQuota(int units) {
+        rollQuotaDay();
+        if (quotaUsed + units > dailyQuotaLimit - quotaReserve) {
+            throw new QuotaExhaustedException(quotaUsed, dailyQuotaLimit);
+        }
+        quotaUsed += units;
+        saveQuotaState();
+    }
+
+    private synchronized int currentQuotaUsed() {
+        rollQuotaDay();
+        return quotaUsed;
+    }
+
+    private void rollQuotaDay() {
+        LocalDate today = LocalDate.now(QUOTA_ZONE);
+        if (!today.equals(quotaDay)) {
+            quotaDay = today;
+            quotaUsed = 0;
+        }
+    }
+
+    private synchronized void loadQuotaState() {
+        quotaDay = LocalDate.now(QUOTA_ZONE);
+        quotaUsed = 0;
+        if (!Files.exists(quotaFile)) {
+            return;
+        }
+        try {
+            QuotaState state = objectMapper.readValue(quotaFile.toFile(), QuotaState.class);
+            if (quotaDay.equals(state.day())) {
+                quotaUsed = state.used();
+                log.info("YouTube 쿼터 사용량 복원: {} 단위", quotaUsed);
+            }
+        } catch (IOException e) {
+            log.warn("YouTube 쿼터 파일 읽기 실패, 0부터 시작: {}", quotaFile);
+        }
+    }
+
+    private void saveQuotaState() {
+        try {
+            Files.createDirectories(quotaFile.getParent());
+            objectMapper.writeValue(quotaFile.toFile(), new QuotaState(quotaDay, quotaUsed));
+        } catch (IOException e) {
+            log.warn("YouTube 쿼터 파일 저장 실패: {}", quotaFile, e);
+        }
+    }
+
+    record QuotaState(LocalDate day, int used) {
+    }
+
+    static class QuotaExhaustedException extends RuntimeException {
+        QuotaExhaustedException(int used, int limit) {
+            super("YouTube 쿼터 보호 한도 도달: " + used + "/" + limit);
+        }
+    }
+
+    // DTO 클래스 (캐시 파일로 저장되므로 기본 생성자 필요)
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class VideoItem {
+        private String videoId;
+        private String title;
+        private String description;
+        private String channelTitle;
+        private String publishedAt;
+        private String thumbnailUrl;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class VideoDetails {
+        private String videoId;
+        private long durationSeconds;
+        private long viewCount;
+        private long likeCount;
+    }
+}
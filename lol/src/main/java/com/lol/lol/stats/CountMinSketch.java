@@ -0,0 +1,52 @@
+package com.lol.lol.stats;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 📊 Count-Min 스케치 빈도 추정기 (락 없음)
+ * 행마다 다른 해시 위치에 더하고, 추정은 행별 최소값 (실제보다 작게 나오지 않음)
+ * 행별 해시는 64비트 해시 하나를 두 32비트로 나눠 h1 + i * h2 로 유도 (할당 없음)
+ */
+public final class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final AtomicLongArray counters;
+
+    public CountMinSketch(int depth, int width) {
+        if (Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("width는 2의 거듭제곱이어야 함: " + width);
+        }
+        this.depth = depth;
+        this.width = width;
+        this.counters = new AtomicLongArray(depth * width);
+    }
+
+    public void add(long hash, long count) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int row = 0; row < depth; row++) {
+            counters.addAndGet(row * width + column(h1, h2, row), count);
+        }
+    }
+
+    public long estimate(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, counters.get(row * width + column(h1, h2, row)));
+        }
+        return min;
+    }
+
+    public void clear() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+    }
+
+    private int column(int h1, int h2, int row) {
+        return (h1 + row * h2) & (width - 1);
+    }
+}
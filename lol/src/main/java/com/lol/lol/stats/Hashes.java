@@ -0,0 +1,53 @@
+package com.lol.lol.stats;
+
+/**
+ * 🔢 통계 구조용 64비트 해시 (할당 없음)
+ * 문자를 직접 순회하는 FNV-1a 후 MurmurHash3 fmix64로 비트를 고르게 섞음
+ */
+public final class Hashes {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private Hashes() {
+    }
+
+    public static long hash64(CharSequence value) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    /**
+     * 앞뒤 공백과 대소문자를 무시한 해시 (플레이어 이름 등 식별자용)
+     */
+    public static long hash64IgnoreCase(CharSequence value) {
+        int start = 0;
+        int end = value.length();
+        while (start < end && Character.isWhitespace(value.charAt(start))) {
+            start++;
+        }
+        while (end > start && Character.isWhitespace(value.charAt(end - 1))) {
+            end--;
+        }
+
+        long hash = FNV_OFFSET;
+        for (int i = start; i < end; i++) {
+            hash ^= Character.toLowerCase(value.charAt(i));
+            hash *= FNV_PRIME;
+        }
+        return mix(hash);
+    }
+
+    static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,86 @@
+package com.lol.lol.stats;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * 👥 HyperLogLog 고유 개수 추정기 (락 없음)
+ * 레지스터는 CAS로 최대값만 갱신, add는 할당 없음
+ * 정밀도 p → 레지스터 2^p 개, 표준 오차 약 1.04 / sqrt(2^p)
+ */
+public final class HyperLogLog {
+
+    private final int precision;
+    private final AtomicIntegerArray registers;
+
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 16) {
+            throw new IllegalArgumentException("precision은 4~16: " + precision);
+        }
+        this.precision = precision;
+        this.registers = new AtomicIntegerArray(1 << precision);
+    }
+
+    public void add(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        // 남은 비트의 선행 0 개수 + 1 (남은 비트가 모두 0이면 최대값)
+        int rank = Math.min(Long.numberOfLeadingZeros(hash << precision), 64 - precision) + 1;
+
+        int current = registers.get(index);
+        while (rank > current && !registers.compareAndSet(index, current, rank)) {
+            current = registers.get(index);
+        }
+    }
+
+    public void clear() {
+        for (int i = 0; i < registers.length(); i++) {
+            registers.set(i, 0);
+        }
+    }
+
+    public int registerCount() {
+        return registers.length();
+    }
+
+    /**
+     * 여러 추정기를 합칠 때 사용 (레지스터별 최대값)
+     */
+    public void mergeInto(int[] target) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] = Math.max(target[i], registers.get(i));
+        }
+    }
+
+    public long estimate() {
+        int[] snapshot = new int[registers.length()];
+        mergeInto(snapshot);
+        return estimate(snapshot);
+    }
+
+    /**
+     * 레지스터 배열로 고유 개수 추정 (작은 범위는 linear counting 보정)
+     */
+    public static long estimate(int[] registers) {
+        int m = registers.length;
+        double sum = 0.0;
+        int zeros = 0;
+        for (int register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+
+        double alpha = switch (m) {
+            case 16 -> 0.673;
+            case 32 -> 0.697;
+            case 64 -> 0.709;
+            default -> 0.7213 / (1 + 1.079 / m);
+        };
+        double estimate = alpha * m * m / sum;
+
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+}
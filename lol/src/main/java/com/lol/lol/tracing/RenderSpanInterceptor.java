@@ -0,0 +1,46 @@
+package com.lol.lol.tracing;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * 🖼️ 화면(Thymeleaf) 렌더링 구간
+ * 컨트롤러가 뷰를 반환한 뒤(postHandle) 열고, 렌더링이 끝나면(afterCompletion) 닫음
+ */
+@Configuration
+@RequiredArgsConstructor
+public class RenderSpanInterceptor implements HandlerInterceptor, WebMvcConfigurer {
+
+    private static final String RENDER_SPAN_ATTRIBUTE = RenderSpanInterceptor.class.getName() + ".span";
+
+    private final Tracer tracer;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(this);
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        if (modelAndView != null && modelAndView.getViewName() != null) {
+            SpanScope span = tracer.startSpan("render " + modelAndView.getViewName());
+            request.setAttribute(RENDER_SPAN_ATTRIBUTE, span);
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (request.getAttribute(RENDER_SPAN_ATTRIBUTE) instanceof SpanScope span) {
+            request.removeAttribute(RENDER_SPAN_ATTRIBUTE);
+            span.close();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.lol.lol.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+/**
+ * 🔭 서비스 public 메서드마다 구간 생성 (빈 사이 호출만 해당, 같은 클래스 내부 호출은 제외)
+ * 요청당 여러 번 불리는 가벼운 집계용 서비스는 제외
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceTracingAspect {
+
+    private final Tracer tracer;
+
+    @Around("execution(public * com.lol.lol.service..*(..))"
+            + " && !within(com.lol.lol.service.RecommendationStatsService)"
+            + " && !within(com.lol.lol.service.PlayerDataVersionRegistry)")
+    public Object traceServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TraceContext.current() == null) {
+            return joinPoint.proceed();
+        }
+
+        String name = joinPoint.getSignature().getDeclaringType().getSimpleName()
+                + "." + joinPoint.getSignature().getName();
+        try (SpanScope span = tracer.startSpan(name)) {
+            try {
+                return joinPoint.proceed();
+            } catch (Throwable e) {
+                span.tag("error", e.getClass().getSimpleName());
+                throw e;
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.lol.lol.tracing;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 🧵 트레이스 구간 하나 (요청 전체, 서비스 메서드, 외부 호출, 화면 렌더링 ...)
+ * 자식 구간은 가상 스레드에서 동시에 붙을 수 있어 동시성 큐로 보관
+ */
+public final class Span {
+
+    private final Trace trace;
+    private final String spanId;
+    private final Span parent;
+    private final String name;
+    private final Instant startedAt = Instant.now();
+    private final long startNanos = System.nanoTime();
+    private final Queue<Span> children = new ConcurrentLinkedQueue<>();
+    private final Map<String, String> attributes = new ConcurrentHashMap<>();
+    private volatile long endNanos;
+
+    Span(Trace trace, Span parent, String spanId, String name) {
+        this.trace = trace;
+        this.parent = parent;
+        this.spanId = spanId;
+        this.name = name;
+    }
+
+    public Span tag(String key, Object value) {
+        if (key != null && value != null) {
+            attributes.put(key, String.valueOf(value));
+        }
+        return this;
+    }
+
+    void end() {
+        if (endNanos == 0) {
+            endNanos = System.nanoTime();
+        }
+    }
+
+    void addChild(Span child) {
+        children.add(child);
+    }
+
+    public String traceId() {
+        return trace.traceId();
+    }
+
+    public String spanId() {
+        return spanId;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public Span parent() {
+        return parent;
+    }
+
+    Trace trace() {
+        return trace;
+    }
+
+    public Instant startedAt() {
+        return startedAt;
+    }
+
+    long startNanos() {
+        return startNanos;
+    }
+
+    public boolean isEnded() {
+        return endNanos != 0;
+    }
+
+    /**
+     * 소요 시간 (끝나지 않은 구간은 지금까지)
+     */
+    public long durationNanos() {
+        long end = endNanos;
+        return (end == 0 ? System.nanoTime() : end) - startNanos;
+    }
+
+    public Iterable<Span> children() {
+        return children;
+    }
+
+    public Map<String, String> attributes() {
+        return attributes;
+    }
+
+    /**
+     * 트레이스 단위 공유 상태 (루트가 끝나면 더 이상 구간을 받지 않음)
+     */
+    record Trace(String traceId, AtomicInteger spanCount, AtomicBoolean finished) {
+        Trace(String traceId) {
+            this(traceId, new AtomicInteger(), new AtomicBoolean());
+        }
+    }
+}
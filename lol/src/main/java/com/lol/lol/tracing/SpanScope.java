@@ -0,0 +1,24 @@
+package com.lol.lol.tracing;
+
+/**
+ * 🧵 열린 구간 (try-with-resources로 닫으면 구간 종료 + 이전 구간 복원)
+ * 진행 중인 트레이스가 없으면 아무 일도 하지 않는 NOOP
+ */
+public interface SpanScope extends AutoCloseable {
+
+    SpanScope NOOP = new SpanScope() {
+        @Override
+        public SpanScope tag(String key, Object value) {
+            return this;
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    SpanScope tag(String key, Object value);
+
+    @Override
+    void close();
+}
@@ -0,0 +1,121 @@
+package com.lol.lol.tracing;
+
+import org.slf4j.MDC;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🧭 현재 스레드의 트레이스 구간
+ * ScopedValue(Java 23에서는 preview)와 같은 방식으로 씀: 열고 → 실행 → 이전 값 복원
+ * 다른 스레드로 넘어갈 때는 wrap()/propagating()으로 제출 시점의 구간을 명시적으로 넘김
+ * MDC에도 traceId를 넣어 로그와 트레이스를 연결
+ */
+public final class TraceContext {
+
+    static final String MDC_TRACE_ID = "traceId";
+
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+
+    private TraceContext() {
+    }
+
+    public static Span current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 구간을 현재 스레드에 연결, 반환된 Scope를 닫으면 이전 구간으로 복원
+     */
+    static Scope attach(Span span) {
+        Span previous = CURRENT.get();
+        CURRENT.set(span);
+        setMdc(span);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+            setMdc(previous);
+        };
+    }
+
+    /**
+     * 제출 시점의 구간을 작업 실행 스레드로 넘기는 Runnable
+     */
+    public static Runnable wrap(Runnable task) {
+        Span captured = CURRENT.get();
+        if (captured == null) {
+            return task;
+        }
+        return () -> {
+            try (Scope ignored = attach(captured)) {
+                task.run();
+            }
+        };
+    }
+
+    /**
+     * 모든 작업에 현재 구간을 넘기는 ExecutorService
+     * (submit / CompletableFuture.supplyAsync 모두 execute를 거침)
+     */
+    public static ExecutorService propagating(ExecutorService delegate) {
+        return new PropagatingExecutorService(delegate);
+    }
+
+    private static void setMdc(Span span) {
+        if (span == null) {
+            MDC.remove(MDC_TRACE_ID);
+        } else {
+            MDC.put(MDC_TRACE_ID, span.traceId());
+        }
+    }
+
+    @FunctionalInterface
+    interface Scope extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private static final class PropagatingExecutorService extends AbstractExecutorService {
+
+        private final ExecutorService delegate;
+
+        private PropagatingExecutorService(ExecutorService delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            delegate.execute(wrap(command));
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+}
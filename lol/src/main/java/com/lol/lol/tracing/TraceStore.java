@@ -0,0 +1,85 @@
+package com.lol.lol.tracing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 🗂️ 최근 끝난 트레이스 보관 (고정 크기 링, 오래된 것부터 덮어씀)
+ * 조회 시 소요 시간이 긴 순으로 정렬해 트리 형태로 변환
+ */
+@Component
+public class TraceStore {
+
+    private final AtomicReferenceArray<Span> recent;
+    private final AtomicLong cursor = new AtomicLong();
+
+    public TraceStore(@Value("${tracing.recent-traces:256}") int capacity) {
+        this.recent = new AtomicReferenceArray<>(capacity);
+    }
+
+    void record(Span root) {
+        recent.set((int) (cursor.getAndIncrement() % recent.length()), root);
+    }
+
+    /**
+     * 가장 느린 트레이스 limit개 (nameFilter가 있으면 루트 이름에 포함된 것만)
+     */
+    public List<TraceView> slowest(int limit, String nameFilter) {
+        List<Span> roots = new ArrayList<>();
+        for (int i = 0; i < recent.length(); i++) {
+            Span root = recent.get(i);
+            if (root != null && (nameFilter == null || root.name().contains(nameFilter))) {
+                roots.add(root);
+            }
+        }
+
+        return roots.stream()
+                .sorted(Comparator.comparingLong(Span::durationNanos).reversed())
+                .limit(limit)
+                .map(root -> new TraceView(root.traceId(), root.startedAt(), toNode(root, root.startNanos())))
+                .toList();
+    }
+
+    private static SpanNode toNode(Span span, long traceStartNanos) {
+        List<SpanNode> children = new ArrayList<>();
+        for (Span child : span.children()) {
+            children.add(toNode(child, traceStartNanos));
+        }
+        children.sort(Comparator.comparingDouble(SpanNode::startOffsetMs));
+
+        return new SpanNode(
+                span.name(),
+                span.spanId(),
+                millis(span.startNanos() - traceStartNanos),
+                millis(span.durationNanos()),
+                !span.isEnded(),
+                Map.copyOf(span.attributes()),
+                children
+        );
+    }
+
+    private static double millis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    public record TraceView(String traceId, Instant startedAt, SpanNode root) {
+    }
+
+    public record SpanNode(
+            String name,
+            String spanId,
+            double startOffsetMs,
+            double durationMs,
+            boolean unfinished,
+            Map<String, String> attributes,
+            List<SpanNode> children) {
+    }
+}
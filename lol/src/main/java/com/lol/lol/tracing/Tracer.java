@@ -0,0 +1,119 @@
+package com.lol.lol.tracing;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * 🔭 요청 단위 트레이서
+ * - 루트 구간은 TracingFilter가 요청마다 하나 열고, 닫히면 TraceStore에 보관
+ * - 그 아래 구간(서비스 메서드, 외부 호출, 렌더링)은 현재 구간의 자식으로 붙음
+ * - 트레이스 밖(스케줄러, 백그라운드 작업)에서는 구간을 만들지 않음
+ * - 트레이스당 구간 수 상한을 넘으면 더 이상 기록하지 않음 (루트에 dropped.spans 표시)
+ */
+@Component
+@RequiredArgsConstructor
+public class Tracer {
+
+    private static final Pattern TRACEPARENT = Pattern.compile("00-([0-9a-f]{32})-([0-9a-f]{16})-[0-9a-f]{2}");
+    private static final String INVALID_TRACE_ID = "0".repeat(32);
+
+    private final TraceStore traceStore;
+
+    @Value("${tracing.max-spans-per-trace:1000}")
+    private int maxSpansPerTrace;
+
+    /**
+     * 요청 루트 구간 시작 (traceparent 헤더가 유효하면 같은 traceId를 이어 씀)
+     */
+    public SpanScope startRoot(String name, String traceparent) {
+        String traceId = null;
+        String parentSpanId = null;
+        if (traceparent != null) {
+            var matcher = TRACEPARENT.matcher(traceparent.strip());
+            if (matcher.matches() && !INVALID_TRACE_ID.equals(matcher.group(1))) {
+                traceId = matcher.group(1);
+                parentSpanId = matcher.group(2);
+            }
+        }
+
+        Span.Trace trace = new Span.Trace(traceId != null ? traceId : randomHex(16));
+        Span root = new Span(trace, null, randomHex(8), name);
+        if (parentSpanId != null) {
+            root.tag("parent.span_id", parentSpanId);
+        }
+        return new ActiveScope(root, TraceContext.attach(root));
+    }
+
+    /**
+     * 현재 구간의 자식 구간 시작
+     */
+    public SpanScope startSpan(String name) {
+        Span parent = TraceContext.current();
+        if (parent == null || parent.trace().finished().get()) {
+            return SpanScope.NOOP;
+        }
+        if (parent.trace().spanCount().incrementAndGet() > maxSpansPerTrace) {
+            return SpanScope.NOOP;
+        }
+
+        Span span = new Span(parent.trace(), parent, randomHex(8), name);
+        parent.addChild(span);
+        return new ActiveScope(span, TraceContext.attach(span));
+    }
+
+    public <T> T inSpan(String name, Supplier<T> work) {
+        try (SpanScope ignored = startSpan(name)) {
+            return work.get();
+        }
+    }
+
+    /**
+     * W3C traceparent 헤더 값 (현재 구간이 없으면 null)
+     */
+    public static String currentTraceparent() {
+        Span span = TraceContext.current();
+        return span == null ? null : "00-" + span.traceId() + "-" + span.spanId() + "-01";
+    }
+
+    private static String randomHex(int bytes) {
+        byte[] value = new byte[bytes];
+        ThreadLocalRandom.current().nextBytes(value);
+        return HexFormat.of().formatHex(value);
+    }
+
+    private final class ActiveScope implements SpanScope {
+
+        private final Span span;
+        private final TraceContext.Scope restore;
+
+        private ActiveScope(Span span, TraceContext.Scope restore) {
+            this.span = span;
+            this.restore = restore;
+        }
+
+        @Override
+        public SpanScope tag(String key, Object value) {
+            span.tag(key, value);
+            return this;
+        }
+
+        @Override
+        public void close() {
+            span.end();
+            restore.close();
+            if (span.parent() == null && span.trace().finished().compareAndSet(false, true)) {
+                int recorded = span.trace().spanCount().get();
+                if (recorded > maxSpansPerTrace) {
+                    span.tag("dropped.spans", recorded - maxSpansPerTrace);
+                }
+                traceStore.record(span);
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.lol.lol.tracing;
+
+import com.lol.lol.metrics.UpstreamObservationConvention;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+
+/**
+ * 🌐 외부 호출마다 구간을 열고 traceparent 헤더 전달
+ * RestTemplateCustomizer로 등록되어 RestTemplateBuilder로 만든 모든 RestTemplate에 붙음
+ * 구간 이름은 지표와 같은 upstream + 경로 템플릿 (쿼리/API 키 제외)
+ * 스트리밍 응답은 본문을 다 읽기 전에 구간이 닫히므로 첫 응답까지의 시간으로 봐야 함
+ * 격벽(UpstreamGateway)보다 바깥에 붙어서 격벽 대기 시간도 구간에 포함됨
+ * traceparent는 로컬 대역(대체 서버/사이드카)이나 tracing.propagation.hosts에 지정한 호스트로만 보냄
+ * → Riot/Google/YouTube 같은 외부 API에는 내부 trace ID를 흘리지 않음
+ */
+@Component
+@Order(0)
+@RequiredArgsConstructor
+public class TracingClientInterceptor implements ClientHttpRequestInterceptor, RestTemplateCustomizer {
+
+    private final Tracer tracer;
+
+    @Value("${tracing.propagation.hosts:}")
+    private List<String> propagationHosts;
+
+    @Override
+    public void customize(RestTemplate restTemplate) {
+        restTemplate.getInterceptors().add(this);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (TraceContext.current() == null) {
+            return execution.execute(request, body);
+        }
+
+        String upstream = UpstreamObservationConvention.upstreamOf(request.getURI());
+        String path = UpstreamObservationConvention.normalizePath(
+                request.getURI().getRawPath() == null ? "" : request.getURI().getRawPath());
+
+        try (SpanScope span = tracer.startSpan("HTTP " + request.getMethod() + " " + upstream + " " + path)) {
+            String traceparent = Tracer.currentTraceparent();
+            if (traceparent != null && shouldPropagate(request.getURI())) {
+                request.getHeaders().set(TracingFilter.TRACEPARENT_HEADER, traceparent);
+            }
+            span.tag("upstream", upstream);
+            try {
+                ClientHttpResponse response = execution.execute(request, body);
+                span.tag("http.status", response.getStatusCode().value());
+                return response;
+            } catch (IOException | RuntimeException e) {
+                span.tag("error", e.getClass().getSimpleName());
+                throw e;
+            }
+        }
+    }
+
+    private boolean shouldPropagate(URI uri) {
+        String host = uri.getHost();
+        if (host == null) {
+            return false;
+        }
+        return isLoopback(host) || propagationHosts.stream().anyMatch(host::equalsIgnoreCase);
+    }
+
+    private static boolean isLoopback(String host) {
+        return host.equalsIgnoreCase("localhost")
+                || host.startsWith("127.")
+                || host.equals("::1")
+                || host.equals("[::1]");
+    }
+}
@@ -0,0 +1,52 @@
+package com.lol.lol.tracing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * 🔭 요청마다 루트 구간을 열고 응답 헤더에 traceparent를 돌려줌
+ * 정적 리소스, actuator, 트레이스 조회 자체는 기록하지 않음
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@RequiredArgsConstructor
+public class TracingFilter extends OncePerRequestFilter {
+
+    static final String TRACEPARENT_HEADER = "traceparent";
+
+    private final Tracer tracer;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI();
+        return path.startsWith("/actuator")
+                || path.startsWith("/internal/traces")
+                || path.startsWith("/css/")
+                || path.startsWith("/js/")
+                || path.startsWith("/images/")
+                || path.equals("/favicon.ico");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        try (SpanScope root = tracer.startRoot(request.getMethod() + " " + request.getRequestURI(),
+                request.getHeader(TRACEPARENT_HEADER))) {
+            response.setHeader(TRACEPARENT_HEADER, Tracer.currentTraceparent());
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                root.tag("http.status", response.getStatus());
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.lol.lol.upstream;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 🧱 외부 API 하나의 동시 호출 칸막이
+ * 동시에 limit개까지 호출, 넘치면 maxQueue개까지 maxWaitMs 동안 대기, 그 이상은 즉시 거절
+ * 공정 락이라 먼저 기다린 호출이 먼저 들어감
+ * 한도는 적응형 제한기(GradientLimiter)가 실행 중에 바꿀 수 있음 (줄어들면 진행 중 호출은 그대로, 새 호출만 대기)
+ */
+class Bulkhead {
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition released = lock.newCondition();
+    private volatile int limit;
+    private final int maxQueue;
+    private final long maxWaitNanos;
+
+    private int inFlight;
+    private int waiting;
+
+    Bulkhead(int limit, int maxQueue, long maxWaitMs) {
+        this.limit = Math.max(1, limit);
+        this.maxQueue = Math.max(0, maxQueue);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, maxWaitMs));
+    }
+
+    /**
+     * 바로 자리가 있으면 IMMEDIATE, 기다려서 얻으면 QUEUED, 못 얻으면 REJECTED
+     *
+     * @param waitCapNanos 이번 호출이 기다릴 수 있는 최대 시간 (남은 요청 예산), maxWait보다 길면 무시
+     */
+    Admission acquire(long waitCapNanos) throws InterruptedException {
+        lock.lock();
+        try {
+            if (inFlight < limit && waiting == 0) {
+                inFlight++;
+                return Admission.IMMEDIATE;
+            }
+            if (waiting >= maxQueue) {
+                return Admission.REJECTED;
+            }
+
+            waiting++;
+            try {
+                long remaining = Math.min(maxWaitNanos, waitCapNanos);
+                while (inFlight >= limit) {
+                    if (remaining <= 0) {
+                        return Admission.REJECTED;
+                    }
+                    remaining = released.awaitNanos(remaining);
+                }
+                inFlight++;
+                return Admission.QUEUED;
+            } finally {
+                waiting--;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void release() {
+        lock.lock();
+        try {
+            inFlight--;
+            released.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void setLimit(int newLimit) {
+        lock.lock();
+        try {
+            int previous = limit;
+            limit = Math.max(1, newLimit);
+            if (limit > previous) {
+                released.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int inFlight() {
+        return inFlight;
+    }
+
+    int waiting() {
+        return waiting;
+    }
+
+    int limit() {
+        return limit;
+    }
+
+    enum Admission {
+        IMMEDIATE, QUEUED, REJECTED;
+
+        boolean admitted() {
+            return this != REJECTED;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.lol.lol.upstream;
+
+/**
+ * 🧱 격벽이 가득 차 호출하지 않고 거절함
+ */
+public class BulkheadFullException extends UpstreamRejectedException {
+
+    public BulkheadFullException(Upstream upstream) {
+        super("외부 API 격벽 포화로 호출 거절: " + upstream.getTag());
+    }
+}
@@ -0,0 +1,137 @@
+package com.lol.lol.upstream;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ⚡ 외부 API 하나의 회로 차단기
+ * - CLOSED: 최근 windowSize개 호출 중 실패율 또는 느린 호출 비율이 기준을 넘으면 OPEN
+ * - OPEN: openMs 동안 호출하지 않고 바로 거절 → 서비스는 곧장 대체 응답
+ * - HALF_OPEN: 시험 호출 probes개만 통과, 모두 정상이면 CLOSED, 하나라도 실패/느리면 다시 OPEN
+ * 상태가 바뀔 때만 로그를 남기고, 열린 동안의 거절은 지표로만 셈
+ */
+@Slf4j
+class CircuitBreaker {
+
+    enum State { CLOSED, HALF_OPEN, OPEN }
+
+    private final Upstream upstream;
+    private final boolean[] failures;
+    private final boolean[] slows;
+    private final int minCalls;
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final int halfOpenProbes;
+
+    private State state = State.CLOSED;
+    private int index;
+    private int recorded;
+    private long openedAt;
+    private int probesIssued;
+    private int probeSuccesses;
+
+    CircuitBreaker(Upstream upstream, int windowSize, int minCalls, double failureRateThreshold,
+                   double slowCallRateThreshold, long slowCallMs, long openMs, int halfOpenProbes) {
+        this.upstream = upstream;
+        this.failures = new boolean[Math.max(1, windowSize)];
+        this.slows = new boolean[failures.length];
+        this.minCalls = Math.max(1, Math.min(minCalls, failures.length));
+        this.failureRateThreshold = failureRateThreshold;
+        this.slowCallRateThreshold = slowCallRateThreshold;
+        this.slowCallNanos = TimeUnit.MILLISECONDS.toNanos(slowCallMs);
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMs);
+        this.halfOpenProbes = Math.max(1, halfOpenProbes);
+    }
+
+    /**
+     * 호출해도 되는지 (HALF_OPEN이면 시험 호출 자리를 하나 차지)
+     */
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAt < openNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            probesIssued = 0;
+            probeSuccesses = 0;
+            log.info("⚡ {} 회로 반개방, 시험 호출 {}개 허용", upstream.getTag(), halfOpenProbes);
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesIssued >= halfOpenProbes) {
+                return false;
+            }
+            probesIssued++;
+        }
+        return true;
+    }
+
+    synchronized void onResult(long durationNanos, boolean failed) {
+        boolean slow = durationNanos >= slowCallNanos;
+
+        if (state == State.HALF_OPEN) {
+            if (failed || slow) {
+                open(failed ? "시험 호출 실패" : "시험 호출 지연");
+            } else if (++probeSuccesses >= halfOpenProbes) {
+                close();
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            return;
+        }
+
+        failures[index] = failed;
+        slows[index] = slow;
+        index = (index + 1) % failures.length;
+        recorded = Math.min(recorded + 1, failures.length);
+        if (recorded < minCalls) {
+            return;
+        }
+
+        double failureRate = rate(failures);
+        double slowRate = rate(slows);
+        if (failureRate >= failureRateThreshold || slowRate >= slowCallRateThreshold) {
+            open("실패율 %.0f%%, 느린 호출 %.0f%%".formatted(failureRate, slowRate));
+        }
+    }
+
+    /**
+     * 외부 API와 무관한 이유(격벽/예산)로 호출하지 못한 경우, 시험 호출 자리 반납
+     */
+    synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && probesIssued > probeSuccesses) {
+            probesIssued--;
+        }
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    private void open(String reason) {
+        state = State.OPEN;
+        openedAt = System.nanoTime();
+        log.warn("⚡ {} 회로 열림 ({}), {}초 동안 대체 응답",
+                upstream.getTag(), reason, TimeUnit.NANOSECONDS.toSeconds(openNanos));
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        index = 0;
+        recorded = 0;
+        log.info("⚡ {} 회로 닫힘, 정상 호출 재개", upstream.getTag());
+    }
+
+    private double rate(boolean[] outcomes) {
+        int count = 0;
+        for (int i = 0; i < recorded; i++) {
+            if (outcomes[i]) {
+                count++;
+            }
+        }
+        return count * 100.0 / recorded;
+    }
+}
@@ -0,0 +1,11 @@
+package com.lol.lol.upstream;
+
+/**
+ * ⚡ 회로가 열려 있어 호출하지 않고 거절함
+ */
+public class CircuitOpenException extends UpstreamRejectedException {
+
+    public CircuitOpenException(Upstream upstream) {
+        super("외부 API 회로 열림으로 호출 생략: " + upstream.getTag());
+    }
+}
@@ -0,0 +1,89 @@
+package com.lol.lol.upstream;
+
+/**
+ * 📈 지연 시간 기반 적응형 동시 호출 한도 (gradient 방식)
+ * 최근 응답 시간(짧은 평균)을 평소 응답 시간(긴 평균)과 비교해서
+ * - 평소와 비슷하면 한도를 조금씩 올리고 (√limit 만큼 여유)
+ * - 느려지면 그 비율만큼 한도를 내리고 (최대 절반까지)
+ * - 오류/타임아웃/429·5xx면 바로 10% 줄임
+ * 한도를 다 쓰지도 않는 한가한 때는 늘리지 않음 (근거 없는 한도 증가 방지)
+ * 평소 응답 시간은 천천히 따라가되, 지연이 오래 이어지면 조금씩 낮춰서 새 기준에 갇히지 않게 함
+ */
+class GradientLimiter {
+
+    private static final double SHORT_WINDOW = 10;
+    private static final double LONG_WINDOW = 500;
+    private static final double TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final int WARMUP_SAMPLES = 10;
+
+    private final int minLimit;
+    private final int maxLimit;
+
+    private double limit;
+    private double shortRttNanos;
+    private double longRttNanos;
+    private long samples;
+
+    GradientLimiter(int initialLimit, int minLimit, int maxLimit) {
+        this.minLimit = Math.max(1, minLimit);
+        this.maxLimit = Math.max(this.minLimit, maxLimit);
+        this.limit = clamp(initialLimit);
+    }
+
+    /**
+     * 호출 하나의 결과 반영 후 새 한도 반환
+     *
+     * @param rttNanos 호출 시작 ~ 응답 헤더 도착 (실패면 실패까지)
+     * @param inFlight 호출 시작 시점의 진행 중 호출 수 (자기 포함)
+     * @param dropped  오류/타임아웃/과부하 응답 여부
+     */
+    synchronized int onSample(long rttNanos, int inFlight, boolean dropped) {
+        if (dropped) {
+            limit = clamp(limit * BACKOFF_RATIO);
+            return (int) limit;
+        }
+
+        samples++;
+        shortRttNanos = ema(shortRttNanos, rttNanos, SHORT_WINDOW);
+        longRttNanos = ema(longRttNanos, rttNanos, LONG_WINDOW);
+        if (samples < WARMUP_SAMPLES) {
+            return (int) limit;
+        }
+
+        // 지연이 오래 이어져 평소 기준이 끌려 올라갔으면 조금씩 되돌림
+        if (longRttNanos / shortRttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        if (inFlight < limit / 2) {
+            return (int) limit;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, TOLERANCE * longRttNanos / shortRttNanos));
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = clamp(limit * (1 - SMOOTHING) + target * SMOOTHING);
+        return (int) limit;
+    }
+
+    synchronized int limit() {
+        return (int) limit;
+    }
+
+    synchronized double longRttMillis() {
+        return longRttNanos / 1_000_000.0;
+    }
+
+    private double clamp(double value) {
+        return Math.max(minLimit, Math.min(maxLimit, value));
+    }
+
+    private double ema(double current, long sample, double window) {
+        if (current == 0) {
+            return sample;
+        }
+        double factor = 2.0 / (window + 1);
+        return current * (1 - factor) + sample * factor;
+    }
+}
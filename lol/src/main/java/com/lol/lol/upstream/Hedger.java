@@ -0,0 +1,165 @@
+package com.lol.lol.upstream;
+
+import com.lol.lol.deadline.DeadlineContext;
+import com.lol.lol.tracing.TraceContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+/**
+ * 🪂 헤지 요청: 첫 시도가 p95 시간 안에 안 오면 같은 요청을 한 번 더 보내고 먼저 온 응답 사용
+ * 멱등인 조회(GET)에만 씀, 진 쪽 응답은 받는 대로 닫음
+ * 호출자가 기다리다 인터럽트로 빠지면 그 시도는 버린 것으로 보고, 나중에 오는 응답을 닫아 격벽 자리/연결을 돌려줌
+ * 부하가 두 배가 되지 않도록 헤지는 전체 호출의 maxRatio 비율까지만 (토큰 예산)
+ * 시도는 가상 스레드에서 실행되며 요청 마감/트레이스를 그대로 넘겨받음
+ */
+@Slf4j
+class Hedger {
+
+    private static final double MAX_TOKENS = 10;
+
+    private final ExecutorService attemptExecutor = DeadlineContext.propagating(
+            TraceContext.propagating(Executors.newVirtualThreadPerTaskExecutor()));
+    private final MeterRegistry meterRegistry;
+    private final double maxRatio;
+    private final long minDelayNanos;
+    private double tokens = MAX_TOKENS;
+
+    Hedger(MeterRegistry meterRegistry, double maxRatio, long minDelayMs) {
+        this.meterRegistry = meterRegistry;
+        this.maxRatio = maxRatio;
+        this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(minDelayMs);
+    }
+
+    /**
+     * @param delayNanos 헤지를 보내기 전 기다릴 시간 (보통 최근 p95)
+     */
+    ClientHttpResponse execute(Upstream upstream, long delayNanos,
+                               Callable<ClientHttpResponse> primary,
+                               Callable<ClientHttpResponse> hedge) throws IOException {
+        earnToken();
+        CompletableFuture<ClientHttpResponse> first = submit(primary);
+        try {
+            return first.get(Math.max(minDelayNanos, delayNanos), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // 아래에서 헤지 여부 결정
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            closeWhenDone(first);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("외부 호출 대기 중 인터럽트");
+        }
+
+        if (!spendToken()) {
+            count(upstream, "budget_exhausted");
+            return await(first);
+        }
+
+        count(upstream, "fired");
+        CompletableFuture<ClientHttpResponse> second = submit(hedge);
+        CompletableFuture<ClientHttpResponse> winner = new CompletableFuture<>();
+        AtomicInteger failed = new AtomicInteger();
+        first.whenComplete(firstSuccess(winner, failed, upstream, false));
+        second.whenComplete(firstSuccess(winner, failed, upstream, true));
+        return await(winner);
+    }
+
+    void shutdown() {
+        attemptExecutor.shutdownNow();
+    }
+
+    private CompletableFuture<ClientHttpResponse> submit(Callable<ClientHttpResponse> attempt) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return attempt.call();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, attemptExecutor);
+    }
+
+    /**
+     * 먼저 성공한 응답을 winner로, 늦게 온 성공 응답은 닫음, 둘 다 실패하면 마지막 실패 전달
+     */
+    private BiConsumer<ClientHttpResponse, Throwable> firstSuccess(CompletableFuture<ClientHttpResponse> winner,
+                                                                   AtomicInteger failed, Upstream upstream,
+                                                                   boolean isHedge) {
+        return (response, error) -> {
+            if (error == null) {
+                if (winner.complete(response)) {
+                    if (isHedge) {
+                        count(upstream, "won");
+                    }
+                } else {
+                    response.close();
+                }
+            } else if (failed.incrementAndGet() == 2) {
+                winner.completeExceptionally(error);
+            }
+        };
+    }
+
+    private ClientHttpResponse await(CompletableFuture<ClientHttpResponse> future) throws IOException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            closeWhenDone(future);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("외부 호출 대기 중 인터럽트");
+        }
+    }
+
+    /**
+     * 호출자에게 돌려주지 않을 시도: 응답이 오면(이미 왔어도) 바로 닫음
+     */
+    private void closeWhenDone(CompletableFuture<ClientHttpResponse> abandoned) {
+        abandoned.whenComplete((response, error) -> {
+            if (response != null) {
+                response.close();
+            }
+        });
+    }
+
+    private IOException unwrap(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof IOException io) {
+            return io;
+        }
+        if (cause instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        return new IOException(cause);
+    }
+
+    private synchronized void earnToken() {
+        tokens = Math.min(MAX_TOKENS, tokens + maxRatio);
+    }
+
+    private synchronized boolean spendToken() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+
+    private void count(Upstream upstream, String result) {
+        meterRegistry.counter("upstream.hedge.requests", "upstream", upstream.getTag(), "result", result).increment();
+    }
+}
@@ -0,0 +1,43 @@
+package com.lol.lol.upstream;
+
+import java.util.Arrays;
+
+/**
+ * ⏱️ 최근 성공 호출 응답 시간의 p95 (헤지 요청 지연 기준)
+ * 최근 size개를 링 버퍼에 두고, 일정 개수마다 정렬해서 다시 계산
+ */
+class LatencyTracker {
+
+    private static final int MIN_SAMPLES = 20;
+    private static final int RECOMPUTE_EVERY = 16;
+
+    private final long[] samples;
+    private int index;
+    private int recorded;
+    private int sinceRecompute;
+    private long p95Nanos = -1;
+
+    LatencyTracker(int size) {
+        this.samples = new long[Math.max(MIN_SAMPLES, size)];
+    }
+
+    synchronized void record(long nanos) {
+        samples[index] = nanos;
+        index = (index + 1) % samples.length;
+        recorded = Math.min(recorded + 1, samples.length);
+
+        if (++sinceRecompute >= RECOMPUTE_EVERY && recorded >= MIN_SAMPLES) {
+            long[] sorted = Arrays.copyOf(samples, recorded);
+            Arrays.sort(sorted);
+            p95Nanos = sorted[(int) Math.ceil(recorded * 0.95) - 1];
+            sinceRecompute = 0;
+        }
+    }
+
+    /**
+     * 표본이 부족하면 -1
+     */
+    synchronized long p95Nanos() {
+        return p95Nanos;
+    }
+}
@@ -0,0 +1,333 @@
+package com.lol.lol.upstream;
+
+import com.lol.lol.deadline.DeadlineContext;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.client.support.HttpRequestWrapper;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 🔑 Riot API 키 풀
+ * 설정(riot.api.keys, 쉼표 구분 / 없으면 예전 riot.api.key 하나)의 여러 운영 키로 요청을 나눠서 처리량을 키 개수만큼 늘림
+ * - 키마다 따로 한도 예산 (Riot 표기 "요청수:초" 목록, 기본 개발 키 한도 20:1,100:120)
+ * - 요청마다 남은 예산 비율이 가장 큰 키 선택, 응답의 X-App-Rate-Limit-Count로 실제 사용량 동기화
+ * - 401/403이면 그 키를 한동안 빼고 다른 키로 같은 요청을 다시 보냄 (트래픽 유실 없음)
+ * - 429면 Retry-After 동안 그 키를 쉬게 함
+ * - 모든 키 예산이 바닥이면 잠깐(최대 max-wait-ms, 남은 요청 예산 안에서) 기다렸다가, 그래도 없으면 바로 거절
+ * 키는 URL 쿼리가 아니라 X-Riot-Token 헤더로 보내서 URL/로그에 남지 않게 함
+ */
+@Slf4j
+@Component
+public class RiotApiKeyPool {
+
+    static final String TOKEN_HEADER = "X-Riot-Token";
+    private static final String RATE_LIMIT_COUNT_HEADER = "X-App-Rate-Limit-Count";
+
+    private final List<ApiKey> keys = new ArrayList<>();
+    private final Duration disableFor;
+    private final long maxWaitNanos;
+    private final MeterRegistry meterRegistry;
+
+    public RiotApiKeyPool(@Value("${riot.api.keys:${riot.api.key:}}") List<String> configuredKeys,
+                          @Value("${riot.api.rate-limits:20:1,100:120}") String rateLimits,
+                          @Value("${riot.api.key-disable-minutes:30}") long disableMinutes,
+                          @Value("${riot.api.key-max-wait-ms:1000}") long maxWaitMs,
+                          MeterRegistry meterRegistry) {
+        this.disableFor = Duration.ofMinutes(disableMinutes);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        this.meterRegistry = meterRegistry;
+
+        List<RateWindow> template = parseRateLimits(rateLimits);
+        configuredKeys.stream()
+                .map(String::strip)
+                .filter(key -> !key.isEmpty())
+                .distinct()
+                .forEach(key -> keys.add(new ApiKey("key-" + (keys.size() + 1), key, template)));
+
+        if (keys.isEmpty()) {
+            log.warn("🔑 Riot API 키가 설정되지 않았습니다 (riot.api.keys)");
+        } else {
+            log.info("🔑 Riot API 키 {}개 사용, 키당 한도 {}", keys.size(), rateLimits);
+        }
+
+        for (ApiKey key : keys) {
+            Gauge.builder("riot.api.key.remaining", key, this::remainingRatio)
+                    .description("키의 남은 한도 비율 (가장 빡빡한 구간 기준, 빠진 키는 0)")
+                    .tag("key", key.name)
+                    .register(meterRegistry);
+        }
+        Gauge.builder("riot.api.keys.active", this, RiotApiKeyPool::activeKeys)
+                .description("순환 중인 Riot API 키 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 키를 골라 헤더에 붙여 호출, 401/403이면 다른 키로 재시도
+     */
+    ClientHttpResponse execute(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (keys.isEmpty()) {
+            return execution.execute(request, body);
+        }
+
+        while (true) {
+            ApiKey key = acquire();
+            ClientHttpResponse response = execution.execute(withToken(request, key), body);
+            int status = response.getStatusCode().value();
+
+            if (status == 401 || status == 403) {
+                synchronized (this) {
+                    key.pause(disableFor);
+                }
+                count(key, "unauthorized");
+                log.warn("🔑 Riot API 키 {} 응답 {}, {}분 동안 순환에서 제외", key.name, status, disableFor.toMinutes());
+                if (activeKeys() == 0) {
+                    return response;
+                }
+                response.close();
+                continue;
+            }
+
+            if (status == 429) {
+                Duration retryAfter = retryAfter(response.getHeaders());
+                synchronized (this) {
+                    key.pause(retryAfter);
+                }
+                count(key, "rate_limited");
+                log.warn("🔑 Riot API 키 {} 한도 초과(429), {}초 휴식", key.name, retryAfter.toSeconds());
+            } else {
+                count(key, "ok");
+            }
+            String rateLimitCount = response.getHeaders().getFirst(RATE_LIMIT_COUNT_HEADER);
+            synchronized (this) {
+                key.syncCounts(rateLimitCount, System.nanoTime());
+            }
+            return response;
+        }
+    }
+
+    /**
+     * 남은 예산 비율이 가장 큰 키 (없으면 잠깐 기다렸다 한 번 더, 그래도 없으면 거절)
+     */
+    private ApiKey acquire() throws InterruptedIOException {
+        ApiKey key = tryAcquire();
+        if (key != null) {
+            return key;
+        }
+
+        long refill = earliestRefillNanos();
+        long waitCap = DeadlineContext.remainingOr(Duration.ofNanos(maxWaitNanos)).toNanos();
+        if (refill <= waitCap) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(refill);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Riot API 키 대기 중 인터럽트");
+            }
+            key = tryAcquire();
+            if (key != null) {
+                return key;
+            }
+        }
+
+        meterRegistry.counter("riot.api.key.exhausted").increment();
+        throw new UpstreamRejectedException("모든 Riot API 키의 한도 소진");
+    }
+
+    private synchronized ApiKey tryAcquire() {
+        long now = System.nanoTime();
+        ApiKey best = null;
+        double bestRatio = 0;
+        for (ApiKey key : keys) {
+            double ratio = key.remainingRatio(now);
+            if (ratio > bestRatio) {
+                best = key;
+                bestRatio = ratio;
+            }
+        }
+        if (best != null) {
+            best.consume(now);
+        }
+        return best;
+    }
+
+    private synchronized long earliestRefillNanos() {
+        long now = System.nanoTime();
+        return keys.stream()
+                .mapToLong(key -> key.nanosUntilAvailable(now))
+                .min()
+                .orElse(Long.MAX_VALUE);
+    }
+
+    private synchronized double remainingRatio(ApiKey key) {
+        return key.remainingRatio(System.nanoTime());
+    }
+
+    private synchronized int activeKeys() {
+        long now = System.nanoTime();
+        return (int) keys.stream().filter(key -> key.isActive(now)).count();
+    }
+
+    private HttpRequest withToken(HttpRequest request, ApiKey key) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(request.getHeaders());
+        headers.set(TOKEN_HEADER, key.value);
+        return new HttpRequestWrapper(request) {
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        };
+    }
+
+    private Duration retryAfter(HttpHeaders headers) {
+        try {
+            String value = headers.getFirst(HttpHeaders.RETRY_AFTER);
+            return value == null ? Duration.ofSeconds(1) : Duration.ofSeconds(Math.max(1, Long.parseLong(value.strip())));
+        } catch (NumberFormatException e) {
+            return Duration.ofSeconds(1);
+        }
+    }
+
+    private void count(ApiKey key, String result) {
+        meterRegistry.counter("riot.api.key.requests", "key", key.name, "result", result).increment();
+    }
+
+    /**
+     * "20:1,100:120" → [20회/1초, 100회/120초]
+     */
+    private static List<RateWindow> parseRateLimits(String rateLimits) {
+        List<RateWindow> windows = Arrays.stream(rateLimits.split(","))
+                .map(String::strip)
+                .filter(limit -> limit.contains(":"))
+                .map(limit -> {
+                    String[] parts = limit.split(":");
+                    return new RateWindow(Integer.parseInt(parts[0].strip()),
+                            TimeUnit.SECONDS.toNanos(Long.parseLong(parts[1].strip())));
+                })
+                .toList();
+        if (windows.isEmpty()) {
+            throw new IllegalArgumentException("riot.api.rate-limits 형식 오류: " + rateLimits);
+        }
+        return windows;
+    }
+
+    private record RateWindow(int limit, long lengthNanos) {
+    }
+
+    /**
+     * 키 하나의 고정 구간 카운터들 (풀의 락 안에서만 읽고 바꿈)
+     */
+    private static final class ApiKey {
+
+        private final String name;
+        private final String value;
+        private final RateWindow[] windows;
+        private final long[] windowStart;
+        private final int[] used;
+        private long unavailableUntil;
+
+        private ApiKey(String name, String value, List<RateWindow> windows) {
+            this.name = name;
+            this.value = value;
+            this.windows = windows.toArray(RateWindow[]::new);
+            this.windowStart = new long[this.windows.length];
+            this.used = new int[this.windows.length];
+            long now = System.nanoTime();
+            Arrays.fill(windowStart, now);
+            this.unavailableUntil = now;
+        }
+
+        private boolean isActive(long now) {
+            return now - unavailableUntil >= 0;
+        }
+
+        private double remainingRatio(long now) {
+            if (!isActive(now)) {
+                return 0;
+            }
+            double ratio = 1;
+            for (int i = 0; i < windows.length; i++) {
+                roll(i, now);
+                ratio = Math.min(ratio, (windows[i].limit() - used[i]) / (double) windows[i].limit());
+            }
+            return Math.max(0, ratio);
+        }
+
+        private void consume(long now) {
+            for (int i = 0; i < windows.length; i++) {
+                roll(i, now);
+                used[i]++;
+            }
+        }
+
+        private long nanosUntilAvailable(long now) {
+            if (!isActive(now)) {
+                return unavailableUntil - now;
+            }
+            long wait = 0;
+            for (int i = 0; i < windows.length; i++) {
+                roll(i, now);
+                if (used[i] >= windows[i].limit()) {
+                    wait = Math.max(wait, windowStart[i] + windows[i].lengthNanos() - now);
+                }
+            }
+            return wait;
+        }
+
+        private void roll(int i, long now) {
+            if (now - windowStart[i] >= windows[i].lengthNanos()) {
+                windowStart[i] = now;
+                used[i] = 0;
+            }
+        }
+
+        private void pause(Duration duration) {
+            long until = System.nanoTime() + duration.toNanos();
+            if (until - unavailableUntil > 0) {
+                unavailableUntil = until;
+            }
+        }
+
+        /**
+         * Riot이 알려준 실제 사용량("3:1,45:120")이 더 크면 따라감 (같은 키를 다른 인스턴스도 쓰는 경우)
+         */
+        private void syncCounts(String header, long now) {
+            if (header == null) {
+                return;
+            }
+            for (String entry : header.split(",")) {
+                String[] parts = entry.strip().split(":");
+                if (parts.length != 2) {
+                    continue;
+                }
+                try {
+                    int count = Integer.parseInt(parts[0]);
+                    long lengthNanos = TimeUnit.SECONDS.toNanos(Long.parseLong(parts[1]));
+                    for (int i = 0; i < windows.length; i++) {
+                        roll(i, now);
+                        if (windows[i].lengthNanos() == lengthNanos) {
+                            used[i] = Math.max(used[i], count);
+                        }
+                    }
+                } catch (NumberFormatException ignored) {
+                    // 형식이 다르면 로컬 카운트만 사용
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.lol.lol.upstream;
+
+import com.lol.lol.metrics.UpstreamObservationConvention;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.net.URI;
+import java.util.Optional;
+
+/**
+ * 🧱 격벽(bulkhead)으로 나누는 외부 API 묶음
+ * 기본값은 평소 응답 시간 기준: 빠른 Riot/날씨는 넉넉하게, 몇 초씩 걸리는 Gemini는 좁게
+ * 느린 호출 기준(회로 차단기)도 upstream마다 다르고, 헤지 요청은 멱등인 Riot 조회에만 씀
+ * 소환사/리그 조회는 계정 조회와 같은 검색 흐름이라 RIOT_ACCOUNT로 묶음
+ * Data Dragon 등 나머지는 격벽 없이 호출
+ */
+@Getter
+@RequiredArgsConstructor
+public enum Upstream {
+
+    RIOT_ACCOUNT("riot-account", 20, 40, 1000, 1500, true),
+    RIOT_MATCH("riot-match", 24, 120, 2000, 2000, true),
+    GEMINI("gemini", 4, 8, 300, 15000, false),
+    YOUTUBE("youtube", 6, 12, 500, 3000, false),
+    WEATHER("weather", 2, 4, 300, 2000, false);
+
+    private final String tag;
+    private final int defaultMaxConcurrent;
+    private final int defaultMaxQueue;
+    private final long defaultMaxWaitMs;
+    private final long defaultSlowCallMs;
+    private final boolean hedgeable;
+
+    public boolean isRiot() {
+        return this == RIOT_ACCOUNT || this == RIOT_MATCH;
+    }
+
+    public static Optional<Upstream> of(URI uri) {
+        return switch (UpstreamObservationConvention.upstreamOf(uri)) {
+            case "riot-account", "riot-summoner", "riot-league", "riot" -> Optional.of(RIOT_ACCOUNT);
+            case "riot-match" -> Optional.of(RIOT_MATCH);
+            case "gemini" -> Optional.of(GEMINI);
+            case "youtube" -> Optional.of(YOUTUBE);
+            case "weather" -> Optional.of(WEATHER);
+            default -> Optional.empty();
+        };
+    }
+}
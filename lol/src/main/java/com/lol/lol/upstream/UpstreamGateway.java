@@ -0,0 +1,308 @@
+package com.lol.lol.upstream;
+
+import com.lol.lol.deadline.Deadline;
+import com.lol.lol.deadline.DeadlineContext;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 🧱 외부 API 격벽 게이트웨이
+ * 모든 외부 호출이 공용 RestTemplate 하나로 요청 스레드에서 나가므로,
+ * Gemini가 느려지면 그 호출들이 요청 스레드를 붙잡아 Riot 검색까지 같이 막힘
+ * → upstream마다 동시 호출 수와 대기열을 따로 두고, 넘치면 호출하지 않고 바로 거절(BulkheadFullException)
+ * → 느린 쪽은 자기 칸만 채우고 나머지 요청 스레드는 Riot 검색에 그대로 쓰임
+ *
+ * 고정 한도는 지역/시간대/프롬프트 길이에 따라 늘 틀리므로, 호출마다 지연 시간을 GradientLimiter에 넣어
+ * 격벽 한도를 실제 upstream이 감당하는 만큼 자동으로 올리고 내림 (max-concurrent는 시작값)
+ *
+ * 설정: upstream.bulkhead.{tag}.max-concurrent / max-queue / max-wait-ms / min-limit / max-limit
+ *       (tag: riot-account, gemini ...), upstream.adaptive.enabled (기본 true)
+ * 응답 본문을 스트리밍으로 읽는 호출도 있어서, 자리는 응답을 닫을 때 반납 (지연 시간은 응답 헤더까지)
+ * 격벽 대기는 남은 요청 예산을 넘지 않음
+ *
+ * 격벽 앞에는 upstream별 회로 차단기(CircuitBreaker): 실패/지연이 쌓이면 한동안 호출 없이 바로 거절해서
+ * 장애 중인 upstream을 기다리지 않고 서비스가 곧장 대체 응답으로 감
+ * 멱등인 Riot 조회(GET)는 헤지 요청(Hedger)으로 꼬리 지연을 줄임 (p95가 지나도 응답이 없으면 한 번 더)
+ * 설정: upstream.circuit.* (window-size, min-calls, failure-rate, slow-call-rate, open-ms, half-open-probes,
+ *       {tag}.slow-call-ms), upstream.hedge.* (enabled, max-ratio, min-delay-ms)
+ * Riot 호출은 키 풀(RiotApiKeyPool)이 시도마다 키를 골라 붙임 (헤지/401 재시도도 각자 키 예산 사용)
+ * 헤지/키 재시도는 같은 요청 실행을 여러 번 호출하므로 이 인터셉터는 항상 마지막에 붙어야 함
+ */
+@Slf4j
+@Component
+@Order(10)
+public class UpstreamGateway implements ClientHttpRequestInterceptor, RestTemplateCustomizer {
+
+    private final Map<Upstream, Bulkhead> bulkheads = new EnumMap<>(Upstream.class);
+    private final Map<Upstream, GradientLimiter> limiters = new EnumMap<>(Upstream.class);
+    private final Map<Upstream, CircuitBreaker> breakers = new EnumMap<>(Upstream.class);
+    private final Map<Upstream, LatencyTracker> latencies = new EnumMap<>(Upstream.class);
+    private final MeterRegistry meterRegistry;
+    private final RiotApiKeyPool riotApiKeyPool;
+    private final Hedger hedger;
+
+    public UpstreamGateway(Environment environment, MeterRegistry meterRegistry, RiotApiKeyPool riotApiKeyPool) {
+        this.meterRegistry = meterRegistry;
+        this.riotApiKeyPool = riotApiKeyPool;
+        boolean adaptive = environment.getProperty("upstream.adaptive.enabled", Boolean.class, true);
+        this.hedger = environment.getProperty("upstream.hedge.enabled", Boolean.class, true)
+                ? new Hedger(meterRegistry,
+                        environment.getProperty("upstream.hedge.max-ratio", Double.class, 0.1),
+                        environment.getProperty("upstream.hedge.min-delay-ms", Long.class, 50L))
+                : null;
+
+        for (Upstream upstream : Upstream.values()) {
+            String prefix = "upstream.bulkhead." + upstream.getTag() + ".";
+            int initialLimit = environment.getProperty(prefix + "max-concurrent", Integer.class, upstream.getDefaultMaxConcurrent());
+            Bulkhead bulkhead = new Bulkhead(
+                    initialLimit,
+                    environment.getProperty(prefix + "max-queue", Integer.class, upstream.getDefaultMaxQueue()),
+                    environment.getProperty(prefix + "max-wait-ms", Long.class, upstream.getDefaultMaxWaitMs()));
+            bulkheads.put(upstream, bulkhead);
+
+            if (adaptive) {
+                GradientLimiter limiter = new GradientLimiter(
+                        initialLimit,
+                        environment.getProperty(prefix + "min-limit", Integer.class, 1),
+                        environment.getProperty(prefix + "max-limit", Integer.class, initialLimit * 4));
+                limiters.put(upstream, limiter);
+                Gauge.builder("upstream.adaptive.rtt.baseline", limiter, GradientLimiter::longRttMillis)
+                        .description("적응형 한도가 기준으로 삼는 평소 응답 시간 (ms)")
+                        .tag("upstream", upstream.getTag())
+                        .baseUnit("milliseconds")
+                        .register(meterRegistry);
+            }
+
+            CircuitBreaker breaker = new CircuitBreaker(upstream,
+                    environment.getProperty("upstream.circuit.window-size", Integer.class, 20),
+                    environment.getProperty("upstream.circuit.min-calls", Integer.class, 10),
+                    environment.getProperty("upstream.circuit.failure-rate", Double.class, 50.0),
+                    environment.getProperty("upstream.circuit.slow-call-rate", Double.class, 80.0),
+                    environment.getProperty("upstream.circuit." + upstream.getTag() + ".slow-call-ms", Long.class,
+                            upstream.getDefaultSlowCallMs()),
+                    environment.getProperty("upstream.circuit.open-ms", Long.class, 10000L),
+                    environment.getProperty("upstream.circuit.half-open-probes", Integer.class, 3));
+            breakers.put(upstream, breaker);
+            latencies.put(upstream, new LatencyTracker(200));
+            Gauge.builder("upstream.circuit.state", breaker, b -> b.state().ordinal())
+                    .description("회로 상태 (0 닫힘, 1 반개방, 2 열림)")
+                    .tag("upstream", upstream.getTag())
+                    .register(meterRegistry);
+
+            Gauge.builder("upstream.bulkhead.active", bulkhead, Bulkhead::inFlight)
+                    .description("격벽 안에서 진행 중인 외부 호출 수")
+                    .tag("upstream", upstream.getTag())
+                    .register(meterRegistry);
+            Gauge.builder("upstream.bulkhead.queued", bulkhead, Bulkhead::waiting)
+                    .description("격벽 자리를 기다리는 외부 호출 수")
+                    .tag("upstream", upstream.getTag())
+                    .register(meterRegistry);
+            Gauge.builder("upstream.bulkhead.limit", bulkhead, Bulkhead::limit)
+                    .description("격벽 동시 호출 한도")
+                    .tag("upstream", upstream.getTag())
+                    .register(meterRegistry);
+        }
+    }
+
+    /**
+     * 회로가 닫혀 있는지 (열림/반개방이면 장애 또는 회복 확인 중)
+     */
+    public boolean isHealthy(Upstream upstream) {
+        return breakers.get(upstream).state() == CircuitBreaker.State.CLOSED;
+    }
+
+    @Override
+    public void customize(RestTemplate restTemplate) {
+        restTemplate.getInterceptors().add(this);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        Optional<Upstream> upstream = Upstream.of(request.getURI());
+        if (upstream.isEmpty()) {
+            return execution.execute(request, body);
+        }
+
+        Upstream target = upstream.get();
+        CircuitBreaker breaker = breakers.get(target);
+        if (!breaker.tryAcquire()) {
+            meterRegistry.counter("upstream.circuit.rejected", "upstream", target.getTag()).increment();
+            throw new CircuitOpenException(target);
+        }
+
+        long hedgeDelay = latencies.get(target).p95Nanos();
+        if (hedger != null && target.isHedgeable() && request.getMethod() == HttpMethod.GET
+                && hedgeDelay > 0 && breaker.state() == CircuitBreaker.State.CLOSED) {
+            return hedger.execute(target, hedgeDelay,
+                    () -> attempt(target, request, body, execution, false),
+                    () -> attempt(target, request, body, execution, true));
+        }
+        return attempt(target, request, body, execution, false);
+    }
+
+    /**
+     * 격벽 자리를 얻고 한 번 호출 (헤지 시도는 대기열에 줄 서지 않음)
+     */
+    private ClientHttpResponse attempt(Upstream upstream, HttpRequest request, byte[] body,
+                                       ClientHttpRequestExecution execution, boolean hedge) throws IOException {
+        Bulkhead bulkhead = bulkheads.get(upstream);
+        try {
+            admit(upstream, bulkhead, hedge);
+        } catch (UpstreamRejectedException e) {
+            breakers.get(upstream).onIgnored();
+            throw e;
+        }
+        int inFlight = bulkhead.inFlight();
+        long start = System.nanoTime();
+
+        try {
+            ClientHttpResponse response = upstream.isRiot()
+                    ? riotApiKeyPool.execute(request, body, execution)
+                    : execution.execute(request, body);
+            onSample(upstream, bulkhead, System.nanoTime() - start, inFlight, isOverloaded(response));
+            return new ReleasingResponse(response, bulkhead);
+        } catch (UpstreamRejectedException e) {
+            // 요청 예산 소진 등 upstream 탓이 아닌 거절은 한도/회로에 반영하지 않음
+            breakers.get(upstream).onIgnored();
+            bulkhead.release();
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            onSample(upstream, bulkhead, System.nanoTime() - start, inFlight, true);
+            bulkhead.release();
+            throw e;
+        }
+    }
+
+    private void onSample(Upstream upstream, Bulkhead bulkhead, long rttNanos, int inFlight, boolean dropped) {
+        breakers.get(upstream).onResult(rttNanos, dropped);
+        if (!dropped) {
+            latencies.get(upstream).record(rttNanos);
+        }
+
+        GradientLimiter limiter = limiters.get(upstream);
+        if (limiter == null) {
+            return;
+        }
+        int newLimit = limiter.onSample(rttNanos, inFlight, dropped);
+        if (newLimit != bulkhead.limit()) {
+            log.debug("📈 {} 동시 호출 한도 {} → {}", upstream.getTag(), bulkhead.limit(), newLimit);
+            bulkhead.setLimit(newLimit);
+        }
+    }
+
+    @PreDestroy
+    void shutdownHedger() {
+        if (hedger != null) {
+            hedger.shutdown();
+        }
+    }
+
+    /**
+     * 429/5xx는 upstream이 버거워한다는 신호로 보고 한도를 줄임 (404 등 4xx는 정상 응답 취급)
+     */
+    private boolean isOverloaded(ClientHttpResponse response) {
+        try {
+            HttpStatusCode status = response.getStatusCode();
+            return status.value() == 429 || status.is5xxServerError();
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    private void admit(Upstream upstream, Bulkhead bulkhead, boolean hedge) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Bulkhead.Admission admission;
+        try {
+            Deadline deadline = DeadlineContext.current();
+            long waitCap = hedge ? 0 : deadline == null ? Long.MAX_VALUE : deadline.remainingNanos();
+            admission = bulkhead.acquire(waitCap);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admission = Bulkhead.Admission.REJECTED;
+        }
+
+        if (admission != Bulkhead.Admission.IMMEDIATE) {
+            sample.stop(meterRegistry.timer("upstream.bulkhead.wait", "upstream", upstream.getTag()));
+        }
+        meterRegistry.counter("upstream.bulkhead.calls",
+                "upstream", upstream.getTag(),
+                "result", admission.name().toLowerCase()).increment();
+
+        if (!admission.admitted()) {
+            if (!hedge) {
+                log.warn("🧱 {} 격벽 포화로 호출 거절 (진행 {}/{}, 대기 {})",
+                        upstream.getTag(), bulkhead.inFlight(), bulkhead.limit(), bulkhead.waiting());
+            }
+            throw new BulkheadFullException(upstream);
+        }
+    }
+
+    /**
+     * 응답을 닫을 때 격벽 자리 반납 (RestTemplate은 추출이 끝나면 항상 close 호출)
+     */
+    private static final class ReleasingResponse implements ClientHttpResponse {
+
+        private final ClientHttpResponse delegate;
+        private final Bulkhead bulkhead;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        ReleasingResponse(ClientHttpResponse delegate, Bulkhead bulkhead) {
+            this.delegate = delegate;
+            this.bulkhead = bulkhead;
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    bulkhead.release();
+                }
+            }
+        }
+    }
+}
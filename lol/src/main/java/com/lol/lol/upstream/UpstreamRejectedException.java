@@ -0,0 +1,20 @@
+package com.lol.lol.upstream;
+
+import org.springframework.web.client.RestClientException;
+
+/**
+ * 🚫 외부 API를 호출하지 않고 거절함 (격벽 포화 / 회로 열림 / 요청 예산 소진)
+ * 실제 장애가 아니라 보호 동작이라 스택 트레이스를 만들지 않음 → 로그에는 한 줄만 남음
+ * RestClientException이라 기존 외부 호출 실패 처리(catch → 대체 응답)를 그대로 탐
+ */
+public class UpstreamRejectedException extends RestClientException {
+
+    public UpstreamRejectedException(String message) {
+        super(message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
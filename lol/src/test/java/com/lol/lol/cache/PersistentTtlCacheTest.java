@@ -0,0 +1,77 @@
+package com.lol.lol.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PersistentTtlCacheTest {
+
+    @TempDir
+    Path cacheDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private PersistentTtlCache<String> cache(Duration staleRetention) {
+        return new PersistentTtlCache<>("test", cacheDir, objectMapper,
+                objectMapper.constructType(String.class), 10, staleRetention);
+    }
+
+    @Test
+    void sweepKeepsStaleEntriesWithinRetentionWithoutOpeningThem() throws IOException {
+        PersistentTtlCache<String> cache = cache(Duration.ofDays(7));
+        cache.put("stale", "value", Duration.ofMillis(-1000));
+        // 내용이 깨져 있어도 수정 시각만 보므로 보존 기간 안이면 그대로 남아야 함
+        Path file = cacheDir.resolve("stale.json");
+        FileTime expiry = Files.getLastModifiedTime(file);
+        Files.writeString(file, "not json");
+        Files.setLastModifiedTime(file, expiry);
+
+        assertThat(cache.sweep()).isZero();
+        assertThat(file).exists();
+    }
+
+    @Test
+    void sweepDeletesEntriesPastRetention() {
+        PersistentTtlCache<String> cache = cache(Duration.ofMinutes(1));
+        cache.put("old", "value", Duration.ofMinutes(-2));
+        cache.put("fresh", "value", Duration.ofMinutes(5));
+
+        assertThat(cache.sweep()).isEqualTo(1);
+        assertThat(cacheDir.resolve("old.json")).doesNotExist();
+        assertThat(cache.getIfPresent("fresh")).contains("value");
+    }
+
+    @Test
+    void sweepDeletesAbandonedTempFilesOnly() throws IOException {
+        PersistentTtlCache<String> cache = cache(Duration.ZERO);
+        Path abandoned = Files.createFile(cacheDir.resolve("key123.tmp"));
+        Files.setLastModifiedTime(abandoned, FileTime.fromMillis(System.currentTimeMillis() - Duration.ofHours(2).toMillis()));
+        Path writing = Files.createFile(cacheDir.resolve("key456.tmp"));
+
+        assertThat(cache.sweep()).isEqualTo(1);
+        assertThat(abandoned).doesNotExist();
+        assertThat(writing).exists();
+    }
+
+    @Test
+    void legacyFilesAreMigratedOnceAtConstruction() throws IOException {
+        long expiresAt = System.currentTimeMillis() + Duration.ofHours(1).toMillis();
+        Path legacy = cacheDir.resolve("legacy.json");
+        objectMapper.writeValue(legacy.toFile(), new PersistentTtlCache.Entry<>("value", expiresAt));
+        Files.setLastModifiedTime(legacy, FileTime.fromMillis(System.currentTimeMillis() - Duration.ofDays(30).toMillis()));
+
+        PersistentTtlCache<String> cache = cache(Duration.ZERO);
+
+        assertThat(Files.getLastModifiedTime(legacy).toMillis()).isEqualTo(expiresAt);
+        assertThat(cache.sweep()).isZero();
+        assertThat(cache.getIfPresent("legacy")).contains("value");
+    }
+}
@@ -0,0 +1,41 @@
+package com.lol.lol.logging;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SecretRedactorTest {
+
+    @Test
+    void masksQueryParameterRegardlessOfCase() {
+        assertThat(SecretRedactor.redact("GET /search?q=faker&KEY=abc123&part=id"))
+                .isEqualTo("GET /search?q=faker&KEY=***&part=id");
+        assertThat(SecretRedactor.redact("url=https://x/y?Api_Key=abc123"))
+                .isEqualTo("url=https://x/y?Api_Key=***");
+        assertThat(SecretRedactor.redact("callback?ACCESS_TOKEN=abc"))
+                .isEqualTo("callback?ACCESS_TOKEN=***");
+    }
+
+    @Test
+    void masksRiotTokenHeaderRegardlessOfCase() {
+        assertThat(SecretRedactor.redact("headers: X-RIOT-TOKEN: secret-value"))
+                .isEqualTo("headers: X-RIOT-TOKEN: ***");
+        assertThat(SecretRedactor.redact("{x-riot-token=secret-value}"))
+                .isEqualTo("{x-riot-token=***}");
+    }
+
+    @Test
+    void masksBareKeys() {
+        assertThat(SecretRedactor.redact("using RGAPI-0123abcd-4567-89ef"))
+                .isEqualTo("using RGAPI-***");
+        assertThat(SecretRedactor.redact("key AIzaSyA0123456789abcdefghijk"))
+                .isEqualTo("key AIza***");
+    }
+
+    @Test
+    void leavesOrdinaryTextUntouched() {
+        String line = "🔍 소환사 검색: Hide on bush#KR1";
+        assertThat(SecretRedactor.redact(line)).isSameAs(line);
+        assertThat(SecretRedactor.redact(null)).isNull();
+    }
+}
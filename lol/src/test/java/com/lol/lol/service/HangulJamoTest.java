@@ -0,0 +1,57 @@
+package com.lol.lol.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HangulJamoTest {
+
+    @Test
+    void decomposesSyllablesIntoJamo() {
+        assertThat(HangulJamo.decompose("페이커")).isEqualTo("ㅍㅔㅇㅣㅋㅓ");
+    }
+
+    @Test
+    void splitsCompoundVowelsAndFinals() {
+        // 괜 = ㄱ + ㅙ(ㅗㅐ) + ㄴ, 닭 = ㄷ + ㅏ + ㄺ(ㄹㄱ)
+        assertThat(HangulJamo.decompose("괜")).isEqualTo("ㄱㅗㅐㄴ");
+        assertThat(HangulJamo.decompose("닭")).isEqualTo("ㄷㅏㄹㄱ");
+    }
+
+    @Test
+    void lowercasesAndDropsWhitespace() {
+        assertThat(HangulJamo.decompose("Hide on Bush")).isEqualTo("hideonbush");
+        assertThat(HangulJamo.decompose(null)).isEmpty();
+    }
+
+    @Test
+    void partiallyTypedSyllableIsPrefix() {
+        // 입력 중인 "페잌"(ㅍㅔㅇㅣㅋ)은 "페이커"의 접두어
+        assertThat(HangulJamo.decompose("페이커")).startsWith(HangulJamo.decompose("페잌"));
+        assertThat(RiotIdSearchIndex.prefixDistance(
+                HangulJamo.decompose("페잌"), HangulJamo.decompose("페이커#KR1"), 1)).isZero();
+    }
+
+    @Test
+    void oneVowelTypoIsDistanceOne() {
+        String query = HangulJamo.decompose("패이커");
+        String target = HangulJamo.decompose("페이커#KR1");
+
+        assertThat(RiotIdSearchIndex.prefixDistance(query, target, 2)).isEqualTo(1);
+    }
+
+    @Test
+    void prefixDistanceStopsPastMaxEdits() {
+        String query = HangulJamo.decompose("도란");
+        String target = HangulJamo.decompose("페이커#KR1");
+
+        assertThat(RiotIdSearchIndex.prefixDistance(query, target, 1)).isEqualTo(2);
+    }
+
+    @Test
+    void prefixDistanceCountsMissingAndExtraCharacters() {
+        assertThat(RiotIdSearchIndex.prefixDistance("hideonbush", "hideonbush#kr1", 2)).isZero();
+        assertThat(RiotIdSearchIndex.prefixDistance("hidonbush", "hideonbush#kr1", 2)).isEqualTo(1);
+        assertThat(RiotIdSearchIndex.prefixDistance("hiddeonbush", "hideonbush#kr1", 2)).isEqualTo(1);
+    }
+}
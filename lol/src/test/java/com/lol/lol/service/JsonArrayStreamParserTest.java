@@ -0,0 +1,62 @@
+package com.lol.lol.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JsonArrayStreamParserTest {
+
+    private final List<String> elements = new ArrayList<>();
+    private final JsonArrayStreamParser parser = new JsonArrayStreamParser(elements::add);
+
+    @Test
+    void emitsEachElementAsItCloses() {
+        parser.feed("[{\"title\": \"a\"}, ");
+        assertThat(elements).containsExactly("{\"title\": \"a\"}");
+
+        parser.feed("{\"title\": \"b\"}]");
+        assertThat(elements).containsExactly("{\"title\": \"a\"}", "{\"title\": \"b\"}");
+        assertThat(parser.emittedCount()).isEqualTo(2);
+    }
+
+    @Test
+    void handlesChunksSplitAnywhere() {
+        String json = "[{\"q\": \"x\", \"tags\": [1, 2]}, {\"q\": \"y\"}]";
+        for (char c : json.toCharArray()) {
+            parser.feed(String.valueOf(c));
+        }
+
+        assertThat(elements).containsExactly("{\"q\": \"x\", \"tags\": [1, 2]}", "{\"q\": \"y\"}");
+    }
+
+    @Test
+    void skipsCodeFenceAndWrappingObject() {
+        parser.feed("```json\n{\"categories\": [{\"name\": \"공략\"}, {\"name\": \"하이라이트\"}]}\n```");
+
+        assertThat(elements).containsExactly("{\"name\": \"공략\"}", "{\"name\": \"하이라이트\"}");
+    }
+
+    @Test
+    void ignoresBracketsAndEscapesInsideStrings() {
+        parser.feed("[{\"q\": \"[1,2] {x} \\\"quoted]\\\"\"}]");
+
+        assertThat(elements).containsExactly("{\"q\": \"[1,2] {x} \\\"quoted]\\\"\"}");
+    }
+
+    @Test
+    void ignoresBracketInStringBeforeArray() {
+        parser.feed("{\"note\": \"[not array]\", \"items\": [\"a\", \"b\"]}");
+
+        assertThat(elements).containsExactly("\"a\"", "\"b\"");
+    }
+
+    @Test
+    void stopsAfterFirstArray() {
+        parser.feed("[1, 2] [3]");
+
+        assertThat(elements).containsExactly("1", "2");
+    }
+}
@@ -0,0 +1,152 @@
+package com.lol.lol.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lol.lol.dto.AccountrDto;
+import com.lol.lol.dto.MatchDto;
+import com.lol.lol.dto.ParticipantDto;
+import com.lol.lol.dto.SummonerDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class RiotIdSearchIndexTest {
+
+    @TempDir
+    Path storeDir;
+
+    private RiotIdentityDirectory directory;
+    private RiotIdSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        directory = new RiotIdentityDirectory(new ObjectMapper(), new SimpleMeterRegistry(),
+                storeDir.toString(), 30, 10_000, 10_000, 10_000);
+        index = new RiotIdSearchIndex(directory, new SimpleMeterRegistry(), 100_000);
+        index.registerListener();
+    }
+
+    @Test
+    void findsPrefixAndTypoMatchesFromDirectoryWrites() {
+        observe(1_000, "페이커", "KR1", "페이스메이커", "KR1", "Hide on bush", "KR1");
+
+        assertThat(names(index.suggest("페이", 8))).containsExactlyInAnyOrder("페이커", "페이스메이커");
+        // 입력 중인 "페잌"은 페이커의 접두어, 페이스메이커는 자모 하나(ㅋ/ㅅ) 차이라 오타 후보로 뒤에
+        assertThat(index.suggest("페잌", 8))
+                .extracting(RiotIdSearchIndex.Suggestion::gameName, RiotIdSearchIndex.Suggestion::fuzzy)
+                .containsExactly(tuple("페이커", false), tuple("페이스메이커", true));
+        assertThat(index.suggest("패이커", 8))
+                .singleElement()
+                .satisfies(suggestion -> {
+                    assertThat(suggestion.gameName()).isEqualTo("페이커");
+                    assertThat(suggestion.fuzzy()).isTrue();
+                });
+        assertThat(names(index.suggest("hidw on", 8))).containsExactly("Hide on bush");
+    }
+
+    @Test
+    void renameReplacesOldKey() {
+        observe(1_000, "Hide on bush", "KR1");
+        observe(2_000, "Faker", "KR1");
+
+        assertThat(names(index.suggest("hide", 8))).isEmpty();
+        assertThat(names(index.suggest("fake", 8))).containsExactly("Faker");
+    }
+
+    @Test
+    void loadsExistingIdentitiesOnStartup() {
+        directory.record(account("puuid-1", "Chovy", "KR1"), summoner("summoner-1"));
+
+        RiotIdSearchIndex restarted = new RiotIdSearchIndex(directory, new SimpleMeterRegistry(), 100_000);
+        assertThat(restarted.suggest("chov", 8)).isEmpty();
+
+        restarted.maintain();
+        assertThat(names(restarted.suggest("chov", 8))).containsExactly("Chovy");
+    }
+
+    @Test
+    void prunedWalkFindsSameMatchesAsFullScan() {
+        Random random = new Random(7);
+        List<String> gameNames = new ArrayList<>();
+        Set<String> unique = new HashSet<>();
+        while (gameNames.size() < 3_000) {
+            String name = randomName(random, 4 + random.nextInt(6));
+            if (unique.add(name)) {
+                gameNames.add(name);
+            }
+        }
+        for (int i = 0; i < gameNames.size(); i++) {
+            directory.record(account("puuid-" + i, gameNames.get(i), "kr1"), summoner("summoner-" + i));
+        }
+
+        for (int q = 0; q < 200; q++) {
+            String query = randomName(random, 4 + random.nextInt(5));
+            int maxEdits = query.length() <= 6 ? 1 : 2;
+            Set<String> expected = gameNames.stream()
+                    .filter(name -> RiotIdSearchIndex.prefixDistance(query, name + "#kr1", maxEdits) <= maxEdits)
+                    .collect(Collectors.toSet());
+            if (expected.size() > 100) {
+                continue;
+            }
+
+            assertThat(names(index.suggest(query, 1_000))).as(query).containsExactlyInAnyOrderElementsOf(expected);
+        }
+    }
+
+    private void observe(long endTimestamp, String... riotIds) {
+        List<ParticipantDto> participants = new ArrayList<>();
+        for (int i = 0; i < riotIds.length; i += 2) {
+            ParticipantDto participant = new ParticipantDto();
+            participant.setPuuid("puuid-" + i / 2);
+            participant.setSummonerId("summoner-" + i / 2);
+            participant.setRiotIdGameName(riotIds[i]);
+            participant.setRiotIdTagline(riotIds[i + 1]);
+            participants.add(participant);
+        }
+        MatchDto.InfoDto info = new MatchDto.InfoDto();
+        info.setGameEndTimestamp(endTimestamp);
+        info.setParticipants(participants);
+        MatchDto match = new MatchDto();
+        match.setInfo(info);
+
+        directory.observeMatch(match);
+        directory.flushObservations();
+    }
+
+    private static List<String> names(List<RiotIdSearchIndex.Suggestion> suggestions) {
+        return suggestions.stream().map(RiotIdSearchIndex.Suggestion::gameName).toList();
+    }
+
+    private static String randomName(Random random, int length) {
+        StringBuilder name = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            name.append("abcdefgh".charAt(random.nextInt(8)));
+        }
+        return name.toString();
+    }
+
+    private static AccountrDto account(String puuid, String gameName, String tagLine) {
+        AccountrDto account = new AccountrDto();
+        account.setPuuid(puuid);
+        account.setGameName(gameName);
+        account.setTagLine(tagLine);
+        return account;
+    }
+
+    private static SummonerDto summoner(String summonerId) {
+        SummonerDto summoner = new SummonerDto();
+        summoner.setId(summonerId);
+        return summoner;
+    }
+}
@@ -0,0 +1,98 @@
+package com.lol.lol.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.lol.lol.dto.MatchDto;
+import com.lol.lol.dto.ParticipantDto;
+import com.lol.lol.dto.RiotIdentity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RiotIdentityDirectoryTest {
+
+    @TempDir
+    Path storeDir;
+
+    private RiotIdentityDirectory directory(int queueCapacity) {
+        return new RiotIdentityDirectory(new ObjectMapper(), new SimpleMeterRegistry(),
+                storeDir.toString(), 30, 100, queueCapacity, 100);
+    }
+
+    @Test
+    void observedParticipantsAreWrittenOnFlush() {
+        RiotIdentityDirectory directory = directory(100);
+
+        directory.observeMatch(match(1_000, participant("puuid-1", "summoner-1", "Hide on bush", "KR1")));
+        assertThat(directory.findByPuuid("puuid-1")).isEmpty();
+
+        directory.flushObservations();
+        assertThat(directory.findByPuuid("puuid-1")).map(RiotIdentity::getGameName).contains("Hide on bush");
+        assertThat(directory.resolve("hide on bush", "kr1")).map(RiotIdentity::getPuuid).contains("puuid-1");
+    }
+
+    @Test
+    void batchKeepsLatestNameAndFillsSummonerId() {
+        RiotIdentityDirectory directory = directory(100);
+
+        directory.observeMatch(match(2_000, participant("puuid-1", null, "Faker", "KR1")));
+        directory.observeMatch(match(1_000, participant("puuid-1", "summoner-1", "Hide on bush", "KR1")));
+        directory.flushObservations();
+
+        RiotIdentity identity = directory.findByPuuid("puuid-1").orElseThrow();
+        assertThat(identity.getGameName()).isEqualTo("Faker");
+        assertThat(identity.getSummonerId()).isEqualTo("summoner-1");
+        assertThat(directory.resolve("Faker", "KR1")).isPresent();
+        assertThat(directory.resolve("Hide on bush", "KR1")).isEmpty();
+    }
+
+    @Test
+    void handedOutIdentityIsNotModifiedByLaterWrites() {
+        RiotIdentityDirectory directory = directory(100);
+        directory.observeMatch(match(2_000, participant("puuid-1", null, "Faker", "KR1")));
+        directory.flushObservations();
+        RiotIdentity handedOut = directory.findByPuuid("puuid-1").orElseThrow();
+
+        // 예전 매치에서 소환사 ID만 보충 → 새 사본으로 교체되고 먼저 받은 인스턴스는 그대로
+        directory.observeMatch(match(1_000, participant("puuid-1", "summoner-1", "Faker", "KR1")));
+        directory.flushObservations();
+
+        assertThat(handedOut.getSummonerId()).isNull();
+        assertThat(directory.findByPuuid("puuid-1")).map(RiotIdentity::getSummonerId).contains("summoner-1");
+    }
+
+    @Test
+    void dropsObservationsWhenQueueIsFull() {
+        RiotIdentityDirectory directory = directory(1);
+
+        directory.observeMatch(match(1_000,
+                participant("puuid-1", "summoner-1", "First", "KR1"),
+                participant("puuid-2", "summoner-2", "Second", "KR1")));
+        directory.flushObservations();
+
+        assertThat(directory.findByPuuid("puuid-1")).isPresent();
+        assertThat(directory.findByPuuid("puuid-2")).isEmpty();
+    }
+
+    private static MatchDto match(long endTimestamp, ParticipantDto... participants) {
+        MatchDto.InfoDto info = new MatchDto.InfoDto();
+        info.setGameEndTimestamp(endTimestamp);
+        info.setParticipants(List.of(participants));
+        MatchDto match = new MatchDto();
+        match.setInfo(info);
+        return match;
+    }
+
+    private static ParticipantDto participant(String puuid, String summonerId, String gameName, String tagLine) {
+        ParticipantDto participant = new ParticipantDto();
+        participant.setPuuid(puuid);
+        participant.setSummonerId(summonerId);
+        participant.setRiotIdGameName(gameName);
+        participant.setRiotIdTagline(tagLine);
+        return participant;
+    }
+}
@@ -0,0 +1,56 @@
+package com.lol.lol.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CountMinSketchTest {
+
+    @Test
+    void neverUnderestimates() {
+        CountMinSketch sketch = new CountMinSketch(4, 256);
+        Map<String, Long> actual = new HashMap<>();
+        Random random = new Random(42);
+
+        // 폭보다 훨씬 많은 키를 넣어 충돌이 많이 나게 함
+        for (int i = 0; i < 20_000; i++) {
+            String champion = "champion-" + random.nextInt(2_000);
+            long count = 1 + random.nextInt(3);
+            sketch.add(Hashes.hash64(champion), count);
+            actual.merge(champion, count, Long::sum);
+        }
+
+        actual.forEach((champion, count) ->
+                assertThat(sketch.estimate(Hashes.hash64(champion))).isGreaterThanOrEqualTo(count));
+    }
+
+    @Test
+    void heavyHitterIsCloseToActual() {
+        CountMinSketch sketch = new CountMinSketch(4, 1024);
+        for (int i = 0; i < 1_000; i++) {
+            sketch.add(Hashes.hash64("Ahri"), 1);
+            sketch.add(Hashes.hash64("champion-" + i), 1);
+        }
+
+        assertThat(sketch.estimate(Hashes.hash64("Ahri"))).isBetween(1_000L, 1_010L);
+    }
+
+    @Test
+    void unseenKeyAfterClearIsZero() {
+        CountMinSketch sketch = new CountMinSketch(3, 64);
+        sketch.add(Hashes.hash64("Ahri"), 5);
+        sketch.clear();
+
+        assertThat(sketch.estimate(Hashes.hash64("Ahri"))).isZero();
+    }
+
+    @Test
+    void rejectsWidthThatIsNotPowerOfTwo() {
+        assertThatThrownBy(() -> new CountMinSketch(4, 100)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,65 @@
+package com.lol.lol.stats;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HyperLogLogTest {
+
+    @Test
+    void estimatesDistinctCountWithinErrorBound() {
+        HyperLogLog hll = new HyperLogLog(14);
+        int distinct = 100_000;
+        for (int i = 0; i < distinct; i++) {
+            hll.add(Hashes.hash64("player-" + i));
+        }
+
+        // 표준 오차 1.04 / sqrt(2^14) ≈ 0.81%, 여유 있게 3σ
+        double error = Math.abs(hll.estimate() - distinct) / (double) distinct;
+        assertThat(error).isLessThan(0.025);
+    }
+
+    @Test
+    void ignoresDuplicates() {
+        HyperLogLog hll = new HyperLogLog(12);
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 1_000; i++) {
+                hll.add(Hashes.hash64("player-" + i));
+            }
+        }
+
+        assertThat(hll.estimate()).isBetween(950L, 1_050L);
+    }
+
+    @Test
+    void mergedRegistersEstimateUnion() {
+        HyperLogLog first = new HyperLogLog(12);
+        HyperLogLog second = new HyperLogLog(12);
+        for (int i = 0; i < 6_000; i++) {
+            first.add(Hashes.hash64("player-" + i));
+            second.add(Hashes.hash64("player-" + (i + 4_000)));
+        }
+
+        int[] union = new int[first.registerCount()];
+        first.mergeInto(union);
+        second.mergeInto(union);
+
+        assertThat(HyperLogLog.estimate(union)).isBetween(9_500L, 10_500L);
+    }
+
+    @Test
+    void clearResetsToZero() {
+        HyperLogLog hll = new HyperLogLog(10);
+        hll.add(Hashes.hash64("player"));
+        hll.clear();
+
+        assertThat(hll.estimate()).isZero();
+    }
+
+    @Test
+    void rejectsPrecisionOutOfRange() {
+        assertThatThrownBy(() -> new HyperLogLog(3)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HyperLogLog(17)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,72 @@
+package com.lol.lol.upstream;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GradientLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+    @Test
+    void growsWhileLatencyStaysNormalUnderLoad() {
+        GradientLimiter limiter = new GradientLimiter(10, 2, 100);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(FAST, limiter.limit(), false);
+        }
+
+        assertThat(limiter.limit()).isGreaterThan(10);
+    }
+
+    @Test
+    void doesNotGrowWhenMostlyIdle() {
+        GradientLimiter limiter = new GradientLimiter(10, 2, 100);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(FAST, 1, false);
+        }
+
+        assertThat(limiter.limit()).isEqualTo(10);
+    }
+
+    @Test
+    void shrinksWhenLatencyRises() {
+        GradientLimiter limiter = new GradientLimiter(20, 2, 100);
+        for (int i = 0; i < 100; i++) {
+            limiter.onSample(FAST, limiter.limit(), false);
+        }
+        int before = limiter.limit();
+
+        for (int i = 0; i < 10; i++) {
+            limiter.onSample(SLOW, limiter.limit(), false);
+        }
+
+        assertThat(limiter.limit()).isLessThan(before);
+    }
+
+    @Test
+    void backsOffOnDropAndRespectsMinimum() {
+        GradientLimiter limiter = new GradientLimiter(20, 5, 100);
+
+        assertThat(limiter.onSample(FAST, 20, true)).isEqualTo(18);
+        for (int i = 0; i < 50; i++) {
+            limiter.onSample(FAST, 20, true);
+        }
+        assertThat(limiter.limit()).isEqualTo(5);
+    }
+
+    @Test
+    void neverExceedsMaximum() {
+        GradientLimiter limiter = new GradientLimiter(8, 2, 12);
+
+        for (int i = 0; i < 500; i++) {
+            limiter.onSample(FAST, limiter.limit(), false);
+        }
+
+        assertThat(limiter.limit()).isEqualTo(12);
+    }
+}
@@ -0,0 +1,88 @@
+package com.lol.lol.upstream;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+class HedgerTest {
+
+    private final Hedger hedger = new Hedger(new SimpleMeterRegistry(), 1.0, 10);
+
+    @AfterEach
+    void shutdown() {
+        hedger.shutdown();
+    }
+
+    @Test
+    void returnsPrimaryWhenItAnswersBeforeTheDelay() throws Exception {
+        ClientHttpResponse primary = mock(ClientHttpResponse.class);
+
+        ClientHttpResponse result = hedger.execute(Upstream.RIOT_MATCH, TimeUnit.SECONDS.toNanos(1),
+                () -> primary, () -> mock(ClientHttpResponse.class));
+
+        assertThat(result).isSameAs(primary);
+        verify(primary, never()).close();
+    }
+
+    @Test
+    void closesLosingAttempt() throws Exception {
+        ClientHttpResponse slow = mock(ClientHttpResponse.class);
+        ClientHttpResponse fast = mock(ClientHttpResponse.class);
+        CountDownLatch releaseSlow = new CountDownLatch(1);
+
+        ClientHttpResponse result = hedger.execute(Upstream.RIOT_MATCH, TimeUnit.MILLISECONDS.toNanos(10),
+                () -> {
+                    releaseSlow.await();
+                    return slow;
+                },
+                () -> fast);
+        releaseSlow.countDown();
+
+        assertThat(result).isSameAs(fast);
+        verify(slow, timeout(1_000)).close();
+        verify(fast, never()).close();
+    }
+
+    @Test
+    void closesAttemptAbandonedByInterruptedCaller() throws Exception {
+        ClientHttpResponse late = mock(ClientHttpResponse.class);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch releaseAttempt = new CountDownLatch(1);
+        AtomicReference<Throwable> callerError = new AtomicReference<>();
+
+        Thread caller = new Thread(() -> {
+            try {
+                hedger.execute(Upstream.RIOT_MATCH, TimeUnit.SECONDS.toNanos(10),
+                        () -> {
+                            started.countDown();
+                            releaseAttempt.await();
+                            return late;
+                        },
+                        () -> late);
+            } catch (Throwable e) {
+                callerError.set(e);
+            }
+        });
+        caller.start();
+        assertThat(started.await(1, TimeUnit.SECONDS)).isTrue();
+
+        caller.interrupt();
+        caller.join(1_000);
+        releaseAttempt.countDown();
+
+        assertThat(callerError.get()).isInstanceOf(InterruptedIOException.class);
+        verify(late, timeout(1_000)).close();
+    }
+}